@@ -0,0 +1,45 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.SimInput;
+import com.badlogic.gdx.math.MathUtils;
+
+/** Stands still, holds the trigger and sweeps the aim a full circle every two seconds at 60 Hz. */
+class BenchInput implements SimInput {
+    private float aimDeg;
+    private float x = 500f, y = 350f;
+
+    void setOrigin(float x, float y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    @Override
+    public void poll() {
+        aimDeg = (aimDeg + 3f) % 360f;
+    }
+
+    @Override
+    public int moveX() {
+        return 0;
+    }
+
+    @Override
+    public int moveY() {
+        return 0;
+    }
+
+    @Override
+    public float aimX() {
+        return x + MathUtils.cosDeg(aimDeg) * 100f;
+    }
+
+    @Override
+    public float aimY() {
+        return y + MathUtils.sinDeg(aimDeg) * 100f;
+    }
+
+    @Override
+    public boolean firing() {
+        return true;
+    }
+}
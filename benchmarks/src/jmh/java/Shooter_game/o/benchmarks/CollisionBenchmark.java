@@ -0,0 +1,122 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.SpatialHash;
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.IntArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collision cost of one tick: brute-force bullets x enemies against the spatial hash broadphase. Every
+ * enemy moves {@link #STEP_PX} a tick, back and forth, so the hash pays for the enemies that cross into
+ * another cell as it does in the game; {@code spatialHashRebuild} empties and refills it instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionBenchmark {
+    private static final float WIDTH = 1000f, HEIGHT = 700f;
+    private static final float ENEMY_RADIUS = 64f * 0.4f;
+    private static final float STEP_PX = 1.6f; // about what an enemy covers in a 60 Hz tick
+
+    @Param({"1000", "10000", "50000"})
+    public int enemyCount;
+
+    @Param({"32"})
+    public int bulletCount;
+
+    private Circle[] enemies;
+    private Circle[] bullets;
+    private Circle player;
+    private final SpatialHash hash = new SpatialHash(ENEMY_RADIUS * 2f);
+    private final IntArray candidates = new IntArray();
+    private int ticks;
+
+    @Setup
+    public void setup() {
+        RandomXS128 random = new RandomXS128(42);
+        enemies = new Circle[enemyCount];
+        for (int i = 0; i < enemyCount; i++) {
+            // same spawn ring as the game, plus everything that has already homed in on the player
+            float a = random.nextFloat() * (float) (Math.PI * 2);
+            float d = random.nextFloat() * 900f;
+            enemies[i] = new Circle(WIDTH / 2f + (float) Math.cos(a) * d, HEIGHT / 2f + (float) Math.sin(a) * d, ENEMY_RADIUS);
+        }
+        bullets = new Circle[bulletCount];
+        for (int i = 0; i < bulletCount; i++) {
+            bullets[i] = new Circle(random.nextFloat() * WIDTH, random.nextFloat() * HEIGHT, 5f);
+        }
+        player = new Circle(WIDTH / 2f, HEIGHT / 2f, 38f);
+    }
+
+    @Benchmark
+    public int bruteForce() {
+        move();
+        int hits = 0;
+        for (int i = bullets.length - 1; i >= 0; i--) {
+            for (int j = enemies.length - 1; j >= 0; j--) {
+                if (Intersector.overlaps(bullets[i], enemies[j])) {
+                    hits++;
+                    break;
+                }
+            }
+        }
+        for (Circle e : enemies) {
+            if (Intersector.overlaps(player, e)) {
+                hits++;
+                break;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int spatialHash() {
+        move();
+        for (int j = 0; j < enemies.length; j++) hash.put(j, enemies[j].x, enemies[j].y);
+        return findHits();
+    }
+
+    @Benchmark
+    public int spatialHashRebuild() {
+        move();
+        hash.clear();
+        for (int j = 0; j < enemies.length; j++) hash.put(j, enemies[j].x, enemies[j].y);
+        return findHits();
+    }
+
+    private void move() {
+        float step = (ticks++ & 1) == 0 ? STEP_PX : -STEP_PX;
+        for (Circle e : enemies) e.x += step;
+    }
+
+    private int findHits() {
+        int hits = 0;
+        for (int i = bullets.length - 1; i >= 0; i--) {
+            if (findHit(bullets[i]) >= 0) hits++;
+        }
+        if (findHit(player) >= 0) hits++;
+        return hits;
+    }
+
+    private int findHit(Circle c) {
+        float reach = c.radius + ENEMY_RADIUS;
+        hash.query(c.x - reach, c.y - reach, c.x + reach, c.y + reach, candidates);
+        int hit = -1;
+        for (int k = 0; k < candidates.size; k++) {
+            int j = candidates.items[k];
+            if (j > hit && Intersector.overlaps(c, enemies[j])) hit = j;
+        }
+        return hit;
+    }
+}
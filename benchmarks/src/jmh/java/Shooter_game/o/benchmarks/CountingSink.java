@@ -0,0 +1,35 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.RenderQueue;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/** Stands in for the batch: counts what would have gone to the GPU and checks the layer order. */
+final class CountingSink implements RenderQueue.Sink {
+    private final TextureRegion[] byLayer;
+    int draws, colorChanges, lastLayer;
+    boolean outOfOrder;
+
+    CountingSink(TextureRegion... byLayer) {
+        this.byLayer = byLayer;
+    }
+
+    void reset() {
+        draws = colorChanges = lastLayer = 0;
+        outOfOrder = false;
+    }
+
+    @Override
+    public void setPackedColor(float color) {
+        colorChanges++;
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY,
+                     float width, float height, float rotation) {
+        draws++;
+        int layer = 0;
+        while (byLayer[layer] != region) layer++;
+        if (layer < lastLayer) outOfOrder = true;
+        lastLayer = layer;
+    }
+}
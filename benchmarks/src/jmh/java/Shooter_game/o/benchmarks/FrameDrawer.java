@@ -0,0 +1,41 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.RenderFrame;
+import Shooter_game.o.RenderQueue;
+import Shooter_game.o.Simulation;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+
+/** Queues a {@link RenderFrame} the way {@code Shooter} does, into a {@link CountingSink} instead of a {@code SpriteBatch}. */
+final class FrameDrawer {
+    static final float ENEMY_SIZE = 64f, BULLET_SIZE = 10f, PLAYER_SIZE = 48f;
+    static final int LAYER_PLAYER = 0, LAYER_BULLETS = 1, LAYER_ENEMIES = 2;
+
+    private final TextureRegion player = new TextureRegion(), bullet = new TextureRegion(), enemy = new TextureRegion();
+    private final CountingSink sink = new CountingSink(player, bullet, enemy);
+    private final RenderQueue queue = new RenderQueue(1024);
+
+    FrameDrawer() {
+        queue.setView(0, 0, Simulation.WIDTH, Simulation.HEIGHT);
+    }
+
+    void draw(RenderFrame f, float alpha) {
+        queue.begin();
+        sink.reset();
+        queue.add(LAYER_PLAYER, player, Color.WHITE, MathUtils.lerp(f.playerPrevX, f.playerX, alpha),
+                MathUtils.lerp(f.playerPrevY, f.playerY, alpha), PLAYER_SIZE, PLAYER_SIZE,
+                MathUtils.lerpAngleDeg(f.playerPrevAngle, f.playerAngle, alpha));
+        float[] b = f.bullets;
+        for (int o = 0; o < f.bulletCount * 4; o += 4) {
+            queue.add(LAYER_BULLETS, bullet, Color.YELLOW, MathUtils.lerp(b[o], b[o + 2], alpha),
+                    MathUtils.lerp(b[o + 1], b[o + 3], alpha), BULLET_SIZE, BULLET_SIZE, 0f);
+        }
+        for (int i = 0; i < f.enemyCount; i++) {
+            queue.add(LAYER_ENEMIES, enemy, Color.WHITE, MathUtils.lerp(f.enemyPrevX[i], f.enemyX[i], alpha),
+                    MathUtils.lerp(f.enemyPrevY[i], f.enemyY[i], alpha), ENEMY_SIZE, ENEMY_SIZE,
+                    MathUtils.lerpAngleDeg(f.enemyPrevRotation[i], f.enemyRotation[i], alpha));
+        }
+        queue.flush(sink);
+    }
+}
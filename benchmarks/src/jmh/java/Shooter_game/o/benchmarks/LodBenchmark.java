@@ -0,0 +1,86 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.EnemySwarm;
+import Shooter_game.o.FlowField;
+import Shooter_game.o.SwarmLod;
+import com.badlogic.gdx.math.RandomXS128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One tick of swarm movement with and without {@link SwarmLod}, flow field included. Enemies are spread
+ * evenly over a disc reaching {@code 1200} px from the player, so most are off screen, as while a big
+ * wave walks in from the spawn ring. Every op puts the positions back first so the spread stays the
+ * same for the whole run; both benchmarks pay that copy. The tier counts are printed at tear-down.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LodBenchmark {
+    private static final float DELTA = 1f / 60f;
+    private static final float PX = 500f, PY = 350f, SPREAD = 1200f;
+
+    @Param({"10000", "100000"})
+    public int enemyCount;
+
+    private EnemySwarm swarm;
+    private FlowField field;
+    private final SwarmLod lod = new SwarmLod();
+    private float[] startX, startY;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        RandomXS128 random = new RandomXS128(99);
+        swarm = new EnemySwarm(enemyCount);
+        for (int i = 0; i < enemyCount; i++) {
+            float a = random.nextFloat() * (float) (Math.PI * 2);
+            float d = SPREAD * (float) Math.sqrt(random.nextFloat());
+            swarm.add(PX + (float) Math.cos(a) * d, PY + (float) Math.sin(a) * d, 80f, 0f, 25.6f);
+        }
+        startX = swarm.x.clone();
+        startY = swarm.y.clone();
+        field = FlowField.forWorld();
+        swarm.setFlowField(field);
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        lod.count(swarm);
+        System.out.println("near " + lod.getCount(SwarmLod.NEAR) + ", mid " + lod.getCount(SwarmLod.MID) + ", far "
+                + lod.getCount(SwarmLod.FAR) + "; " + (int) (lod.getSavedFraction() * 100) + "% of moves skipped");
+    }
+
+    @Benchmark
+    public EnemySwarm full() {
+        restore();
+        swarm.setLod(null);
+        field.update(PX, PY, swarm);
+        swarm.move(DELTA, PX, PY);
+        return swarm;
+    }
+
+    @Benchmark
+    public EnemySwarm lod() {
+        restore();
+        swarm.setLod(lod);
+        lod.beginTick(swarm, DELTA);
+        field.update(PX, PY, swarm);
+        swarm.move(DELTA, PX, PY);
+        return swarm;
+    }
+
+    private void restore() {
+        System.arraycopy(startX, 0, swarm.x, 0, enemyCount);
+        System.arraycopy(startY, 0, swarm.y, 0, enemyCount);
+    }
+}
@@ -0,0 +1,70 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.EnemySwarm;
+import Shooter_game.o.ParallelSwarmMover;
+import com.badlogic.gdx.math.RandomXS128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of the swarm move across worker counts. {@code serial} is the single-threaded baseline;
+ * {@code parallel} forces the chunked path at every size (threshold 0) on a pool of {@code threads}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParallelMoveBenchmark {
+    private static final float DELTA = 1f / 60f;
+
+    @Param({"10000", "50000", "200000"})
+    public int enemyCount;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private EnemySwarm swarm;
+    private ParallelSwarmMover mover;
+
+    @Setup(Level.Trial)
+    public void startPool() {
+        mover = ParallelSwarmMover.create(threads, 0);
+    }
+
+    @Setup(Level.Iteration)
+    public void fill() {
+        RandomXS128 random = new RandomXS128(99);
+        swarm = new EnemySwarm(enemyCount);
+        for (int i = 0; i < enemyCount; i++) {
+            float a = random.nextFloat() * (float) (Math.PI * 2);
+            float d = 600f + random.nextFloat() * 300f;
+            swarm.add(500f + (float) Math.cos(a) * d, 350f + (float) Math.sin(a) * d, 80f, 0f, 25.6f);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopPool() {
+        mover.shutdown();
+    }
+
+    @Benchmark
+    public EnemySwarm serial() {
+        swarm.move(DELTA, 500f, 350f);
+        return swarm;
+    }
+
+    @Benchmark
+    public EnemySwarm parallel() {
+        mover.move(swarm, DELTA, 500f, 350f);
+        return swarm;
+    }
+}
@@ -0,0 +1,110 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.FrameHandoff;
+import Shooter_game.o.RenderFrame;
+import Shooter_game.o.Simulation;
+import com.badlogic.gdx.math.MathUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Frame times with and without {@code --pipelined}, both paced at {@link #HZ} with {@code enemies} on
+ * the field. Serially the render thread ticks, captures and draws every frame. Pipelined it only
+ * acquires and draws, while the simulation thread ticks and captures beside it. Both sides are reported,
+ * because the render thread's time alone leaves out work that still has to fit on the other cores;
+ * the share of frames that found a new tick shows whether the simulation kept up. Prints numbers
+ * and asserts nothing: they depend on the machine and how busy it is.
+ * <p>
+ * Run with {@code ./gradlew :benchmarks:pipelineFrameTimes}, optionally
+ * {@code -PpipelineFrameTimesArgs="600 20000"} for {@code [frames] [enemies]} (default 600 frames, 20000 enemies).
+ */
+public class PipelineFrameTimes {
+    static final int HZ = 60;
+    static final long STEP_NANOS = 1_000_000_000L / HZ;
+    static final int WARMUP_FRAMES = 120;
+    static final int BULLETS = 32;
+
+    public static void main(String[] args) throws InterruptedException {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 600;
+        int enemyCount = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        FrameDrawer drawer = new FrameDrawer();
+
+        Simulation sim = SteadyState.wandering(enemyCount, BULLETS);
+        FrameHandoff handoff = new FrameHandoff(enemyCount, BULLETS);
+        sim.setListener(handoff);
+        long[] serial = new long[frames];
+        long next = System.nanoTime();
+        for (int f = -WARMUP_FRAMES; f < frames; f++) {
+            next += STEP_NANOS;
+            long start = System.nanoTime();
+            SteadyState.step(sim, enemyCount, BULLETS);
+            handoff.getBack().capture(sim, start, 0);
+            handoff.publish();
+            handoff.acquire();
+            drawer.draw(handoff.getFront(), 0.5f);
+            if (f >= 0) serial[f] = System.nanoTime() - start;
+            sleepUntil(next);
+        }
+
+        Simulation pipedSim = SteadyState.wandering(enemyCount, BULLETS);
+        FrameHandoff pipe = new FrameHandoff(enemyCount, BULLETS);
+        pipedSim.setListener(pipe);
+        long[] ticks = new long[frames * 2];
+        int[] tickCount = new int[1];
+        AtomicBoolean running = new AtomicBoolean(true), measuring = new AtomicBoolean();
+        Thread simThread = new Thread(() -> {
+            long due = System.nanoTime();
+            while (running.get()) {
+                due += STEP_NANOS;
+                long start = System.nanoTime();
+                SteadyState.step(pipedSim, enemyCount, BULLETS);
+                pipe.getBack().capture(pipedSim, due, 0);
+                pipe.publish();
+                if (measuring.get() && tickCount[0] < ticks.length) ticks[tickCount[0]++] = System.nanoTime() - start;
+                sleepUntil(due);
+            }
+        }, "simulation");
+        long[] piped = new long[frames];
+        int fresh = 0;
+        simThread.start();
+        next = System.nanoTime();
+        for (int f = -WARMUP_FRAMES; f < frames; f++) {
+            if (f == 0) measuring.set(true);
+            next += STEP_NANOS;
+            long start = System.nanoTime();
+            boolean got = pipe.acquire();
+            RenderFrame frame = pipe.getFront();
+            float alpha = MathUtils.clamp((start - frame.stateNanos) / (float) STEP_NANOS, 0f, 1f);
+            drawer.draw(frame, alpha);
+            if (f >= 0) {
+                piped[f] = System.nanoTime() - start;
+                if (got) fresh++;
+            }
+            sleepUntil(next);
+        }
+        running.set(false);
+        simThread.join();
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("PipelineFrameTimes: " + enemyCount + " enemies, " + HZ + " Hz, " + frames + " frames, "
+                + cores + " core" + (cores == 1 ? "" : "s"));
+        System.out.println("  serial     render thread (tick + capture + draw) " + percentiles(serial, frames));
+        System.out.println("  pipelined  render thread (acquire + draw)        " + percentiles(piped, frames));
+        System.out.println("  pipelined  simulation thread (tick + capture)    " + percentiles(ticks, tickCount[0])
+                + ", new tick in " + fresh * 100 / frames + "% of frames");
+    }
+
+    static String percentiles(long[] nanos, int n) {
+        if (n == 0) return "no samples";
+        long[] sorted = Arrays.copyOf(nanos, n);
+        Arrays.sort(sorted);
+        return "median " + sorted[n / 2] / 1000f + " us, p99 " + sorted[(int) (n * 0.99)] / 1000f + " us";
+    }
+
+    static void sleepUntil(long deadline) {
+        long wait;
+        while ((wait = deadline - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+    }
+}
@@ -0,0 +1,99 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.Simulation;
+import com.badlogic.gdx.math.MathUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless {@link Simulation} throughput: whole ticks per second and each phase on its own.
+ * Run with {@code -prof gc} (on by default in build.gradle) for the allocation rate.
+ * <p>
+ * The player is invulnerable and the swarm is topped back up to {@code enemyCount} after every
+ * call, and enemies that reach the player are sent back to the spawn ring, so the population and
+ * its spread stay steady over an iteration instead of piling up on the player.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SimulationBenchmark {
+    static final float DELTA = 1f / 60f;
+
+    @Param({"1000", "10000", "50000"})
+    public int enemyCount;
+
+    @Param({"32"})
+    public int bulletCount;
+
+    /** Bullet pool sizing, e.g. {@code -p bulletPoolPrealloc=0} to see the cost of a cold pool. */
+    @Param({"64"})
+    public int bulletPoolPrealloc;
+
+    @Param({"512"})
+    public int bulletPoolMax;
+
+    private Simulation sim;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        MathUtils.random.setSeed(1234);
+        sim = new Simulation(new BenchInput(), null, SteadyState.PLAYER_RADIUS, SteadyState.ENEMY_RADIUS, bulletPoolPrealloc, bulletPoolMax);
+        sim.setSeed(1234);
+        sim.setTotalEnemies(Integer.MAX_VALUE);
+        sim.setInvulnerable(true);
+        topUp();
+    }
+
+    @Benchmark
+    public Simulation tick() {
+        sim.tick(DELTA);
+        recycleCaught();
+        topUp();
+        return sim;
+    }
+
+    @Benchmark
+    public Simulation spawn() {
+        sim.spawnEnemy();
+        sim.enemies.removeSwap(sim.enemies.size - 1);
+        return sim;
+    }
+
+    @Benchmark
+    public Simulation move() {
+        sim.movePhase(DELTA);
+        recycleCaught();
+        return sim;
+    }
+
+    @Benchmark
+    public Simulation bulletIntegrate() {
+        sim.bulletPhase(DELTA);
+        topUp();
+        return sim;
+    }
+
+    @Benchmark
+    public Simulation collide() {
+        sim.collidePhase();
+        topUp();
+        return sim;
+    }
+
+    private void topUp() {
+        SteadyState.topUp(sim, enemyCount, bulletCount);
+    }
+
+    private void recycleCaught() {
+        SteadyState.recycleCaught(sim, enemyCount);
+    }
+}
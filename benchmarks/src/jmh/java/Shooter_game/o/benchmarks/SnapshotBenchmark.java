@@ -0,0 +1,69 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.Simulation;
+import Shooter_game.o.SwarmLod;
+import Shooter_game.o.WorldSnapshot;
+import com.badlogic.gdx.math.MathUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Simulation#save} and {@link Simulation#restore} of a whole world into one {@link WorldSnapshot},
+ * on their own and together, the way a rollback pays for them. The target is under 50 us for save plus
+ * restore at 10k enemies; {@code -prof gc} should show no allocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SnapshotBenchmark {
+    @Param({"1000", "10000", "50000"})
+    public int enemyCount;
+
+    @Param({"64"})
+    public int bulletCount;
+
+    private Simulation sim;
+    private WorldSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MathUtils.random.setSeed(1234);
+        sim = new Simulation(new BenchInput(), SteadyState.PLAYER_RADIUS, SteadyState.ENEMY_RADIUS);
+        sim.setSeed(1234);
+        sim.setTotalEnemies(Integer.MAX_VALUE);
+        sim.setInvulnerable(true);
+        sim.setLod(new SwarmLod());
+        SteadyState.topUp(sim, enemyCount, bulletCount);
+        sim.tick(SimulationBenchmark.DELTA);
+        snapshot = new WorldSnapshot(enemyCount, bulletCount);
+        sim.save(snapshot);
+    }
+
+    @Benchmark
+    public WorldSnapshot save() {
+        sim.save(snapshot);
+        return snapshot;
+    }
+
+    @Benchmark
+    public Simulation restore() {
+        sim.restore(snapshot);
+        return sim;
+    }
+
+    @Benchmark
+    public Simulation saveRestore() {
+        sim.save(snapshot);
+        sim.restore(snapshot);
+        return sim;
+    }
+}
@@ -0,0 +1,59 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.EnemySwarm;
+import Shooter_game.o.Simulation;
+import Shooter_game.o.SwarmLod;
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Keeps a headless {@link Simulation} at a fixed population: the swarm is topped back up after
+ * kills, enemies that reach the (invulnerable) player go back to the spawn ring, and the kill speed
+ * ramp is undone, so long runs stay comparable from start to end.
+ */
+final class SteadyState {
+    static final float PLAYER_RADIUS = 38f;
+    static final float ENEMY_RADIUS = 64f * 0.4f;
+
+    private SteadyState() {
+    }
+
+    /** A seeded game on {@link WanderInput} with swarm LOD and an invulnerable player, topped up to size. */
+    static Simulation wandering(int enemyCount, int bulletCount) {
+        MathUtils.random.setSeed(1234);
+        Simulation sim = new Simulation(new WanderInput(), PLAYER_RADIUS, ENEMY_RADIUS);
+        sim.setSeed(1234);
+        sim.setTotalEnemies(Integer.MAX_VALUE);
+        sim.setInvulnerable(true);
+        sim.setLod(new SwarmLod());
+        topUp(sim, enemyCount, bulletCount);
+        return sim;
+    }
+
+    /** One tick, then back to the same population. */
+    static void step(Simulation sim, int enemyCount, int bulletCount) {
+        sim.tick(SimulationBenchmark.DELTA);
+        recycleCaught(sim, enemyCount);
+        topUp(sim, enemyCount, bulletCount);
+    }
+
+    static void topUp(Simulation sim, int enemyCount, int bulletCount) {
+        EnemySwarm enemies = sim.enemies;
+        while (enemies.size < enemyCount) sim.spawnEnemy();
+        enemies.speedMultiplier = 1f; // the kill ramp would otherwise compound forever
+        while (sim.bullets.size < bulletCount) {
+            float a = MathUtils.random(360f);
+            sim.bullets.add(sim.getBulletPool().obtain().init(MathUtils.random(Simulation.WIDTH), MathUtils.random(Simulation.HEIGHT), a));
+        }
+    }
+
+    static void recycleCaught(Simulation sim, int enemyCount) {
+        EnemySwarm enemies = sim.enemies;
+        float px = sim.player.x, py = sim.player.y;
+        float r = PLAYER_RADIUS + ENEMY_RADIUS;
+        for (int i = enemies.size - 1; i >= 0; i--) {
+            float dx = enemies.x[i] - px, dy = enemies.y[i] - py;
+            if (dx * dx + dy * dy < r * r) enemies.removeSwap(i);
+        }
+        while (enemies.size < enemyCount) sim.spawnEnemy();
+    }
+}
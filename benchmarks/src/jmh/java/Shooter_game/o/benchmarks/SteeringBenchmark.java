@@ -0,0 +1,82 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.EnemySwarm;
+import Shooter_game.o.FlowField;
+import com.badlogic.gdx.math.RandomXS128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One tick of swarm steering. {@code direct} is the old straight homing; {@code field} is the flow
+ * field update (density recount, no rebuild) plus the move, the usual case while the player stays in
+ * one cell; {@code fieldRebuild} moves the player to another cell every op so the field is rebuilt each
+ * tick, the worst case. With {@code obstacles} a few walls force the Dijkstra pass and line-of-sight
+ * checks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SteeringBenchmark {
+    private static final float DELTA = 1f / 60f;
+
+    @Param({"10000", "100000"})
+    public int enemyCount;
+
+    @Param({"false", "true"})
+    public boolean obstacles;
+
+    private EnemySwarm swarm;
+    private FlowField field;
+    private boolean flip;
+
+    @Setup(Level.Iteration)
+    public void fill() {
+        RandomXS128 random = new RandomXS128(99);
+        swarm = new EnemySwarm(enemyCount);
+        for (int i = 0; i < enemyCount; i++) {
+            float a = random.nextFloat() * (float) (Math.PI * 2);
+            float d = 600f + random.nextFloat() * 300f;
+            swarm.add(500f + (float) Math.cos(a) * d, 350f + (float) Math.sin(a) * d, 80f, 0f, 25.6f);
+        }
+        field = FlowField.forWorld();
+        if (obstacles) {
+            field.setBlocked(150f, 100f, 40f, 500f, true);
+            field.setBlocked(810f, 100f, 40f, 500f, true);
+            field.setBlocked(300f, 600f, 400f, 40f, true);
+            field.setBlocked(300f, 60f, 400f, 40f, true);
+        }
+    }
+
+    @Benchmark
+    public EnemySwarm direct() {
+        swarm.setFlowField(null);
+        swarm.move(DELTA, 500f, 350f);
+        return swarm;
+    }
+
+    @Benchmark
+    public EnemySwarm field() {
+        swarm.setFlowField(field);
+        field.update(500f, 350f, swarm);
+        swarm.move(DELTA, 500f, 350f);
+        return swarm;
+    }
+
+    @Benchmark
+    public EnemySwarm fieldRebuild() {
+        float px = (flip = !flip) ? 500f : 500f + field.cellSize;
+        swarm.setFlowField(field);
+        field.update(px, 350f, swarm);
+        swarm.move(DELTA, px, 350f);
+        return swarm;
+    }
+}
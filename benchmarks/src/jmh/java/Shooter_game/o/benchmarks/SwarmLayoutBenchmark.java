@@ -0,0 +1,97 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.EnemySwarm;
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticks per second of the enemy swarm (homing move + player contact scan) stored as one object per
+ * enemy, the way Shooter did before EnemySwarm, against the structure-of-arrays store.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SwarmLayoutBenchmark {
+    private static final float DELTA = 1f / 60f;
+    private static final float PX = 500f, PY = 350f;
+
+    @Param({"10000", "100000"})
+    public int enemyCount;
+
+    private ArrayList<ObjectEnemy> objects;
+    private EnemySwarm swarm;
+    private final Circle player = new Circle(PX, PY, 38f);
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        RandomXS128 random = new RandomXS128(7);
+        objects = new ArrayList<>(enemyCount);
+        swarm = new EnemySwarm(enemyCount);
+        for (int i = 0; i < enemyCount; i++) {
+            float a = random.nextFloat() * (float) (Math.PI * 2);
+            float d = 600f + random.nextFloat() * 300f;
+            float x = PX + (float) Math.cos(a) * d, y = PY + (float) Math.sin(a) * d;
+            float rot = random.nextFloat() * 360f;
+            objects.add(new ObjectEnemy(x, y, 80f, rot, 64f * 0.4f));
+            swarm.add(x, y, 80f, rot, 64f * 0.4f);
+        }
+    }
+
+    @Benchmark
+    public boolean objectPerEnemy() {
+        for (ObjectEnemy e : objects) e.update(DELTA, PX, PY);
+        for (ObjectEnemy e : objects) {
+            if (Intersector.overlaps(player, e.circle)) return true;
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean structureOfArrays() {
+        swarm.move(DELTA, PX, PY);
+        for (int i = 0; i < swarm.size; i++) {
+            if (swarm.overlaps(i, player.x, player.y, player.radius)) return true;
+        }
+        return false;
+    }
+
+    /** Copy of the old Shooter.Enemy, kept as the baseline. */
+    static final class ObjectEnemy {
+        float x, y, speed;
+        Circle circle;
+        float rotationDeg;
+
+        ObjectEnemy(float x, float y, float speed, float rotationDeg, float radius) {
+            this.x = x;
+            this.y = y;
+            this.speed = speed;
+            this.rotationDeg = rotationDeg;
+            circle = new Circle(x, y, radius);
+        }
+
+        void update(float delta, float px, float py) {
+            Vector2 dir = new Vector2(px - x, py - y);
+            if (dir.len2() > 0) {
+                dir.nor().scl(speed * delta);
+                x += dir.x;
+                y += dir.y;
+                rotationDeg = new Vector2(px - x, py - y).angleDeg();
+            }
+            circle.setPosition(x, y);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.Simulation;
+import Shooter_game.o.Telemetry;
+import com.badlogic.gdx.math.MathUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * What the game thread pays per telemetry record while the writer drains to disk under each fsync
+ * policy. The benchmark offers far faster than any game would, so part of the time the queue is full
+ * and the cost measured is the drop path; the drop count is printed at tear-down. Either way it
+ * should stay in the tens of nanoseconds, well clear of the microsecond budget.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TelemetryBenchmark {
+    @Param({Telemetry.FSYNC_NEVER, Telemetry.FSYNC_INTERVAL, Telemetry.FSYNC_BATCH})
+    public String fsync;
+
+    private Simulation sim;
+    private Path dir;
+    private Telemetry telemetry;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        MathUtils.random.setSeed(1234);
+        sim = new Simulation(new BenchInput(), SteadyState.PLAYER_RADIUS, SteadyState.ENEMY_RADIUS);
+        sim.setSeed(1234);
+        sim.setTotalEnemies(Integer.MAX_VALUE);
+        SteadyState.topUp(sim, 1_000, 32);
+        dir = Files.createTempDirectory("telemetry-bench");
+        telemetry = Telemetry.start(dir, fsync);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        telemetry.close();
+        System.out.println("written " + telemetry.getWritten() + ", dropped " + telemetry.getDropped());
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public boolean sample() {
+        return telemetry.sample(sim, 16_666_667L);
+    }
+}
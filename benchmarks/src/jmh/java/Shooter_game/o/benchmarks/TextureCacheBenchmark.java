@@ -0,0 +1,72 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.TextureCache;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU side of getting the atlas pages ready at startup: {@code decodePng} is what the atlas loader
+ * does without the cache (gdx2d PNG decode into a Pixmap), {@code mapCache} is {@link TextureCache#open},
+ * which maps the file, checks each source PNG's length and modified time and CRCs the pixels. The GL
+ * upload afterwards is the same bytes either way and needs a context, so it is left out. Single-shot,
+ * since startup only does this once.
+ * <p>
+ * Needs the baked cache: {@code ./gradlew bakeTextureCache :benchmarks:jmh -PjmhIncludes=TextureCacheBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 5)
+@Measurement(iterations = 30)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TextureCacheBenchmark {
+    /** Relative to the benchmarks project, which is where the jmh task runs. */
+    @Param({"../assets"})
+    public String assetsDir;
+
+    private FileHandle cacheFile;
+    private File[] pngs;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        GdxNativesLoader.load();
+        cacheFile = new FileHandle(new File(assetsDir, TextureCache.FILE));
+        TextureCache cache = TextureCache.open(cacheFile);
+        pngs = new File[cache.getPageCount()];
+        for (int i = 0; i < pngs.length; i++) pngs[i] = new File(assetsDir, cache.getPageName(i));
+    }
+
+    @Benchmark
+    public int decodePng() {
+        int sum = 0;
+        for (File png : pngs) {
+            Pixmap pixmap = new Pixmap(new FileHandle(png));
+            sum += pixmap.getPixels().get(0);
+            pixmap.dispose();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mapCache() throws IOException {
+        TextureCache cache = TextureCache.open(cacheFile);
+        int sum = 0;
+        for (int i = 0; i < cache.getPageCount(); i++) sum += cache.getPage(i).getWidth();
+        return sum;
+    }
+}
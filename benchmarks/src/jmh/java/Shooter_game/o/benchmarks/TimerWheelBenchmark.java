@@ -0,0 +1,81 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.TimerWheel;
+import com.badlogic.gdx.math.RandomXS128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TimerWheel} with a steady population of pending timers (each repeats every 1-60 s): one
+ * 60 Hz tick of {@code advance}, one schedule plus cancel, and for contrast the per-tick scan of
+ * every deadline that ad hoc {@code now - last > interval} checks amount to.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimerWheelBenchmark {
+    private static final int TICK_MS = 17;
+
+    @Param({"1000", "10000", "100000"})
+    public int pending;
+
+    private TimerWheel wheel;
+    private long now;
+    private int fired;
+    private final TimerWheel.Callback count = t -> fired++;
+    private RandomXS128 random;
+
+    private long[] deadlines;
+    private long[] intervals;
+
+    @Setup
+    public void setup() {
+        random = new RandomXS128(7);
+        wheel = new TimerWheel(0, pending, pending * 2);
+        deadlines = new long[pending];
+        intervals = new long[pending];
+        for (int i = 0; i < pending; i++) {
+            long interval = 1000 + random.nextInt(59_000);
+            long delay = 1 + random.nextInt((int) interval);
+            wheel.schedule(delay, interval, count);
+            deadlines[i] = delay;
+            intervals[i] = interval;
+        }
+        now = 0;
+    }
+
+    @Benchmark
+    public int advanceTick() {
+        now += TICK_MS;
+        wheel.advance(now);
+        return fired;
+    }
+
+    @Benchmark
+    public TimerWheel scheduleCancel() {
+        TimerWheel.Timer t = wheel.schedule(1 + random.nextInt(60_000), count);
+        wheel.cancel(t);
+        return wheel;
+    }
+
+    @Benchmark
+    public int scanTick() {
+        now += TICK_MS;
+        long[] deadlines = this.deadlines;
+        for (int i = 0; i < deadlines.length; i++) {
+            if (deadlines[i] <= now) {
+                deadlines[i] += intervals[i];
+                fired++;
+            }
+        }
+        return fired;
+    }
+}
@@ -0,0 +1,44 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.SimInput;
+import Shooter_game.o.Simulation;
+import com.badlogic.gdx.math.MathUtils;
+
+/** Walks the player around a square while sweeping the aim and holding the trigger. */
+final class WanderInput implements SimInput {
+    private int tick;
+    private float aimDeg;
+
+    @Override
+    public void poll() {
+        tick++;
+        aimDeg = (aimDeg + 3f) % 360f;
+    }
+
+    @Override
+    public int moveX() {
+        int side = tick / 120 % 4;
+        return side == 0 ? 1 : side == 2 ? -1 : 0;
+    }
+
+    @Override
+    public int moveY() {
+        int side = tick / 120 % 4;
+        return side == 1 ? 1 : side == 3 ? -1 : 0;
+    }
+
+    @Override
+    public float aimX() {
+        return Simulation.WIDTH / 2f + MathUtils.cosDeg(aimDeg) * 100f;
+    }
+
+    @Override
+    public float aimY() {
+        return Simulation.HEIGHT / 2f + MathUtils.sinDeg(aimDeg) * 100f;
+    }
+
+    @Override
+    public boolean firing() {
+        return true;
+    }
+}
@@ -0,0 +1,83 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.FrameProfiler;
+import Shooter_game.o.HudText;
+import Shooter_game.o.ParticleEffects;
+import Shooter_game.o.ParticleSystem;
+import Shooter_game.o.Simulation;
+import Shooter_game.o.SwarmLod;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Zero-garbage gate: a steady-state frame must not allocate. Runs the headless {@link Simulation} with
+ * the frame profiler, swarm LOD, HUD text and particle effects (update plus vertex fill) in the loop,
+ * lets the JIT settle, then counts the bytes this thread allocates over the measured frames with
+ * {@code ThreadMXBean.getCurrentThreadAllocatedBytes}. GL-side work (sprite batching, glyph layout)
+ * needs a context and is not covered here; the jmh benchmarks with {@code -prof gc} show where bytes go.
+ */
+class AllocationTest {
+    static final int WARMUP_FRAMES = 30_000, FRAMES = 20_000;
+    static final int ENEMIES = 2_000, BULLETS = 32;
+
+    @Test
+    void steadyStateFramesDoNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "per-thread allocation counting is not supported on this JVM");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Frame frame = new Frame(ENEMIES);
+        for (int i = 0; i < WARMUP_FRAMES; i++) frame.run();
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < FRAMES; i++) frame.run();
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertEquals(0, allocated, "bytes allocated over " + FRAMES + " frames with " + ENEMIES + " enemies");
+    }
+
+    /** One game frame as far as it can run headless: a tick plus the profiler and HUD bookkeeping. */
+    static final class Frame {
+        private final int enemyCount;
+        private final Simulation sim;
+        private final FrameProfiler profiler = new FrameProfiler();
+        private final HudText hud = new HudText();
+        private final ParticleSystem particles = new ParticleSystem(1 << 17);
+        private final ParticleEffects effects = new ParticleEffects(particles);
+        private final TextureRegion dot = new TextureRegion();
+        private int frameNo;
+
+        Frame(int enemyCount) {
+            this.enemyCount = enemyCount;
+            MathUtils.random.setSeed(1234);
+            sim = new Simulation(new WanderInput(), SteadyState.PLAYER_RADIUS, SteadyState.ENEMY_RADIUS);
+            sim.setSeed(1234);
+            sim.setTotalEnemies(Integer.MAX_VALUE);
+            sim.setInvulnerable(true);
+            sim.setProfiler(profiler);
+            sim.setListener(effects);
+            sim.setLod(new SwarmLod());
+            SteadyState.topUp(sim, enemyCount, BULLETS);
+        }
+
+        void run() {
+            profiler.begin(FrameProfiler.FRAME);
+            sim.tick(SimulationBenchmark.DELTA);
+            SteadyState.recycleCaught(sim, enemyCount);
+            SteadyState.topUp(sim, enemyCount, BULLETS);
+            hud.update(sim);
+            for (int i = 0; i < sim.bullets.size; i++) effects.trail(sim.bullets.get(i));
+            particles.update(SimulationBenchmark.DELTA);
+            int slot = 0;
+            while (slot < particles.getUsed()) slot = particles.fill(dot, slot, 0, 0, Simulation.WIDTH, Simulation.HEIGHT);
+            if (++frameNo % 30 == 0) profiler.computeStats();
+            profiler.end(FrameProfiler.FRAME);
+            profiler.endFrame(sim.enemies.size, sim.bullets.size);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.Bullet;
+import Shooter_game.o.CollisionEvents;
+import Shooter_game.o.SimListener;
+import Shooter_game.o.Simulation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The batched collision resolve. Sets up one tick by hand: a row of enemies with a bullet through each,
+ * a second bullet through the first enemy, and an enemy on the player that a bullet also kills. Every
+ * enemy must die exactly once, the duplicate bullet flies on, the
+ * player is not caught by an enemy shot the same tick, the listener hears each kill after the swarm
+ * is compacted, and the two difficulty steps the tick crosses land together at the start of the next tick.
+ * Then an enemy left alive on the player has to end the game.
+ */
+class CollisionTest {
+    static final int ROW = 19; // plus the one on the player: 20 kills, two steps of the ramp
+
+    @Test
+    void oneTickOfCollisionsResolvesOnce() {
+        Simulation sim = new Simulation(new LodTest.WalkInput(), SteadyState.PLAYER_RADIUS, SteadyState.ENEMY_RADIUS);
+        KillCounter counter = new KillCounter(sim);
+        sim.setListener(counter);
+        float r = SteadyState.ENEMY_RADIUS;
+        for (int k = 0; k < ROW; k++) {
+            float x = 100f + k * 3f * r;
+            sim.enemies.add(x, 100f, Simulation.ENEMY_BASE_SPEED, 0f, r);
+            shoot(sim, x, 100f);
+        }
+        shoot(sim, 100f, 100f);
+        sim.enemies.add(sim.player.x, sim.player.y, Simulation.ENEMY_BASE_SPEED, 0f, r);
+        shoot(sim, sim.player.x, sim.player.y);
+        int bullets = sim.bullets.size;
+
+        sim.collidePhase();
+        CollisionEvents events = sim.getCollisions();
+        assertTrue(sim.isPlaying(), "caught by an enemy killed in the same tick");
+        assertEquals(ROW + 1, sim.getKills(), "kills");
+        assertEquals((ROW + 1) * 10, sim.getScore(), "score");
+        assertEquals(0, sim.enemies.size, "enemies left");
+        assertEquals(1, sim.bullets.size, "bullets left of " + bullets + ", expected only the duplicate");
+        assertTrue(aimedAtFirst(sim.bullets.get(0)), "the bullet left is not the duplicate");
+        assertEquals(ROW + 1, events.countApplied(CollisionEvents.BULLET_HIT), "hits applied of " + events.size + " events");
+        assertEquals(0, events.countApplied(CollisionEvents.PLAYER_CAUGHT), "catches applied of " + events.size + " events");
+        assertEquals(ROW + 1, counter.kills, "kills the listener heard");
+        assertEquals(0, counter.early, "kills heard before the swarm was compacted");
+        assertEquals(1f, sim.enemies.speedMultiplier, "difficulty changed inside the collide phase");
+
+        sim.tick(SimulationBenchmark.DELTA);
+        float expected = 1f * Simulation.SPEED_INCREASE_FACTOR * Simulation.SPEED_INCREASE_FACTOR;
+        assertEquals(expected, sim.enemies.speedMultiplier, "speed multiplier after the next tick");
+
+        sim.enemies.add(sim.player.x, sim.player.y, Simulation.ENEMY_BASE_SPEED, 0f, r);
+        sim.collidePhase();
+        assertEquals(Simulation.LOSE, sim.getGameState(), "not caught by a live enemy on the player");
+    }
+
+    // a bullet that crossed (x, y) from below during the tick
+    static Bullet shoot(Simulation sim, float x, float y) {
+        Bullet b = sim.getBulletPool().obtain().init(x, y - 50f, 90f);
+        b.x = x;
+        b.y = y;
+        b.circle.setPosition(x, y);
+        sim.bullets.add(b);
+        return b;
+    }
+
+    static boolean aimedAtFirst(Bullet b) {
+        return b.x == 100f && b.y == 100f;
+    }
+
+    static final class KillCounter implements SimListener {
+        private final Simulation sim;
+        int kills, early;
+
+        KillCounter(Simulation sim) {
+            this.sim = sim;
+        }
+
+        @Override
+        public void onShot(float x, float y, float angleDeg) {
+        }
+
+        @Override
+        public void onKill(float x, float y, float radius) {
+            kills++;
+            if (sim.enemies.size != 0) early++;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.EnemySwarm;
+import Shooter_game.o.FlowField;
+import Shooter_game.o.SimInput;
+import Shooter_game.o.Simulation;
+import Shooter_game.o.SwarmLod;
+import com.badlogic.gdx.math.MathUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SwarmLod} must not change how the game plays. Runs the same seed and input
+ * through a simulation without LOD and one with it, in lockstep, both homing straight in and both on a
+ * {@link FlowField}, and fails past these tolerances:
+ * <ul>
+ * <li>Swarm run (no shooting, invulnerable player): one tick after an enemy reaches the full-rate
+ * tier, with its debt paid off, it is within {@link #MAX_ENTRY_ERROR_P99} px of where it is without
+ * LOD for 99% of enemies and within {@link #MAX_ENTRY_ERROR} px for all; and 95% of enemies first
+ * touch the player within {@link #MAX_CATCH_TICKS_P95} ticks of when they do without LOD.</li>
+ * <li>Normal games over {@link #GAMES} seeds: the same end state, with the end tick within
+ * {@link #MAX_GAME_DRIFT} of the game without LOD, and the kill count too or within one kill, which
+ * is more than that in the short games.</li>
+ * </ul>
+ * Once enemies crowd the player, separation makes them chaotic and any difference grows (a few
+ * jostled in the crowd touch the player in one run and not the other), so positions are only
+ * compared at the point LOD hands an enemy back to full rate, and catches by percentile.
+ */
+class LodTest {
+    static final float MAX_ENTRY_ERROR_P99 = 4f;
+    static final float MAX_ENTRY_ERROR = 8f;
+    static final int MAX_CATCH_TICKS_P95 = 2;
+    static final int GAMES = 20;
+    static final float MAX_GAME_DRIFT = 0.05f;
+    static final int MAX_GAME_TICKS = 60 * 300;
+    static final int SWARM = 300, SWARM_TICKS = 1_200;
+
+    @Test
+    void swarmStaysCloseToFullRate() {
+        swarmRun(false);
+    }
+
+    @Test
+    void swarmStaysCloseToFullRateOnTheFlowField() {
+        swarmRun(true);
+    }
+
+    @Test
+    void gamesEndTheSame() {
+        games(false);
+    }
+
+    @Test
+    void gamesEndTheSameOnTheFlowField() {
+        games(true);
+    }
+
+    static void swarmRun(boolean flowField) {
+        int enemyCount = SWARM, ticks = SWARM_TICKS;
+        Simulation ref = swarmSim(enemyCount, flowField), lod = swarmSim(enemyCount, flowField);
+        SwarmLod tiers = new SwarmLod();
+        lod.setLod(tiers);
+        float near = tiers.getNearRadius();
+        float catchDistance = SteadyState.PLAYER_RADIUS + SteadyState.ENEMY_RADIUS;
+        // the spawn timer keeps adding one every SPAWN_INTERVAL_MS on top
+        int slots = enemyCount + ticks;
+        int[] refCaught = new int[slots], lodCaught = new int[slots];
+        boolean[] wasFull = new boolean[slots], entered = new boolean[slots];
+        float[] entryError = new float[slots];
+        int entries = 0;
+        for (int t = 1; t <= ticks; t++) {
+            ref.tick(SimulationBenchmark.DELTA);
+            lod.tick(SimulationBenchmark.DELTA);
+            // nothing is killed or removed, so slot i is the same enemy in both
+            EnemySwarm a = ref.enemies, b = lod.enemies;
+            for (int i = 0; i < b.size; i++) {
+                boolean full = isFullRate(b.x[i], b.y[i], lod, near);
+                if (full && wasFull[i] && !entered[i]) {
+                    entered[i] = true;
+                    entryError[entries++] = (float) Math.sqrt(sq(a.x[i] - b.x[i]) + sq(a.y[i] - b.y[i]));
+                }
+                wasFull[i] = full;
+                if (refCaught[i] == 0 && touches(a, i, ref, catchDistance)) refCaught[i] = t;
+                if (lodCaught[i] == 0 && touches(b, i, lod, catchDistance)) lodCaught[i] = t;
+            }
+        }
+        int[] catchDrift = new int[slots];
+        int caught = 0;
+        for (int i = 0; i < slots; i++) {
+            if (refCaught[i] == 0 && lodCaught[i] == 0) continue;
+            // caught in one run only: off by at least however long the other run had left
+            catchDrift[caught++] = refCaught[i] == 0 || lodCaught[i] == 0
+                    ? ticks + 1 - Math.max(refCaught[i], lodCaught[i]) : Math.abs(refCaught[i] - lodCaught[i]);
+        }
+        assertTrue(entries > 0 && caught > 0, "no enemy reached the player in " + ticks + " ticks");
+        Arrays.sort(entryError, 0, entries);
+        Arrays.sort(catchDrift, 0, caught);
+        float errorP99 = entryError[(int) (entries * 0.99f)], errorMax = entryError[entries - 1];
+        int driftP95 = catchDrift[(int) (caught * 0.95f)];
+        assertTrue(errorP99 <= MAX_ENTRY_ERROR_P99 && errorMax <= MAX_ENTRY_ERROR,
+                "full-rate entry error p99 " + errorP99 + " px, max " + errorMax + " px");
+        assertTrue(driftP95 <= MAX_CATCH_TICKS_P95, "catch tick p95 off by " + driftP95 + " ticks");
+    }
+
+    static void games(boolean flowField) {
+        for (int g = 0; g < GAMES; g++) {
+            long seed = 1000 + g;
+            Simulation ref = gameSim(seed, flowField), lod = gameSim(seed, flowField);
+            lod.setLod(new SwarmLod());
+            int refTicks = play(ref), lodTicks = play(lod);
+            assertEquals(ref.getGameState(), lod.getGameState(), "seed " + seed + ": end state with LOD");
+            int kills = Math.abs(ref.getKills() - lod.getKills());
+            float ticks = Math.abs(refTicks - lodTicks) / (float) refTicks;
+            assertTrue(kills <= Math.max(1f, ref.getKills() * MAX_GAME_DRIFT) && ticks <= MAX_GAME_DRIFT, "seed " + seed + ": " + lod.getKills()
+                    + " kills in " + lodTicks + " ticks with LOD, " + ref.getKills() + " in " + refTicks + " without");
+        }
+    }
+
+    static Simulation swarmSim(int enemyCount, boolean flowField) {
+        MathUtils.random.setSeed(1234);
+        Simulation sim = new Simulation(new WalkInput(), SteadyState.PLAYER_RADIUS, SteadyState.ENEMY_RADIUS);
+        if (flowField) sim.setFlowField(FlowField.forWorld());
+        sim.setSeed(1234);
+        sim.setTotalEnemies(Integer.MAX_VALUE);
+        sim.setInvulnerable(true);
+        for (int i = 0; i < enemyCount; i++) sim.spawnEnemy();
+        return sim;
+    }
+
+    static Simulation gameSim(long seed, boolean flowField) {
+        Simulation sim = new Simulation(new WanderInput(), SteadyState.PLAYER_RADIUS, SteadyState.ENEMY_RADIUS);
+        if (flowField) sim.setFlowField(FlowField.forWorld());
+        sim.setSeed(seed);
+        return sim;
+    }
+
+    static int play(Simulation sim) {
+        int t = 0;
+        while (sim.isPlaying() && t < MAX_GAME_TICKS) {
+            sim.tick(SimulationBenchmark.DELTA);
+            t++;
+        }
+        return t;
+    }
+
+    // the same test SwarmLod uses for its full-rate tier, with the default view
+    static boolean isFullRate(float x, float y, Simulation sim, float near) {
+        float dx = x - sim.player.x, dy = y - sim.player.y;
+        return dx * dx + dy * dy <= near * near
+                || (x >= -64f && x <= Simulation.WIDTH + 64f && y >= -64f && y <= Simulation.HEIGHT + 64f);
+    }
+
+    static boolean touches(EnemySwarm swarm, int i, Simulation sim, float distance) {
+        return sq(swarm.x[i] - sim.player.x) + sq(swarm.y[i] - sim.player.y) < distance * distance;
+    }
+
+    static float sq(float v) {
+        return v * v;
+    }
+
+    /** {@link WanderInput} with the trigger released, so nothing dies and slots stay put. */
+    static final class WalkInput implements SimInput {
+        private final SimInput wander = new WanderInput();
+
+        @Override
+        public void poll() {
+            wander.poll();
+        }
+
+        @Override
+        public int moveX() {
+            return wander.moveX();
+        }
+
+        @Override
+        public int moveY() {
+            return wander.moveY();
+        }
+
+        @Override
+        public float aimX() {
+            return wander.aimX();
+        }
+
+        @Override
+        public float aimY() {
+            return wander.aimY();
+        }
+
+        @Override
+        public boolean firing() {
+            return false;
+        }
+    }
+}
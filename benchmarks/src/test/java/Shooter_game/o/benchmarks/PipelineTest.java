@@ -0,0 +1,132 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.FrameHandoff;
+import Shooter_game.o.RenderFrame;
+import Shooter_game.o.RenderQueue;
+import Shooter_game.o.SimListener;
+import Shooter_game.o.Simulation;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The pipelined mode ({@code --pipelined=true}). A simulation thread publishes frames through a
+ * {@link FrameHandoff} as fast as it can while a render thread draws them into a counting
+ * {@link RenderQueue.Sink}: every frame drawn must checksum the same before and after drawing as when
+ * it was captured, ticks must only go forward, and every shot and kill event must reach the render
+ * side exactly once. After warm-up, capturing, handing over and drawing a frame must not allocate.
+ * Frame times are {@link PipelineFrameTimes}' job.
+ */
+class PipelineTest {
+    static final int HANDOFF_TICKS = 5_000, HANDOFF_ENEMIES = 2_000;
+    static final int BULLETS = 32;
+    static final int WARMUP_FRAMES = 1_000, ALLOCATION_FRAMES = 2_000;
+
+    @Test
+    void framesArriveWholeWithEveryEvent() throws InterruptedException {
+        Simulation sim = SteadyState.wandering(HANDOFF_ENEMIES, BULLETS);
+        FrameHandoff handoff = new FrameHandoff(HANDOFF_ENEMIES, BULLETS);
+        long[] emitted = new long[1];
+        sim.setListener(new SimListener() {
+            @Override
+            public void onShot(float x, float y, float angleDeg) {
+                emitted[0]++;
+                handoff.onShot(x, y, angleDeg);
+            }
+
+            @Override
+            public void onKill(float x, float y, float radius) {
+                emitted[0]++;
+                handoff.onKill(x, y, radius);
+            }
+        });
+        ConcurrentHashMap<Long, Long> captured = new ConcurrentHashMap<>();
+        // SteadyState tops up through the shared MathUtils.random, which only the simulation thread touches here
+        Thread writer = new Thread(() -> {
+            for (int t = 0; t < HANDOFF_TICKS; t++) {
+                SteadyState.step(sim, HANDOFF_ENEMIES, BULLETS);
+                RenderFrame back = handoff.getBack();
+                back.capture(sim, System.nanoTime(), 0);
+                captured.put(back.ticks, checksum(back));
+                handoff.publish();
+            }
+        }, "simulation");
+
+        FrameDrawer drawer = new FrameDrawer();
+        long seen = 0, drawn = 0, lastTick = -1;
+        writer.start();
+        try {
+            while (writer.isAlive()) {
+                if (!handoff.acquire()) {
+                    Thread.yield();
+                    continue;
+                }
+                RenderFrame frame = handoff.getFront();
+                long before = checksum(frame);
+                seen += frame.eventCount;
+                drawer.draw(frame, 0.5f);
+                long after = checksum(frame);
+                Long expected = captured.get(frame.ticks);
+                assertTrue(expected != null && before == expected && after == expected, "frame of tick " + frame.ticks
+                        + " changed while it was held (captured " + expected + ", drawn " + before + ", after drawing " + after + ")");
+                assertTrue(frame.ticks > lastTick, "tick " + frame.ticks + " drawn after tick " + lastTick);
+                lastTick = frame.ticks;
+                drawn++;
+            }
+        } finally {
+            writer.join();
+        }
+        // take the last published frame, then the writer's back frame, which may still carry events from frames nobody took
+        if (handoff.acquire()) seen += handoff.getFront().eventCount;
+        handoff.getBack().capture(sim, System.nanoTime(), 0);
+        handoff.publish();
+        if (handoff.acquire()) seen += handoff.getFront().eventCount;
+        assertEquals(emitted[0], seen, "events that reached the render side");
+        assertNotEquals(0, drawn, "the render thread never took a frame");
+    }
+
+    @Test
+    void handoffDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "per-thread allocation counting is not supported on this JVM");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        Simulation sim = SteadyState.wandering(HANDOFF_ENEMIES, BULLETS);
+        FrameHandoff handoff = new FrameHandoff(HANDOFF_ENEMIES, BULLETS);
+        sim.setListener(handoff);
+        FrameDrawer drawer = new FrameDrawer();
+        long allocated = 0;
+        for (int f = -WARMUP_FRAMES; f < ALLOCATION_FRAMES; f++) {
+            SteadyState.step(sim, HANDOFF_ENEMIES, BULLETS);
+            // only the handoff and the draw are counted; the simulation has AllocationTest
+            long before = threads.getCurrentThreadAllocatedBytes();
+            handoff.getBack().capture(sim, System.nanoTime(), 0);
+            handoff.publish();
+            handoff.acquire();
+            drawer.draw(handoff.getFront(), 0.5f);
+            if (f >= 0) allocated += threads.getCurrentThreadAllocatedBytes() - before;
+        }
+        assertEquals(0, allocated, "bytes allocated by capture, handoff and draw over " + ALLOCATION_FRAMES + " frames");
+    }
+
+    static long checksum(RenderFrame f) {
+        long h = f.ticks;
+        h = h * 31 + Float.floatToRawIntBits(f.playerX);
+        h = h * 31 + Float.floatToRawIntBits(f.playerY);
+        h = h * 31 + f.eventCount;
+        for (int i = 0; i < f.bulletCount * 4; i++) h = h * 31 + Float.floatToRawIntBits(f.bullets[i]);
+        for (int i = 0; i < f.enemyCount; i++) {
+            h = h * 31 + Float.floatToRawIntBits(f.enemyX[i]);
+            h = h * 31 + Float.floatToRawIntBits(f.enemyY[i]);
+            h = h * 31 + Float.floatToRawIntBits(f.enemyRotation[i]);
+            h = h * 31 + Float.floatToRawIntBits(f.enemyPrevX[i]);
+            h = h * 31 + Float.floatToRawIntBits(f.enemyPrevY[i]);
+        }
+        return h;
+    }
+}
@@ -0,0 +1,92 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.Bullet;
+import Shooter_game.o.EnemySwarm;
+import Shooter_game.o.RenderQueue;
+import Shooter_game.o.Simulation;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import org.junit.jupiter.api.Test;
+
+import static Shooter_game.o.benchmarks.FrameDrawer.BULLET_SIZE;
+import static Shooter_game.o.benchmarks.FrameDrawer.ENEMY_SIZE;
+import static Shooter_game.o.benchmarks.FrameDrawer.LAYER_BULLETS;
+import static Shooter_game.o.benchmarks.FrameDrawer.LAYER_ENEMIES;
+import static Shooter_game.o.benchmarks.FrameDrawer.LAYER_PLAYER;
+import static Shooter_game.o.benchmarks.FrameDrawer.PLAYER_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The render queue's culling and grouping. Runs the {@link Simulation} at steady state, queues the
+ * scene the way {@code Shooter} does and flushes into a {@link CountingSink} instead of a
+ * {@code SpriteBatch}, so no GL context is needed. Every frame the submitted and culled counts must
+ * match a brute-force count of which bounding circles touch the view, the sink must see exactly the
+ * submitted sprites in layer order, and the colour may change at most once per group.
+ */
+class RenderQueueTest {
+    static final int FRAMES = 2_000, ENEMIES = 2_000, BULLETS = 32;
+
+    @Test
+    void culledAndSubmittedCountsMatchTheView() {
+        OrthographicCamera camera = new OrthographicCamera();
+        camera.setToOrtho(false, Simulation.WIDTH, Simulation.HEIGHT);
+        camera.update();
+        float minX = camera.position.x - camera.viewportWidth / 2f, maxX = camera.position.x + camera.viewportWidth / 2f;
+        float minY = camera.position.y - camera.viewportHeight / 2f, maxY = camera.position.y + camera.viewportHeight / 2f;
+
+        TextureRegion player = new TextureRegion(), bullet = new TextureRegion(), enemy = new TextureRegion();
+        CountingSink sink = new CountingSink(player, bullet, enemy);
+        RenderQueue queue = new RenderQueue(16);
+        queue.setView(camera);
+
+        MathUtils.random.setSeed(1234);
+        Simulation sim = new Simulation(new WanderInput(), SteadyState.PLAYER_RADIUS, SteadyState.ENEMY_RADIUS);
+        sim.setSeed(1234);
+        sim.setTotalEnemies(Integer.MAX_VALUE);
+        sim.setInvulnerable(true);
+        SteadyState.topUp(sim, ENEMIES, BULLETS);
+
+        for (int f = 0; f < FRAMES; f++) {
+            sim.tick(SimulationBenchmark.DELTA);
+            SteadyState.recycleCaught(sim, ENEMIES);
+            SteadyState.topUp(sim, ENEMIES, BULLETS);
+
+            queue.begin();
+            sink.reset();
+            int expectedVisible = 0, queued = 0;
+            // enemies first and the player last, so the flush has to reorder to get layers right
+            EnemySwarm enemies = sim.enemies;
+            for (int i = 0; i < enemies.size; i++, queued++) {
+                queue.add(LAYER_ENEMIES, enemy, Color.WHITE, enemies.x[i], enemies.y[i], ENEMY_SIZE, ENEMY_SIZE, enemies.rotation[i]);
+                if (visible(enemies.x[i], enemies.y[i], ENEMY_SIZE, minX, minY, maxX, maxY)) expectedVisible++;
+            }
+            for (int i = 0; i < sim.bullets.size; i++, queued++) {
+                Bullet b = sim.bullets.get(i);
+                queue.add(LAYER_BULLETS, bullet, Color.YELLOW, b.x, b.y, BULLET_SIZE, BULLET_SIZE, 0f);
+                if (visible(b.x, b.y, BULLET_SIZE, minX, minY, maxX, maxY)) expectedVisible++;
+            }
+            queue.add(LAYER_PLAYER, player, Color.WHITE, sim.player.x, sim.player.y, PLAYER_SIZE, PLAYER_SIZE, sim.player.angle);
+            queued++;
+            if (visible(sim.player.x, sim.player.y, PLAYER_SIZE, minX, minY, maxX, maxY)) expectedVisible++;
+            queue.flush(sink);
+
+            String frame = "frame " + f + ": ";
+            assertEquals(queued, queue.getSubmitted() + queue.getCulled(), frame + "submitted + culled");
+            assertEquals(expectedVisible, queue.getSubmitted(), frame + "submitted, against sprites in view");
+            assertEquals(queue.getSubmitted(), sink.draws, frame + "sink draws");
+            assertFalse(sink.outOfOrder, frame + "layers drawn out of order");
+            assertEquals(queue.getColorChanges(), sink.colorChanges, frame + "colour changes");
+            assertTrue(sink.colorChanges <= 3, frame + sink.colorChanges + " colour changes for 3 groups");
+        }
+    }
+
+    // the same bounding circle the queue uses (same float ops, so boundary cases agree), written out again
+    static boolean visible(float cx, float cy, float size, float minX, float minY, float maxX, float maxY) {
+        float r = 0.5f * (float) Math.sqrt(size * size + size * size);
+        return cx + r >= minX && cx - r <= maxX && cy + r >= minY && cy - r <= maxY;
+    }
+}
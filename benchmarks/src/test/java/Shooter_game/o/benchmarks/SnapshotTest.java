@@ -0,0 +1,91 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.Simulation;
+import Shooter_game.o.SnapshotRing;
+import Shooter_game.o.SwarmLod;
+import Shooter_game.o.WorldSnapshot;
+import com.badlogic.gdx.math.MathUtils;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * World snapshots and rollback. Plays a game through a {@link SnapshotRing}, then re-simulates from
+ * stored ticks at several distances back: every re-simulated world must be bit-for-bit the one
+ * originally played, and restoring and re-saving a snapshot must give it back unchanged. Then, with
+ * {@link #ENEMIES} enemies on the field, save plus restore must not allocate after warm-up. How long
+ * they take is {@link SnapshotBenchmark}'s job.
+ */
+class SnapshotTest {
+    static final int RING = 128;
+    static final int[] DISTANCES = {1, 17, 64, RING - 1};
+    static final int ENEMIES = 10_000, BULLETS = 64;
+    static final int WARMUP = 20_000, RUNS = 5_000;
+    static final int TICKS = 1_200;
+
+    @Test
+    void resimulatedTicksMatchThePlayedOnes() {
+        MathUtils.random.setSeed(1234);
+        SnapshotRing ring = new SnapshotRing(new WanderInput(), RING, 1_000, BULLETS);
+        Simulation sim = new Simulation(ring, SteadyState.PLAYER_RADIUS, SteadyState.ENEMY_RADIUS);
+        sim.setSeed(1234);
+        sim.setTotalEnemies(Integer.MAX_VALUE);
+        sim.setInvulnerable(true);
+        sim.setLod(new SwarmLod());
+        for (int i = 0; i < 100; i++) sim.spawnEnemy();
+        ring.save(sim);
+        for (int t = 0; t < TICKS; t++) {
+            sim.tick(SimulationBenchmark.DELTA);
+            ring.save(sim);
+        }
+        WorldSnapshot played = new WorldSnapshot(sim.enemies.size, sim.bullets.size);
+        sim.save(played);
+        assertNotEquals(0, played.getScore(), "nothing was killed in " + TICKS + " ticks");
+
+        WorldSnapshot again = new WorldSnapshot(0, 0);
+        for (int d : DISTANCES) {
+            long from = sim.getTicks() - d;
+            int run = ring.resimulate(sim, from, d, SimulationBenchmark.DELTA);
+            assertEquals(d, run, "ticks re-simulated from " + from);
+            sim.save(again);
+            assertNull(played.diff(again), "re-simulating " + d + " ticks from " + from + " differs");
+        }
+        sim.restore(played);
+        sim.save(again);
+        assertNull(played.diff(again), "restore then save differs");
+    }
+
+    @Test
+    void saveAndRestoreDoNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "per-thread allocation counting is not supported on this JVM");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        MathUtils.random.setSeed(1234);
+        Simulation sim = new Simulation(new WanderInput(), SteadyState.PLAYER_RADIUS, SteadyState.ENEMY_RADIUS);
+        sim.setSeed(1234);
+        sim.setTotalEnemies(Integer.MAX_VALUE);
+        sim.setInvulnerable(true);
+        sim.setLod(new SwarmLod());
+        SteadyState.topUp(sim, ENEMIES, BULLETS);
+        sim.tick(SimulationBenchmark.DELTA);
+        WorldSnapshot snapshot = new WorldSnapshot(ENEMIES, BULLETS);
+        for (int i = 0; i < WARMUP; i++) {
+            sim.save(snapshot);
+            sim.restore(snapshot);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < RUNS; i++) {
+            sim.save(snapshot);
+            sim.restore(snapshot);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertEquals(0, allocated, "bytes allocated by " + RUNS + " saves + restores");
+    }
+}
@@ -0,0 +1,73 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.BotInput;
+import Shooter_game.o.GameConfig;
+import Shooter_game.o.Simulation;
+import Shooter_game.o.Soak;
+import Shooter_game.o.SoakMonitor;
+import Shooter_game.o.SwarmLod;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The bots and the soak loop. Every {@link BotInput} style has to play the same game
+ * twice for the same seed; the kiting bot has to win at least {@link #MIN_KITE_WINS} of {@link #GAMES}
+ * normal games, so it can carry a long unlimited run; and a short {@link Soak} with unlimited enemies
+ * has to take a sample every interval and write its report. Too short to judge growth, so that part
+ * of the report is not checked.
+ */
+class SoakTest {
+    static final int GAMES = 10;
+    static final int MIN_KITE_WINS = GAMES / 2;
+    static final int MAX_TICKS = 60 * 600;
+    static final int SOAK_SECONDS = 10;
+
+    @Test
+    void botsReplayExactlyAndKiteCanWin() {
+        String[] styles = {BotInput.KITE, BotInput.SPIN, BotInput.RANDOM};
+        for (String style : styles) {
+            Simulation a = play(style, 42), b = play(style, 42);
+            assertTrue(a.getTicks() == b.getTicks() && a.getScore() == b.getScore() && a.getGameState().equals(b.getGameState()),
+                    style + " bot played seed 42 two ways: " + a.getTicks() + " ticks, score " + a.getScore()
+                            + " and " + b.getTicks() + " ticks, score " + b.getScore());
+        }
+        int wins = 0;
+        for (int g = 0; g < GAMES; g++) {
+            if (play(BotInput.KITE, 100 + g).getGameState().equals(Simulation.WIN)) wins++;
+        }
+        assertTrue(wins >= MIN_KITE_WINS, "kite bot won " + wins + " of " + GAMES + " games");
+    }
+
+    @Test
+    void shortSoakSamplesAndReports() {
+        int seconds = SOAK_SECONDS;
+        GameConfig config = new GameConfig();
+        config.bot = BotInput.KITE;
+        config.seed = 1234L;
+        config.totalEnemies = 0; // no limit
+        config.soakSampleSeconds = 1;
+        SoakMonitor monitor = Soak.run(config, seconds * 1000L, null);
+        assertFalse(monitor.report().isEmpty(), "empty report");
+        // one at the start, one a second, and one at the end
+        assertTrue(monitor.getSamples() >= seconds, monitor.getSamples() + " samples in " + seconds + " s");
+        long tickNanos = 0;
+        for (int s = 0; s < monitor.getSamples(); s++) {
+            assertTrue(monitor.get(SoakMonitor.HEAP_USED, s) > 0, "sample " + s + " has no heap figure");
+            tickNanos += monitor.get(SoakMonitor.TICK_NANOS, s);
+        }
+        // the closing sample can land right after a due one and cover no ticks, so any sample counts
+        assertTrue(tickNanos > 0, "no tick times recorded");
+    }
+
+    static Simulation play(String style, long seed) {
+        BotInput bot = new BotInput(style, seed);
+        Simulation sim = new Simulation(bot, SteadyState.PLAYER_RADIUS, SteadyState.ENEMY_RADIUS);
+        bot.setSimulation(sim);
+        sim.setSeed(seed);
+        sim.setLod(new SwarmLod());
+        while (sim.isPlaying() && sim.getTicks() < MAX_TICKS) sim.tick(SimulationBenchmark.DELTA);
+        return sim;
+    }
+}
@@ -0,0 +1,116 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.ScoreIndex;
+import Shooter_game.o.Simulation;
+import Shooter_game.o.Telemetry;
+import Shooter_game.o.TelemetryQueue;
+import com.badlogic.gdx.math.MathUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The telemetry log. Runs the {@link Simulation} at steady state and every frame offers a burst of
+ * samples while the writer drains to a temp directory with a small rotation size. Every offered record
+ * must be written or counted as dropped, and the rotated logs and the score index must read back what
+ * was written.
+ * <p>
+ * Under the same sustained load, the median cost of an enqueue, timed per burst, must stay under
+ * {@link #MAX_ENQUEUE_NANOS}. Only the median is held to it, so a burst the scheduler interrupts cannot
+ * fail the build; {@link TelemetryBenchmark} has the full distribution.
+ */
+class TelemetryTest {
+    static final int FRAMES = 5_000;
+    static final int ENEMIES = 1_000, BULLETS = 32;
+    static final int BURST = 32; // records offered per frame, far more than the game sends
+    static final int RUNS = 10;
+    static final long ROTATE_BYTES = 64 << 10;
+    static final long FRAME_NANOS = 16_666_667L;
+    static final long MAX_ENQUEUE_NANOS = 1_000;
+    static final int WARMUP_FRAMES = 20_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void everyRecordIsWrittenOrDroppedAndReadsBack() throws IOException {
+        MathUtils.random.setSeed(1234);
+        Simulation sim = new Simulation(new WanderInput(), SteadyState.PLAYER_RADIUS, SteadyState.ENEMY_RADIUS);
+        sim.setSeed(1234);
+        sim.setTotalEnemies(Integer.MAX_VALUE);
+        sim.setInvulnerable(true);
+        SteadyState.topUp(sim, ENEMIES, BULLETS);
+
+        Telemetry telemetry = Telemetry.start(dir, Telemetry.FSYNC_INTERVAL, ROTATE_BYTES, 1 << 14);
+        long offered = 0;
+        for (int f = 0; f < FRAMES; f++) {
+            SteadyState.step(sim, ENEMIES, BULLETS);
+            for (int i = 0; i < BURST; i++) telemetry.sample(sim, FRAME_NANOS);
+            offered += BURST;
+        }
+        int runsWritten = 0;
+        for (int r = 0; r < RUNS; r++) {
+            if (telemetry.runEnded(sim)) runsWritten++;
+            offered++;
+        }
+        telemetry.close();
+
+        Counter counter = new Counter();
+        Path[] logs = Telemetry.logs(dir);
+        long read = 0;
+        for (Path log : logs) read += Telemetry.read(log, counter);
+        ScoreIndex scores = ScoreIndex.open(dir);
+
+        assertNull(telemetry.getError(), "writer failed");
+        assertEquals(offered, telemetry.getWritten() + telemetry.getDropped(), "written + dropped");
+        assertEquals(telemetry.getWritten(), read, "records read back");
+        assertEquals(runsWritten, counter.runs, "run records");
+        assertEquals(runsWritten, scores.size(), "score index entries");
+        if (runsWritten > 0) assertEquals(sim.getScore(), scores.top(1)[0].score, "best score");
+        assertTrue(logs.length >= 2 || read * Telemetry.RECORD_BYTES <= ROTATE_BYTES, "log did not rotate");
+    }
+
+    @Test
+    void enqueueStaysUnderAMicrosecond() throws IOException {
+        MathUtils.random.setSeed(1234);
+        Simulation sim = new Simulation(new WanderInput(), SteadyState.PLAYER_RADIUS, SteadyState.ENEMY_RADIUS);
+        sim.setSeed(1234);
+        sim.setTotalEnemies(Integer.MAX_VALUE);
+        sim.setInvulnerable(true);
+        SteadyState.topUp(sim, ENEMIES, BULLETS);
+
+        Telemetry telemetry = Telemetry.start(dir, Telemetry.FSYNC_INTERVAL, ROTATE_BYTES, 1 << 14);
+        for (int f = 0; f < WARMUP_FRAMES; f++) {
+            for (int i = 0; i < BURST; i++) telemetry.sample(sim, FRAME_NANOS);
+        }
+        long[] perOffer = new long[FRAMES];
+        for (int f = 0; f < FRAMES; f++) {
+            SteadyState.step(sim, ENEMIES, BULLETS);
+            long start = System.nanoTime();
+            for (int i = 0; i < BURST; i++) telemetry.sample(sim, FRAME_NANOS);
+            perOffer[f] = (System.nanoTime() - start) / BURST;
+        }
+        telemetry.close();
+
+        Arrays.sort(perOffer);
+        long median = perOffer[FRAMES / 2];
+        assertNull(telemetry.getError(), "writer failed");
+        assertTrue(median < MAX_ENQUEUE_NANOS, "median enqueue " + median + " ns, p99 " + perOffer[FRAMES * 99 / 100] + " ns");
+    }
+
+    static final class Counter implements TelemetryQueue.Sink {
+        int runs;
+
+        @Override
+        public void accept(int type, long a, long b, long c, long d, long e) {
+            if (type == Telemetry.RUN_END) runs++;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package Shooter_game.o.benchmarks;
+
+import Shooter_game.o.TimerWheel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Cancelling from inside a callback. Several timers share one level-0 slot and whichever fires first
+ * cancels the rest, which are already off the wheel waiting their turn: none of them may fire, every
+ * handle goes back to the pool once, and timers in other slots still fire on time.
+ */
+class TimerWheelTest {
+    static final int SAME_SLOT = 5;
+
+    @Test
+    void cancellingTimersDueInTheSameSlotFromACallback() {
+        TimerWheel wheel = new TimerWheel(0);
+        TimerWheel.Timer[] batch = new TimerWheel.Timer[SAME_SLOT];
+        int[] fired = new int[1];
+        TimerWheel.Callback cancelOthers = t -> {
+            fired[0]++;
+            for (TimerWheel.Timer other : batch) if (other != t) wheel.cancel(other);
+        };
+        for (int i = 0; i < SAME_SLOT; i++) batch[i] = wheel.schedule(10, cancelOthers);
+        int[] later = new int[1];
+        wheel.schedule(11, t -> later[0]++);
+        wheel.schedule(10 + 64, t -> later[0]++); // the same level-0 index, one lap on
+
+        wheel.advance(10);
+        assertEquals(1, fired[0], "timers fired from the shared slot");
+        assertEquals(2, wheel.getPending(), "pending after the slot");
+        for (TimerWheel.Timer t : batch) assertFalse(t.isPending(), "a cancelled or fired timer is still pending");
+
+        wheel.advance(100);
+        assertEquals(1, fired[0], "a cancelled timer fired later");
+        assertEquals(2, later[0], "timers in other slots");
+        assertEquals(0, wheel.getPending(), "pending at the end");
+        assertEquals(0, wheel.getPool().getInUse(), "handles not back in the pool");
+        assertEquals(wheel.getPool().getObtained(), wheel.getPool().getFreed(), "handles freed more than once");
+    }
+}
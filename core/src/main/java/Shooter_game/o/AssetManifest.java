@@ -0,0 +1,32 @@
+package Shooter_game.o;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+/**
+ * Queues the game's assets from {@code assets.txt}, the list the {@code generateAssetList} task writes
+ * next to them. Only atlases are queued: everything the game draws is packed into one (see
+ * {@code packTextures}), and the PNGs listed beside it are its page and the raw sprites it was packed
+ * from, which would only cost decode time.
+ */
+public final class AssetManifest {
+    public static final String FILE = "assets.txt";
+
+    private AssetManifest() {
+    }
+
+    /** Queues every atlas the manifest lists; returns how many, 0 if the manifest is missing. */
+    public static int queue(AssetManager assets, FileHandle manifest) {
+        if (!manifest.exists()) return 0;
+        int queued = 0;
+        for (String line : manifest.readString("UTF-8").split("\n")) {
+            String path = line.trim();
+            if (path.endsWith(".atlas")) {
+                assets.load(path, TextureAtlas.class);
+                queued++;
+            }
+        }
+        return queued;
+    }
+}
@@ -0,0 +1,155 @@
+package Shooter_game.o;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * Built-in players for load and soak runs, standing in for the keyboard and mouse. A bot only reads
+ * the public state of the simulation it is given with {@link #setSimulation}, and its own RNG, so a
+ * bot game is as reproducible as a recorded one (and can itself be recorded).
+ * <ul>
+ * <li>{@link #KITE}: backs away from the enemies closing in, keeps off the edges and shoots the nearest.</li>
+ * <li>{@link #SPIN}: stands still and sweeps its aim round in a circle, firing all the time.</li>
+ * <li>{@link #RANDOM}: picks a new direction, aim point and trigger every {@link #RANDOM_HOLD_TICKS} ticks.</li>
+ * </ul>
+ * The kiting bot looks at every enemy each tick, which is cheap next to the tick itself.
+ */
+public class BotInput implements SimInput {
+    public static final String KITE = "kite";
+    public static final String SPIN = "spin";
+    public static final String RANDOM = "random";
+
+    /** Enemies closer than this push the kiting bot away, the closest hardest. */
+    private static final float KITE_RADIUS = 300f;
+    private static final float EDGE_MARGIN = 120f;
+    private static final float DEADZONE = 0.3f;
+    private static final float SPIN_DEG_PER_TICK = 4f;
+    private static final int RANDOM_HOLD_TICKS = 20;
+    private static final float RANDOM_FIRE_CHANCE = 0.8f;
+
+    private final String style;
+    private final RandomXS128 random;
+    private Simulation sim;
+    private int tick;
+    private float spinDeg;
+
+    private int moveX, moveY;
+    private float aimX, aimY;
+    private boolean firing;
+
+    public BotInput(String style, long seed) {
+        if (!isStyle(style)) throw new IllegalArgumentException("Unknown bot: " + style);
+        this.style = style;
+        random = new RandomXS128(seed);
+    }
+
+    public static boolean isStyle(String style) {
+        return KITE.equals(style) || SPIN.equals(style) || RANDOM.equals(style);
+    }
+
+    /** The world the bot plays in; until it has one it stands still and holds fire. */
+    public void setSimulation(Simulation sim) {
+        this.sim = sim;
+    }
+
+    public String getStyle() {
+        return style;
+    }
+
+    @Override
+    public void poll() {
+        if (sim == null) return;
+        tick++;
+        switch (style) {
+            case KITE:
+                kite(sim.player, sim.enemies);
+                break;
+            case SPIN:
+                moveX = moveY = 0;
+                spinDeg = (spinDeg + SPIN_DEG_PER_TICK) % 360f;
+                aimX = sim.player.x + MathUtils.cosDeg(spinDeg) * 100f;
+                aimY = sim.player.y + MathUtils.sinDeg(spinDeg) * 100f;
+                firing = true;
+                break;
+            default:
+                if (tick % RANDOM_HOLD_TICKS == 1) {
+                    moveX = random.nextInt(3) - 1;
+                    moveY = random.nextInt(3) - 1;
+                    aimX = random.nextFloat() * Simulation.WIDTH;
+                    aimY = random.nextFloat() * Simulation.HEIGHT;
+                    firing = random.nextFloat() < RANDOM_FIRE_CHANCE;
+                }
+                break;
+        }
+    }
+
+    private void kite(Player p, EnemySwarm enemies) {
+        float pushX = 0f, pushY = 0f;
+        int nearest = -1;
+        float nearest2 = Float.MAX_VALUE;
+        float[] x = enemies.x, y = enemies.y;
+        for (int i = 0; i < enemies.size; i++) {
+            float dx = p.x - x[i], dy = p.y - y[i];
+            float d2 = dx * dx + dy * dy;
+            if (d2 < nearest2) {
+                nearest2 = d2;
+                nearest = i;
+            }
+            if (d2 < KITE_RADIUS * KITE_RADIUS && d2 > 0f) {
+                pushX += dx / d2;
+                pushY += dy / d2;
+            }
+        }
+        float vx, vy;
+        float push = (float) Math.sqrt(pushX * pushX + pushY * pushY);
+        if (push > 0f) {
+            vx = pushX / push;
+            vy = pushY / push;
+        } else {
+            // nothing close: drift back towards the middle, where there is room to run
+            vx = (Simulation.WIDTH / 2f - p.x) / (Simulation.WIDTH / 2f);
+            vy = (Simulation.HEIGHT / 2f - p.y) / (Simulation.HEIGHT / 2f);
+        }
+        vx += edge(p.x, Simulation.WIDTH);
+        vy += edge(p.y, Simulation.HEIGHT);
+        moveX = vx > DEADZONE ? 1 : vx < -DEADZONE ? -1 : 0;
+        moveY = vy > DEADZONE ? 1 : vy < -DEADZONE ? -1 : 0;
+        if (nearest >= 0) {
+            aimX = x[nearest];
+            aimY = y[nearest];
+        }
+        firing = nearest >= 0;
+    }
+
+    // up to 1 away from an edge the player is within EDGE_MARGIN of
+    private static float edge(float v, float size) {
+        if (v < EDGE_MARGIN) return 1f - v / EDGE_MARGIN;
+        if (v > size - EDGE_MARGIN) return -1f + (size - v) / EDGE_MARGIN;
+        return 0f;
+    }
+
+    @Override
+    public int moveX() {
+        return moveX;
+    }
+
+    @Override
+    public int moveY() {
+        return moveY;
+    }
+
+    @Override
+    public float aimX() {
+        return aimX;
+    }
+
+    @Override
+    public float aimY() {
+        return aimY;
+    }
+
+    @Override
+    public boolean firing() {
+        return firing;
+    }
+}
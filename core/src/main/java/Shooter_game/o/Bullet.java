@@ -0,0 +1,46 @@
+package Shooter_game.o;
+
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Pool;
+
+public class Bullet implements Pool.Poolable {
+    public static final float SPEED = 900f;
+    public static final float RADIUS = 5f;
+
+    public float x, y;
+    public float prevX, prevY;
+    public final Vector2 vel = new Vector2();
+    public final Circle circle = new Circle();
+
+    public Bullet init(float x, float y, float a) {
+        this.x = x;
+        this.y = y;
+        vel.set(1, 0).setAngleDeg(a).scl(SPEED);
+        circle.radius = RADIUS;
+        circle.setPosition(x, y);
+        savePrevious();
+        return this;
+    }
+
+    @Override
+    public void reset() {
+        x = y = 0;
+        vel.setZero();
+    }
+
+    public void savePrevious() {
+        prevX = x;
+        prevY = y;
+    }
+
+    public void update(float delta) {
+        x += vel.x * delta;
+        y += vel.y * delta;
+        circle.setPosition(x, y);
+    }
+
+    public boolean isOffscreen() {
+        return x < -20 || x > Simulation.WIDTH + 20 || y < -20 || y > Simulation.HEIGHT + 20;
+    }
+}
@@ -0,0 +1,72 @@
+package Shooter_game.o;
+
+import java.util.Arrays;
+
+/**
+ * One tick's collisions, as flat parallel arrays that are cleared and refilled every tick, so a tick
+ * with no more collisions than the busiest one so far allocates nothing. Detection only appends;
+ * {@link Simulation} resolves the whole batch afterwards, which keeps every removal, score change and
+ * listener call out of the detection loops.
+ * <p>
+ * Enemy position and radius are copied in when the event is added, because resolving the batch
+ * compacts the swarm and the slot no longer says where the enemy was.
+ */
+public class CollisionEvents {
+    /** A bullet reached an enemy; resolved, it kills the enemy and spends the bullet. */
+    public static final int BULLET_HIT = 0;
+    /** An enemy touched the player. */
+    public static final int PLAYER_CAUGHT = 1;
+
+    public int[] type, bullet, enemy;
+    public float[] x, y, radius;
+    /** Set by the resolve stage: false for events it dropped as duplicates. */
+    public boolean[] applied;
+    public int size;
+
+    public CollisionEvents(int initialCapacity) {
+        int cap = Math.max(16, initialCapacity);
+        type = new int[cap];
+        bullet = new int[cap];
+        enemy = new int[cap];
+        x = new float[cap];
+        y = new float[cap];
+        radius = new float[cap];
+        applied = new boolean[cap];
+    }
+
+    /** @param bulletIndex index in {@link Simulation#bullets}, or -1 for {@link #PLAYER_CAUGHT} */
+    public void add(int type, int bulletIndex, int enemySlot, EnemySwarm swarm) {
+        if (size == this.type.length) grow(size * 2);
+        int i = size++;
+        this.type[i] = type;
+        this.bullet[i] = bulletIndex;
+        this.enemy[i] = enemySlot;
+        this.x[i] = swarm.x[enemySlot];
+        this.y[i] = swarm.y[enemySlot];
+        this.radius[i] = swarm.radius[enemySlot];
+        this.applied[i] = false;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /** Events of {@code type} the last resolve applied. */
+    public int countApplied(int type) {
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (applied[i] && this.type[i] == type) n++;
+        }
+        return n;
+    }
+
+    private void grow(int cap) {
+        type = Arrays.copyOf(type, cap);
+        bullet = Arrays.copyOf(bullet, cap);
+        enemy = Arrays.copyOf(enemy, cap);
+        x = Arrays.copyOf(x, cap);
+        y = Arrays.copyOf(y, cap);
+        radius = Arrays.copyOf(radius, cap);
+        applied = Arrays.copyOf(applied, cap);
+    }
+}
@@ -0,0 +1,61 @@
+package Shooter_game.o;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+/** A {@link Pool} that keeps obtained/freed/peak counters so pool sizes can be tuned at runtime. */
+public abstract class CountingPool<T> extends Pool<T> {
+    private long obtained;
+    private long freed;
+    private int inUse;
+    private int peakInUse;
+
+    /** @param max cap on the number of free objects kept around; use {@link #fill(int)} to preallocate. */
+    public CountingPool(int initialCapacity, int max) {
+        super(initialCapacity, max);
+    }
+
+    @Override
+    public T obtain() {
+        obtained++;
+        if (++inUse > peakInUse) peakInUse = inUse;
+        return super.obtain();
+    }
+
+    @Override
+    public void free(T object) {
+        freed++;
+        inUse--;
+        super.free(object);
+    }
+
+    @Override
+    public void freeAll(Array<T> objects) {
+        freed += objects.size;
+        inUse -= objects.size;
+        super.freeAll(objects);
+    }
+
+    public long getObtained() {
+        return obtained;
+    }
+
+    public long getFreed() {
+        return freed;
+    }
+
+    public int getInUse() {
+        return inUse;
+    }
+
+    /** Highest number of objects that were out of the pool at the same time. */
+    public int getPeakInUse() {
+        return peakInUse;
+    }
+
+    @Override
+    public String toString() {
+        return "obtained=" + obtained + " freed=" + freed + " inUse=" + inUse + " peakInUse=" + peakInUse
+                + " free=" + getFree() + " peakFree=" + peak + " max=" + max;
+    }
+}
@@ -0,0 +1,312 @@
+package Shooter_game.o;
+
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays enemy storage: one primitive array per field instead of one heap object per
+ * enemy. Slots are dense in {@code [0, size)}; removal swaps the last enemy into the freed slot, so
+ * slot order is not spawn order. {@link #serial} keeps the spawn order for callers that need it.
+ */
+public class EnemySwarm {
+    public float[] x, y, speed, rotation, radius;
+    /** Position and heading at the start of the current tick, for render interpolation. */
+    public float[] prevX, prevY, prevRotation;
+    /** Seconds of movement a {@link SwarmLod} has held back from each enemy so far. */
+    public float[] lodDebt;
+    /** Each enemy's {@link SwarmLod} tier, picked when it last moved. */
+    public byte[] lodTier;
+    private float[] lodStep; // seconds each slot moves this tick under LOD, 0 when skipped
+    public int[] serial;
+    public boolean[] dead;
+    public int size;
+
+    /** Shared difficulty multiplier applied on top of every enemy's base {@link #speed}. */
+    public float speedMultiplier = 1f;
+
+    private int nextSerial;
+    private FlowField flowField;
+    private SwarmLod lod;
+
+    public EnemySwarm(int initialCapacity) {
+        int cap = Math.max(16, initialCapacity);
+        x = new float[cap];
+        y = new float[cap];
+        speed = new float[cap];
+        rotation = new float[cap];
+        radius = new float[cap];
+        prevX = new float[cap];
+        prevY = new float[cap];
+        prevRotation = new float[cap];
+        lodDebt = new float[cap];
+        lodTier = new byte[cap];
+        lodStep = new float[cap];
+        serial = new int[cap];
+        dead = new boolean[cap];
+    }
+
+    public int add(float x, float y, float speed, float rotation, float radius) {
+        if (size == this.x.length) grow(size * 2);
+        int i = size++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.speed[i] = speed;
+        this.rotation[i] = rotation;
+        this.radius[i] = radius;
+        this.prevX[i] = x;
+        this.prevY[i] = y;
+        this.prevRotation[i] = rotation;
+        this.lodDebt[i] = 0f;
+        this.lodTier[i] = SwarmLod.NEAR;
+        this.serial[i] = nextSerial++;
+        this.dead[i] = false;
+        return i;
+    }
+
+    /** Removes slot i by moving the last enemy into it. */
+    public void removeSwap(int i) {
+        int last = --size;
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            speed[i] = speed[last];
+            rotation[i] = rotation[last];
+            radius[i] = radius[last];
+            prevX[i] = prevX[last];
+            prevY[i] = prevY[last];
+            prevRotation[i] = prevRotation[last];
+            lodDebt[i] = lodDebt[last];
+            lodTier[i] = lodTier[last];
+            serial[i] = serial[last];
+            dead[i] = dead[last];
+        }
+    }
+
+    /** Removes every slot flagged in {@link #dead}. */
+    public void removeDead() {
+        // walk backwards so the enemy swapped in from the end has already been checked
+        for (int i = size - 1; i >= 0; i--) {
+            if (dead[i]) removeSwap(i);
+        }
+    }
+
+    public void clear() {
+        size = 0;
+        nextSerial = 0;
+    }
+
+    void save(WorldSnapshot s) {
+        int n = size;
+        s.ensureEnemies(n);
+        s.enemyCount = n;
+        s.nextSerial = nextSerial;
+        s.speedMultiplier = speedMultiplier;
+        System.arraycopy(x, 0, s.x, 0, n);
+        System.arraycopy(y, 0, s.y, 0, n);
+        System.arraycopy(speed, 0, s.speed, 0, n);
+        System.arraycopy(rotation, 0, s.rotation, 0, n);
+        System.arraycopy(radius, 0, s.radius, 0, n);
+        System.arraycopy(lodDebt, 0, s.lodDebt, 0, n);
+        System.arraycopy(lodTier, 0, s.lodTier, 0, n);
+        System.arraycopy(serial, 0, s.serial, 0, n);
+    }
+
+    // between ticks every dead flag is clear, so there are none to copy
+    void restore(WorldSnapshot s) {
+        int n = s.enemyCount;
+        if (x.length < n) grow(n);
+        size = n;
+        nextSerial = s.nextSerial;
+        speedMultiplier = s.speedMultiplier;
+        System.arraycopy(s.x, 0, x, 0, n);
+        System.arraycopy(s.y, 0, y, 0, n);
+        System.arraycopy(s.speed, 0, speed, 0, n);
+        System.arraycopy(s.rotation, 0, rotation, 0, n);
+        System.arraycopy(s.radius, 0, radius, 0, n);
+        System.arraycopy(s.lodDebt, 0, lodDebt, 0, n);
+        System.arraycopy(s.lodTier, 0, lodTier, 0, n);
+        System.arraycopy(s.serial, 0, serial, 0, n);
+        Arrays.fill(dead, 0, n, false);
+        savePrevious();
+    }
+
+    public void savePrevious() {
+        System.arraycopy(x, 0, prevX, 0, size);
+        System.arraycopy(y, 0, prevY, 0, size);
+        System.arraycopy(rotation, 0, prevRotation, 0, size);
+    }
+
+    public float maxRadius() {
+        float max = 0f;
+        for (int i = 0; i < size; i++) max = Math.max(max, radius[i]);
+        return max;
+    }
+
+    /** Steers by this field (which the caller keeps {@link FlowField#update updated}); null homes straight in. */
+    public void setFlowField(FlowField flowField) {
+        this.flowField = flowField;
+    }
+
+    public FlowField getFlowField() {
+        return flowField;
+    }
+
+    /** Moves far and off-screen enemies less often, in this LOD's buckets; null moves them all every tick. */
+    public void setLod(SwarmLod lod) {
+        this.lod = lod;
+    }
+
+    public SwarmLod getLod() {
+        return lod;
+    }
+
+    /** Moves every enemy toward (px, py), by the flow field if one is set. */
+    public void move(float delta, float px, float py) {
+        move(delta, px, py, 0, size);
+    }
+
+    /** Moves the slots in [from, to); each enemy only reads its own slot, so ranges can run in parallel. */
+    public void move(float delta, float px, float py, int from, int to) {
+        if (lod != null) {
+            moveLod(lod, delta, px, py, from, to);
+            return;
+        }
+        if (flowField != null) steer(flowField, delta, null, px, py, from, to);
+        else home(delta, null, px, py, from, to);
+    }
+
+    // straight homing, same math as the old per-object Enemy.update
+    private void home(float delta, float[] steps, float px, float py, int from, int to) {
+        float mult = speedMultiplier;
+        float[] x = this.x, y = this.y, speed = this.speed, rotation = this.rotation;
+        for (int i = from; i < to; i++) {
+            float dt = steps != null ? steps[i] : delta;
+            if (dt == 0f) continue;
+            float dx = px - x[i];
+            float dy = py - y[i];
+            if (dx * dx + dy * dy > 0) {
+                float len = (float) Math.sqrt(dx * dx + dy * dy);
+                float step = speed[i] * mult * dt;
+                x[i] += dx / len * step;
+                y[i] += dy / len * step;
+                rotation[i] = angleDeg(px - x[i], py - y[i]);
+            }
+        }
+    }
+
+    // an enemy that is due moves by everything it is owed, through the same loops as without LOD
+    private void moveLod(SwarmLod lod, float delta, float px, float py, int from, int to) {
+        int t = lod.tick;
+        int[] masks = lod.masks;
+        int[] serial = this.serial;
+        float[] debt = lodDebt, steps = lodStep;
+        byte[] tier = lodTier;
+        for (int i = from; i < to; i++) {
+            float owed = debt[i] + delta;
+            boolean due = ((serial[i] ^ t) & masks[tier[i]]) == 0;
+            steps[i] = due ? owed : 0f;
+            debt[i] = due ? 0f : owed;
+        }
+        if (flowField != null) steer(flowField, delta, steps, px, py, from, to);
+        else home(delta, steps, px, py, from, to);
+        for (int i = from; i < to; i++) {
+            if (steps[i] != 0f) tier[i] = (byte) lod.tierOf(x[i], y[i], px, py);
+        }
+    }
+
+    // one field lookup per enemy for direction, crowd push and heading; only enemies near the player
+    // (or off the grid) work out their own direction
+    private void steer(FlowField f, float delta, float[] steps, float px, float py, int from, int to) {
+        float mult = speedMultiplier;
+        float[] x = this.x, y = this.y, speed = this.speed, rotation = this.rotation;
+        for (int i = from; i < to; i++) {
+            float dt = steps != null ? steps[i] : delta;
+            if (dt == 0f) continue;
+            int c = f.cellOf(x[i], y[i]);
+            boolean direct = c < 0 || f.isNear(c);
+            float dx, dy;
+            if (direct) {
+                dx = px - x[i];
+                dy = py - y[i];
+                float len = (float) Math.sqrt(dx * dx + dy * dy);
+                if (len == 0) continue;
+                dx /= len;
+                dy /= len;
+            } else {
+                dx = f.dirX[c] + f.sepX[c];
+                dy = f.dirY[c] + f.sepY[c];
+            }
+            float len = (float) Math.sqrt(dx * dx + dy * dy);
+            if (len == 0) continue;
+            float step = speed[i] * mult * dt / len;
+            float nx = x[i] + dx * step;
+            float ny = y[i] + dy * step;
+            // into a blocked cell: slide along whichever axis is still free
+            if (isOpen(f, nx, ny)) {
+                x[i] = nx;
+                y[i] = ny;
+            } else if (isOpen(f, nx, y[i])) {
+                x[i] = nx;
+            } else if (isOpen(f, x[i], ny)) {
+                y[i] = ny;
+            }
+            rotation[i] = direct ? angleDeg(px - x[i], py - y[i]) : f.heading[c];
+        }
+    }
+
+    private static boolean isOpen(FlowField f, float x, float y) {
+        int c = f.cellOf(x, y);
+        return c < 0 || !f.isBlocked(c);
+    }
+
+    /** Same result as {@code Intersector.overlaps} between the circle and enemy i. */
+    public boolean overlaps(int i, float cx, float cy, float cr) {
+        float dx = cx - x[i];
+        float dy = cy - y[i];
+        float r = cr + radius[i];
+        return dx * dx + dy * dy < r * r;
+    }
+
+    /**
+     * Sweeps a circle of radius cr from (x0, y0) to (x1, y1) against enemy i and returns the fraction
+     * of the path at first contact, 0 if it already overlaps at the start, or -1 if it never touches.
+     */
+    public float sweep(int i, float x0, float y0, float x1, float y1, float cr) {
+        float fx = x0 - x[i];
+        float fy = y0 - y[i];
+        float r = cr + radius[i];
+        float c = fx * fx + fy * fy - r * r;
+        if (c < 0) return 0f;
+        float dx = x1 - x0;
+        float dy = y1 - y0;
+        float a = dx * dx + dy * dy;
+        if (a == 0) return -1f;
+        float b = fx * dx + fy * dy; // half of the usual b, which cancels the 2s and 4s below
+        if (b >= 0) return -1f; // moving away from (or tangent to) the centre
+        float disc = b * b - a * c;
+        if (disc < 0) return -1f;
+        float t = (-b - (float) Math.sqrt(disc)) / a;
+        return t <= 1f ? t : -1f;
+    }
+
+    private void grow(int cap) {
+        x = Arrays.copyOf(x, cap);
+        y = Arrays.copyOf(y, cap);
+        speed = Arrays.copyOf(speed, cap);
+        rotation = Arrays.copyOf(rotation, cap);
+        radius = Arrays.copyOf(radius, cap);
+        prevX = Arrays.copyOf(prevX, cap);
+        prevY = Arrays.copyOf(prevY, cap);
+        prevRotation = Arrays.copyOf(prevRotation, cap);
+        lodDebt = Arrays.copyOf(lodDebt, cap);
+        lodTier = Arrays.copyOf(lodTier, cap);
+        lodStep = new float[cap];
+        serial = Arrays.copyOf(serial, cap);
+        dead = Arrays.copyOf(dead, cap);
+    }
+
+    static float angleDeg(float dx, float dy) {
+        float angle = (float) Math.atan2(dy, dx) * (180f / (float) Math.PI);
+        if (angle < 0) angle += 360;
+        return angle;
+    }
+}
@@ -0,0 +1,281 @@
+package Shooter_game.o;
+
+import java.util.Arrays;
+
+/**
+ * Grid flow field toward the player, shared by the whole swarm. Rebuilt only when the player moves to
+ * another cell or the obstacles change: a Dijkstra pass fills in the path cost from every cell, then
+ * each cell keeps one unit direction and its heading, so an enemy steers with a single lookup.
+ * <p>
+ * Cells that can see the player cell head straight for it; the rest follow the cheapest neighbour
+ * around the obstacles. Near the player enemies home in on the exact position instead of the cell.
+ * A per-tick density count adds a push away from crowded neighbouring cells so swarms spread out
+ * instead of stacking on one line. Outside the grid enemies fall back to plain homing.
+ */
+public class FlowField {
+    public static final float DEFAULT_CELL_SIZE = 32f;
+    /** Cells around the player's within which enemies aim at the player itself. */
+    private static final int NEAR_CELLS = 2;
+    private static final int STRAIGHT = 10, DIAGONAL = 14;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final float MAX_PUSH = 0.5f;
+
+    public final int cols, rows;
+    public final float originX, originY, cellSize;
+    private final float invCellSize;
+
+    private final boolean[] blocked;
+    private int blockedCount;
+    private final int[] cost;
+    final float[] dirX, dirY, heading;
+    final float[] sepX, sepY;
+    private final int[] density;
+    private float separation = 0.08f;
+
+    private int targetCell = -1;
+    private boolean dirty = true;
+    private long[] heap;
+    private int heapSize;
+
+    /** A square grid of the given half extent around (centreX, centreY). */
+    public FlowField(float centreX, float centreY, float halfExtent, float cellSize) {
+        this.cellSize = cellSize;
+        this.invCellSize = 1f / cellSize;
+        cols = rows = (int) Math.ceil(halfExtent * 2 / cellSize);
+        originX = centreX - cols * cellSize / 2f;
+        originY = centreY - rows * cellSize / 2f;
+        int n = cols * rows;
+        blocked = new boolean[n];
+        cost = new int[n];
+        dirX = new float[n];
+        dirY = new float[n];
+        heading = new float[n];
+        sepX = new float[n];
+        sepY = new float[n];
+        density = new int[n];
+        heap = new long[n * 4];
+    }
+
+    /** Covers the view and the whole spawn ring around it. */
+    public static FlowField forWorld() {
+        return new FlowField(Simulation.WIDTH / 2f, Simulation.HEIGHT / 2f, 960f, DEFAULT_CELL_SIZE);
+    }
+
+    /** Marks every cell touched by the rectangle as blocked (or clear again). */
+    public void setBlocked(float x, float y, float w, float h, boolean value) {
+        int cx0 = Math.max(0, cellX(x)), cx1 = Math.min(cols - 1, cellX(x + w));
+        int cy0 = Math.max(0, cellY(y)), cy1 = Math.min(rows - 1, cellY(y + h));
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                int c = cy * cols + cx;
+                if (blocked[c] != value) blockedCount += value ? 1 : -1;
+                blocked[c] = value;
+            }
+        }
+        dirty = true;
+    }
+
+    public void clearObstacles() {
+        Arrays.fill(blocked, false);
+        blockedCount = 0;
+        dirty = true;
+    }
+
+    public boolean isBlocked(float x, float y) {
+        int c = cellOf(x, y);
+        return c >= 0 && blocked[c];
+    }
+
+    /** How hard crowded neighbouring cells push; 0 turns separation off and skips the per-tick count. */
+    public void setSeparation(float separation) {
+        this.separation = separation;
+        if (separation == 0f) {
+            Arrays.fill(sepX, 0f);
+            Arrays.fill(sepY, 0f);
+        }
+    }
+
+    /** Rebuilds the field if the player changed cells, and recounts the swarm for separation. */
+    public void update(float px, float py, EnemySwarm swarm) {
+        int target = cellOf(Math.max(originX, Math.min(px, originX + cols * cellSize - 1)),
+                Math.max(originY, Math.min(py, originY + rows * cellSize - 1)));
+        if (target != targetCell || dirty) {
+            targetCell = target;
+            dirty = false;
+            rebuild();
+        }
+        if (separation != 0f) countDensity(swarm);
+    }
+
+    /** The cell index for a world position, or -1 outside the grid. */
+    public int cellOf(float x, float y) {
+        int cx = cellX(x), cy = cellY(y);
+        if (cx < 0 || cy < 0 || cx >= cols || cy >= rows) return -1;
+        return cy * cols + cx;
+    }
+
+    /** True for cells close enough to the player that enemies should aim at the player directly. */
+    boolean isNear(int c) {
+        return Math.abs(c % cols - targetCell % cols) <= NEAR_CELLS
+                && Math.abs(c / cols - targetCell / cols) <= NEAR_CELLS;
+    }
+
+    boolean isBlocked(int c) {
+        return blocked[c];
+    }
+
+    private int cellX(float x) {
+        return (int) Math.floor((x - originX) * invCellSize);
+    }
+
+    private int cellY(float y) {
+        return (int) Math.floor((y - originY) * invCellSize);
+    }
+
+    private void rebuild() {
+        Arrays.fill(cost, UNREACHABLE);
+        int tx = targetCell % cols, ty = targetCell / cols;
+        if (blockedCount > 0) integrate();
+        for (int c = 0; c < cost.length; c++) {
+            int cx = c % cols, cy = c / cols;
+            float dx, dy;
+            if (blockedCount == 0 || canSee(cx, cy, tx, ty)) {
+                dx = tx - cx;
+                dy = ty - cy;
+            } else {
+                int best = cheapestNeighbour(cx, cy);
+                if (best < 0) {
+                    dx = tx - cx; // walled in: head straight on and let the obstacle check stop it
+                    dy = ty - cy;
+                } else {
+                    dx = best % cols - cx;
+                    dy = best / cols - cy;
+                }
+            }
+            float len = (float) Math.sqrt(dx * dx + dy * dy);
+            if (len > 0) {
+                dirX[c] = dx / len;
+                dirY[c] = dy / len;
+                heading[c] = EnemySwarm.angleDeg(dx, dy);
+            } else {
+                dirX[c] = dirY[c] = 0f;
+            }
+        }
+    }
+
+    // Dijkstra from the player cell, 8-connected, no cutting corners past blocked cells
+    private void integrate() {
+        heapSize = 0;
+        cost[targetCell] = 0;
+        push(0, targetCell);
+        while (heapSize > 0) {
+            long top = pop();
+            int d = (int) (top >>> 32);
+            int c = (int) top;
+            if (d > cost[c]) continue;
+            int cx = c % cols, cy = c / cols;
+            for (int oy = -1; oy <= 1; oy++) {
+                for (int ox = -1; ox <= 1; ox++) {
+                    if (ox == 0 && oy == 0) continue;
+                    int nx = cx + ox, ny = cy + oy;
+                    if (nx < 0 || ny < 0 || nx >= cols || ny >= rows) continue;
+                    int n = ny * cols + nx;
+                    if (blocked[n]) continue;
+                    if (ox != 0 && oy != 0 && (blocked[cy * cols + nx] || blocked[ny * cols + cx])) continue;
+                    int nd = d + (ox != 0 && oy != 0 ? DIAGONAL : STRAIGHT);
+                    if (nd < cost[n]) {
+                        cost[n] = nd;
+                        push(nd, n);
+                    }
+                }
+            }
+        }
+    }
+
+    private int cheapestNeighbour(int cx, int cy) {
+        int best = -1, bestCost = UNREACHABLE;
+        for (int oy = -1; oy <= 1; oy++) {
+            for (int ox = -1; ox <= 1; ox++) {
+                if (ox == 0 && oy == 0) continue;
+                int nx = cx + ox, ny = cy + oy;
+                if (nx < 0 || ny < 0 || nx >= cols || ny >= rows) continue;
+                if (ox != 0 && oy != 0 && (blocked[cy * cols + nx] || blocked[ny * cols + cx])) continue;
+                int n = ny * cols + nx;
+                if (cost[n] < bestCost) {
+                    bestCost = cost[n];
+                    best = n;
+                }
+            }
+        }
+        return best;
+    }
+
+    // walks the cells on the line between the two (Bresenham); any blocked one hides the target
+    private boolean canSee(int x0, int y0, int x1, int y1) {
+        int dx = Math.abs(x1 - x0), dy = -Math.abs(y1 - y0);
+        int sx = x0 < x1 ? 1 : -1, sy = y0 < y1 ? 1 : -1;
+        int err = dx + dy;
+        while (true) {
+            if (blocked[y0 * cols + x0]) return false;
+            if (x0 == x1 && y0 == y1) return true;
+            int e2 = 2 * err;
+            if (e2 >= dy) {
+                err += dy;
+                x0 += sx;
+            }
+            if (e2 <= dx) {
+                err += dx;
+                y0 += sy;
+            }
+        }
+    }
+
+    private void countDensity(EnemySwarm swarm) {
+        Arrays.fill(density, 0);
+        for (int i = 0; i < swarm.size; i++) {
+            int c = cellOf(swarm.x[i], swarm.y[i]);
+            if (c >= 0) density[c]++;
+        }
+        float k = separation;
+        for (int cy = 0; cy < rows; cy++) {
+            for (int cx = 0; cx < cols; cx++) {
+                int c = cy * cols + cx;
+                int left = cx > 0 ? density[c - 1] : 0, right = cx < cols - 1 ? density[c + 1] : 0;
+                int down = cy > 0 ? density[c - cols] : 0, up = cy < rows - 1 ? density[c + cols] : 0;
+                // downhill on the crowd: away from whichever side holds more enemies, capped well
+                // below the unit flow direction so a crowd ahead can slow the swarm but never stop it
+                sepX[c] = Math.max(-MAX_PUSH, Math.min(MAX_PUSH, (left - right) * k));
+                sepY[c] = Math.max(-MAX_PUSH, Math.min(MAX_PUSH, (down - up) * k));
+            }
+        }
+    }
+
+    private void push(int d, int c) {
+        if (heapSize == heap.length) heap = Arrays.copyOf(heap, heapSize * 2);
+        long v = (long) d << 32 | c;
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >> 1;
+            if (heap[parent] <= v) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = v;
+    }
+
+    private long pop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= last) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (heapSize > 0) heap[i] = last;
+        return top;
+    }
+}
@@ -0,0 +1,76 @@
+package Shooter_game.o;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer of {@link RenderFrame}s between one simulation thread and one render thread.
+ * The simulation fills the back frame and {@link #publish}es it; the renderer {@link #acquire}s the
+ * newest published one and draws it for as long as it likes. Both swaps are a single
+ * {@code getAndSet} on the shared middle slot, so neither side ever waits, and since each frame is
+ * owned by exactly one side at a time, nothing is drawn while it is being written.
+ * <p>
+ * A frame the renderer never took still holds its events; the next frame written into it keeps them,
+ * so every shot and kill is shown once, if sometimes a frame late. As a {@link SimListener} this
+ * records the simulation's events into the back frame. Works just as well from a single thread,
+ * publishing and acquiring in turn.
+ */
+public class FrameHandoff implements SimListener {
+    private static final int INDEX = 3;
+    private static final int FRESH = 4; // set while the middle frame has not been taken
+
+    private final RenderFrame[] frames = new RenderFrame[3];
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0; // simulation side only
+    private int front = 2; // render side only
+    private long published, skipped;
+
+    public FrameHandoff(int enemies, int bullets) {
+        for (int i = 0; i < frames.length; i++) frames[i] = new RenderFrame(enemies, bullets);
+    }
+
+    /** Simulation side: the frame to capture into next. */
+    public RenderFrame getBack() {
+        return frames[back];
+    }
+
+    /** Simulation side: makes the back frame the newest and takes over whichever frame was in the middle. */
+    public void publish() {
+        int old = middle.getAndSet(back | FRESH);
+        back = old & INDEX;
+        published++;
+        if ((old & FRESH) != 0) skipped++;
+        else frames[back].clearEvents();
+    }
+
+    /** Render side: swaps in the newest published frame, if there is one since the last call. */
+    public boolean acquire() {
+        if ((middle.get() & FRESH) == 0) return false;
+        front = middle.getAndSet(front) & INDEX;
+        return true;
+    }
+
+    /** Render side: the frame taken by the last successful {@link #acquire}. */
+    public RenderFrame getFront() {
+        return frames[front];
+    }
+
+    /** Frames published so far; read it from the simulation side. */
+    public long getPublished() {
+        return published;
+    }
+
+    /** Published frames replaced before the renderer took them; read it from the simulation side. */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    @Override
+    public void onShot(float x, float y, float angleDeg) {
+        frames[back].addEvent(RenderFrame.SHOT, x, y, angleDeg);
+    }
+
+    @Override
+    public void onKill(float x, float y, float radius) {
+        frames[back].addEvent(RenderFrame.KILL, x, y, radius);
+    }
+}
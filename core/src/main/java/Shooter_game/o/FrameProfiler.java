@@ -0,0 +1,154 @@
+package Shooter_game.o;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * nanoTime spans around the phases of a frame, kept in a rolling window of the last
+ * {@link #WINDOW} frames. A phase can run several times per frame (one per fixed step) and its spans
+ * add up. Nothing here allocates after construction, including the optional CSV stream.
+ */
+public class FrameProfiler {
+    public static final int TIMERS = 0;
+    public static final int PLAYER = 1;
+    public static final int FIRE = 2;
+    public static final int BULLETS = 3;
+    public static final int MOVE = 4;
+    public static final int COLLIDE = 5;
+    public static final int UPDATE = 6;
+    public static final int DRAW_SPRITES = 7;
+    public static final int DRAW_HUD = 8;
+    public static final int DRAW_END_SCREEN = 9;
+    public static final int FRAME = 10;
+    public static final int PHASES = 11;
+
+    public static final int WINDOW = 240;
+
+    private static final String[] NAMES = {
+            "timers", "player", "fire", "bullets", "move", "collide", "update", "sprites", "hud", "endScreen", "frame"
+    };
+
+    private final long[] startedAt = new long[PHASES];
+    private final long[] current = new long[PHASES];
+    private final long[][] history = new long[PHASES][WINDOW];
+    private final int[] enemyHistory = new int[WINDOW];
+    private final int[] bulletHistory = new int[WINDOW];
+    private int cursor, filled;
+    private long frameId;
+
+    private final long[] min = new long[PHASES];
+    private final long[] avg = new long[PHASES];
+    private final long[] p99 = new long[PHASES];
+    private final long[] sortScratch = new long[WINDOW];
+
+    private OutputStream csv;
+    private final StringBuilder line = new StringBuilder(256);
+    private final byte[] lineBytes = new byte[512];
+
+    public static String name(int phase) {
+        return NAMES[phase];
+    }
+
+    public void begin(int phase) {
+        startedAt[phase] = System.nanoTime();
+    }
+
+    public void end(int phase) {
+        current[phase] += System.nanoTime() - startedAt[phase];
+    }
+
+    /** Closes the frame: moves this frame's spans into the window and, if enabled, writes a CSV row. */
+    public void endFrame(int enemies, int bullets) {
+        for (int p = 0; p < PHASES; p++) {
+            history[p][cursor] = current[p];
+        }
+        enemyHistory[cursor] = enemies;
+        bulletHistory[cursor] = bullets;
+        if (csv != null) writeRow(enemies, bullets);
+        Arrays.fill(current, 0);
+        cursor = (cursor + 1) % WINDOW;
+        if (filled < WINDOW) filled++;
+        frameId++;
+    }
+
+    /** Recomputes min/avg/p99 over the window; cheap enough for a few times a second. */
+    public void computeStats() {
+        int n = filled;
+        for (int p = 0; p < PHASES; p++) {
+            if (n == 0) {
+                min[p] = avg[p] = p99[p] = 0;
+                continue;
+            }
+            System.arraycopy(history[p], 0, sortScratch, 0, n);
+            Arrays.sort(sortScratch, 0, n);
+            long sum = 0;
+            for (int i = 0; i < n; i++) sum += sortScratch[i];
+            min[p] = sortScratch[0];
+            avg[p] = sum / n;
+            p99[p] = sortScratch[Math.max(0, (int) Math.ceil(n * 0.99) - 1)];
+        }
+    }
+
+    public long minNanos(int phase) {
+        return min[phase];
+    }
+
+    public long avgNanos(int phase) {
+        return avg[phase];
+    }
+
+    public long p99Nanos(int phase) {
+        return p99[phase];
+    }
+
+    /** Entity counts recorded with the most recent frame. */
+    public int lastEnemyCount() {
+        return enemyHistory[(cursor + WINDOW - 1) % WINDOW];
+    }
+
+    public int lastBulletCount() {
+        return bulletHistory[(cursor + WINDOW - 1) % WINDOW];
+    }
+
+    /** Streams one row per frame (nanoseconds per phase plus entity counts) to the given file. */
+    public void startCsv(String path) throws IOException {
+        stopCsv();
+        csv = new BufferedOutputStream(new FileOutputStream(path), 1 << 16);
+        line.setLength(0);
+        line.append("frame");
+        for (String name : NAMES) line.append(',').append(name).append("_ns");
+        line.append(",enemies,bullets\n");
+        flushLine();
+    }
+
+    public void stopCsv() {
+        if (csv == null) return;
+        try {
+            csv.close();
+        } catch (IOException ignored) {
+        }
+        csv = null;
+    }
+
+    private void writeRow(int enemies, int bullets) {
+        line.setLength(0);
+        line.append(frameId);
+        for (int p = 0; p < PHASES; p++) line.append(',').append(current[p]);
+        line.append(',').append(enemies).append(',').append(bullets).append('\n');
+        flushLine();
+    }
+
+    // the row is plain ASCII, so copy chars to bytes by hand rather than through an encoder that allocates
+    private void flushLine() {
+        int n = Math.min(line.length(), lineBytes.length);
+        for (int i = 0; i < n; i++) lineBytes[i] = (byte) line.charAt(i);
+        try {
+            csv.write(lineBytes, 0, n);
+        } catch (IOException e) {
+            stopCsv();
+        }
+    }
+}
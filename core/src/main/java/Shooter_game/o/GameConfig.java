@@ -0,0 +1,155 @@
+package Shooter_game.o;
+
+/** Launch options for {@link Shooter}. Defaults match the normal desktop game. */
+public class GameConfig {
+    /** Simulation ticks per second, independent of the display refresh rate. */
+    public int simHz = 60;
+    /** Most fixed steps run in a single frame; any backlog past that is dropped. */
+    public int maxCatchUpSteps = 5;
+    /** Worker threads for the enemy update; 0 keeps it on the game thread. */
+    public int parallelThreads = 0;
+    /** Swarm size below which the parallel update still runs serially. */
+    public int parallelThreshold = ParallelSwarmMover.DEFAULT_THRESHOLD;
+    /** Bullets pooled up front, so early shots do not allocate. */
+    public int bulletPoolPrealloc = Simulation.BULLET_POOL_PREALLOC;
+    /** Most spare bullets the pool keeps between bursts. */
+    public int bulletPoolMax = Simulation.BULLET_POOL_MAX;
+    /** Run the simulation on a thread of its own, the render thread drawing the newest finished tick (see {@link FrameHandoff}). */
+    public boolean pipelined = false;
+    /** Steer the swarm by a {@link FlowField} (around obstacles, away from crowds) instead of homing straight in. */
+    public boolean flowField = false;
+    /** Move far and off-screen enemies less often (see {@link SwarmLod}); off unless {@code --lod=true}. */
+    public boolean lod = false;
+    /** Ticks kept for rewinding (F5 goes back to the oldest, see {@link SnapshotRing}); 0 turns it off. Not while recording. */
+    public int rollbackTicks = 0;
+    /** Show the frame profiler overlay from the start (F3 toggles it either way). */
+    public boolean profilerOverlay = false;
+    /** When set, every frame's phase timings are streamed to this CSV file. */
+    public String profilerCsv = null;
+    /** Enemies to kill for a win; 0 means no limit. */
+    public int totalEnemies = Simulation.TOTAL_ENEMIES;
+    /** When set, a {@link BotInput} ({@code kite}, {@code spin} or {@code random}) plays instead of the keyboard and mouse. */
+    public String bot = null;
+    /** When above 0, the launcher lets the bot play headless for this many minutes (see {@link Soak}) instead of opening a window. */
+    public int soakMinutes = 0;
+    /** Seconds between {@link SoakMonitor} samples. */
+    public int soakSampleSeconds = (int) (SoakMonitor.DEFAULT_SAMPLE_MILLIS / 1000);
+    /** When set, a soak summary is written here at the end: after a headless soak, or when the window closes. */
+    public String soakReport = null;
+    /** Spawn RNG seed; null picks a fresh one every run. */
+    public Long seed = null;
+    /** When set, the first game's per-tick input is recorded to this file (see {@link InputRecorder}). */
+    public String recordPath = null;
+    /** When set, the launcher plays this recording back headless instead of opening a window. */
+    public String replayPath = null;
+    /** When set, run outcomes and gameplay samples are logged to this directory (see {@link Telemetry}). */
+    public String telemetryDir = null;
+    /** How often the telemetry log is fsynced: {@link Telemetry#FSYNC_NEVER}, {@code _BATCH} or {@code _INTERVAL}. */
+    public String telemetryFsync = Telemetry.FSYNC_INTERVAL;
+    /** When set, the launcher prints the best runs recorded in this telemetry directory and exits. */
+    public String scoresDir = null;
+    /** {@code System.nanoTime()} when the launcher started; startup times are logged from here (0 = from create). */
+    public long launchNanos = 0;
+
+    /** Parses {@code --name=value} options, e.g. {@code --sim-hz=30}. */
+    public static GameConfig fromArgs(String[] args) {
+        GameConfig config = new GameConfig();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Expected --name=value: " + arg);
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "sim-hz":
+                    config.simHz = positiveInt(name, value);
+                    break;
+                case "max-catch-up":
+                    config.maxCatchUpSteps = positiveInt(name, value);
+                    break;
+                case "parallel-threads":
+                    config.parallelThreads = nonNegativeInt(name, value);
+                    break;
+                case "parallel-threshold":
+                    config.parallelThreshold = nonNegativeInt(name, value);
+                    break;
+                case "bullet-pool":
+                    config.bulletPoolPrealloc = nonNegativeInt(name, value);
+                    break;
+                case "bullet-pool-max":
+                    config.bulletPoolMax = positiveInt(name, value);
+                    break;
+                case "pipelined":
+                    config.pipelined = Boolean.parseBoolean(value);
+                    break;
+                case "flow-field":
+                    config.flowField = Boolean.parseBoolean(value);
+                    break;
+                case "lod":
+                    config.lod = Boolean.parseBoolean(value);
+                    break;
+                case "rollback-ticks":
+                    config.rollbackTicks = nonNegativeInt(name, value);
+                    break;
+                case "profiler":
+                    config.profilerOverlay = Boolean.parseBoolean(value);
+                    break;
+                case "profiler-csv":
+                    config.profilerCsv = value;
+                    break;
+                case "total-enemies":
+                    config.totalEnemies = nonNegativeInt(name, value);
+                    break;
+                case "bot":
+                    if (!BotInput.isStyle(value))
+                        throw new IllegalArgumentException("--" + name + " must be kite, spin or random: " + value);
+                    config.bot = value;
+                    break;
+                case "soak-minutes":
+                    config.soakMinutes = nonNegativeInt(name, value);
+                    break;
+                case "soak-sample-seconds":
+                    config.soakSampleSeconds = positiveInt(name, value);
+                    break;
+                case "soak-report":
+                    config.soakReport = value;
+                    break;
+                case "seed":
+                    config.seed = Long.parseLong(value);
+                    break;
+                case "record":
+                    config.recordPath = value;
+                    break;
+                case "replay":
+                    config.replayPath = value;
+                    break;
+                case "telemetry":
+                    config.telemetryDir = value;
+                    break;
+                case "telemetry-fsync":
+                    if (!value.equals(Telemetry.FSYNC_NEVER) && !value.equals(Telemetry.FSYNC_BATCH)
+                            && !value.equals(Telemetry.FSYNC_INTERVAL))
+                        throw new IllegalArgumentException("--" + name + " must be never, batch or interval: " + value);
+                    config.telemetryFsync = value;
+                    break;
+                case "scores":
+                    config.scoresDir = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        return config;
+    }
+
+    private static int positiveInt(String name, String value) {
+        int v = Integer.parseInt(value);
+        if (v <= 0) throw new IllegalArgumentException("--" + name + " must be > 0: " + value);
+        return v;
+    }
+
+    private static int nonNegativeInt(String name, String value) {
+        int v = Integer.parseInt(value);
+        if (v < 0) throw new IllegalArgumentException("--" + name + " must be >= 0: " + value);
+        return v;
+    }
+}
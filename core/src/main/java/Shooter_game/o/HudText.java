@@ -0,0 +1,80 @@
+package Shooter_game.o;
+
+/**
+ * HUD and end-screen text held in reusable builders. A line is only rewritten when the value behind
+ * it changes, and {@link #update} says which ones did, so the caller re-lays-out just those.
+ */
+public class HudText {
+    public static final int TIME = 0;
+    public static final int KILLS = 1;
+    public static final int SCORE = 2;
+    public static final int LINES = 3;
+    /** Bit in {@link #update}'s result for {@link #endKillsLine()}. */
+    public static final int END_KILLS = 3;
+
+    private final StringBuilder[] lines = new StringBuilder[LINES];
+    private final StringBuilder endKills = new StringBuilder(32);
+    private int time, kills, total, score;
+
+    public HudText() {
+        for (int i = 0; i < LINES; i++) lines[i] = new StringBuilder(32);
+        invalidate();
+    }
+
+    /** Rebuilds the lines whose values moved; returns a bit mask of {@code 1 << line} for each. */
+    public int update(Simulation sim) {
+        return update(sim.getElapsedTime(), sim.getKills(), sim.getTotalEnemies(), sim.getScore());
+    }
+
+    /** As {@link #update(Simulation)}, from the numbers a {@link RenderFrame} carries. */
+    public int update(RenderFrame frame) {
+        return update(frame.elapsedTime, frame.kills, frame.totalEnemies, frame.score);
+    }
+
+    private int update(float elapsedTime, int kills, int total, int score) {
+        int changed = 0;
+        int t = (int) elapsedTime;
+        if (t != time) {
+            time = t;
+            start(TIME).append("Time: ").append(t).append('s');
+            changed |= 1 << TIME;
+        }
+        if (kills != this.kills || total != this.total) {
+            this.kills = kills;
+            this.total = total;
+            start(KILLS).append("Killed: ").append(kills);
+            endKills.setLength(0);
+            endKills.append("Enemies killed: ").append(kills);
+            if (total != Integer.MAX_VALUE) {
+                lines[KILLS].append('/').append(total);
+                endKills.append('/').append(total);
+            }
+            changed |= 1 << KILLS | 1 << END_KILLS;
+        }
+        if (score != this.score) {
+            this.score = score;
+            start(SCORE).append("Score: ").append(score);
+            changed |= 1 << SCORE;
+        }
+        return changed;
+    }
+
+    /** Forces every line to be rebuilt on the next {@link #update}. */
+    public void invalidate() {
+        time = kills = total = score = -1;
+    }
+
+    public CharSequence line(int line) {
+        return lines[line];
+    }
+
+    public CharSequence endKillsLine() {
+        return endKills;
+    }
+
+    private StringBuilder start(int line) {
+        StringBuilder sb = lines[line];
+        sb.setLength(0);
+        return sb;
+    }
+}
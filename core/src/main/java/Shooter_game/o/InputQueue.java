@@ -0,0 +1,122 @@
+package Shooter_game.o;
+
+/**
+ * Carries input from the render thread to a simulation running on its own thread. The render thread
+ * offers one sample of the keyboard and mouse per frame, plus commands such as a restart; the
+ * simulation thread {@link #drain}s them before its ticks and then reads the newest sample as its
+ * {@link SimInput}. A trigger pressed in any drained sample counts, so a click shorter than a tick
+ * still fires.
+ * <p>
+ * Records sit on a {@link RecordRing}, like {@link TelemetryQueue}'s: offering never blocks or
+ * allocates. It only fills up if the simulation thread stops draining, and then new
+ * records are dropped and counted.
+ */
+public class InputQueue implements SimInput {
+    public static final int SAMPLE = 0;
+    public static final int RESET = 1;
+    public static final int REWIND = 2;
+    private static final int STRIDE = 6; // type, moveX, moveY, aimX bits, aimY bits, firing
+
+    private final RecordRing ring;
+
+    // the newest sample, simulation side
+    private int moveX, moveY;
+    private float aimX, aimY;
+    private boolean firing;
+
+    /** @param capacity records, rounded up to a power of two */
+    public InputQueue(int capacity) {
+        ring = new RecordRing(capacity, STRIDE);
+    }
+
+    /** Render side: this frame's keyboard and mouse. */
+    public boolean offer(int moveX, int moveY, float aimX, float aimY, boolean firing) {
+        return offer(SAMPLE, moveX, moveY, Float.floatToRawIntBits(aimX), Float.floatToRawIntBits(aimY), firing ? 1 : 0);
+    }
+
+    /** Render side: a {@link #RESET} or {@link #REWIND} for the simulation thread to carry out. */
+    public boolean offerCommand(int command) {
+        return offer(command, 0, 0, 0, 0, 0);
+    }
+
+    private boolean offer(int type, int a, int b, int c, int d, int e) {
+        int o = ring.claim();
+        if (o < 0) return false;
+        long[] s = ring.getSlots();
+        s[o] = type;
+        s[o + 1] = a;
+        s[o + 2] = b;
+        s[o + 3] = c;
+        s[o + 4] = d;
+        s[o + 5] = e;
+        ring.commit();
+        return true;
+    }
+
+    /** Records dropped because the ring was full; read it from the render thread. */
+    public long getDropped() {
+        return ring.getDropped();
+    }
+
+    /**
+     * Simulation side: takes in everything offered so far, in order. Samples update what this input
+     * reports; commands go to {@code commands} as they come. Returns how many records there were.
+     */
+    public int drain(Commands commands) {
+        int n = ring.available(Integer.MAX_VALUE);
+        if (n == 0) return 0;
+        long[] s = ring.getSlots();
+        boolean fired = false;
+        for (int k = 0; k < n; k++) {
+            int o = ring.offset(k);
+            int type = (int) s[o];
+            if (type != SAMPLE) {
+                commands.run(type);
+                continue;
+            }
+            moveX = (int) s[o + 1];
+            moveY = (int) s[o + 2];
+            aimX = Float.intBitsToFloat((int) s[o + 3]);
+            aimY = Float.intBitsToFloat((int) s[o + 4]);
+            firing = s[o + 5] != 0;
+            fired |= firing;
+        }
+        firing |= fired;
+        ring.release(n);
+        return n;
+    }
+
+    @Override
+    public void poll() {
+        // samples arrive through drain, between ticks
+    }
+
+    @Override
+    public int moveX() {
+        return moveX;
+    }
+
+    @Override
+    public int moveY() {
+        return moveY;
+    }
+
+    @Override
+    public float aimX() {
+        return aimX;
+    }
+
+    @Override
+    public float aimY() {
+        return aimY;
+    }
+
+    @Override
+    public boolean firing() {
+        return firing;
+    }
+
+    public interface Commands {
+        void run(int command);
+    }
+}
@@ -0,0 +1,137 @@
+package Shooter_game.o;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Passes another {@link SimInput} through and writes what the simulation saw on every tick to a
+ * compact binary log that {@link InputReplay} can play back.
+ * <p>
+ * Layout (big-endian): a header with the magic, version, seed, tick rate, both radii, the enemy
+ * total, the {@link SwarmLod} radii (both 0 without LOD) and whether a {@link FlowField} steers; then one record per played tick, a flags byte (move x + 1 in bits 0-1, move y + 1 in
+ * bits 2-3, {@link #FIRE}, {@link #AIM}) followed by the aim point as two floats only when it moved;
+ * then {@link #END} and the final kills, score and game state. A still mouse costs one byte a tick.
+ */
+public class InputRecorder implements SimInput {
+    static final int MAGIC = 0x53485250; // "SHRP"
+    static final int VERSION = 6; // 2: timers moved onto the TimerWheel; 3: flow-field steering; 4: swarm LOD; 5: batched collision resolve; 6: flow field optional
+    static final int FIRE = 1 << 4;
+    static final int AIM = 1 << 5;
+    static final int END = 0xFF;
+
+    private final SimInput source;
+    private DataOutputStream out;
+    private IOException error;
+
+    private int moveX, moveY;
+    private float aimX = Float.NaN, aimY = Float.NaN;
+    private boolean firing;
+
+    public InputRecorder(SimInput source) {
+        this.source = source;
+    }
+
+    /** Opens the log and writes the header; call after the simulation is set up, before its first tick. */
+    public void start(String path, Simulation sim, int simHz) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path), 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(sim.getSeed());
+        out.writeInt(simHz);
+        out.writeFloat(sim.getPlayerRadius());
+        out.writeFloat(sim.getEnemyRadius());
+        out.writeInt(sim.getTotalEnemies());
+        SwarmLod lod = sim.getLod();
+        out.writeFloat(lod != null ? lod.getNearRadius() : 0f);
+        out.writeFloat(lod != null ? lod.getFarRadius() : 0f);
+        out.writeBoolean(sim.getFlowField() != null);
+    }
+
+    @Override
+    public void poll() {
+        source.poll();
+        int mx = source.moveX();
+        int my = source.moveY();
+        float ax = source.aimX();
+        float ay = source.aimY();
+        boolean aimMoved = Float.floatToIntBits(ax) != Float.floatToIntBits(aimX)
+                || Float.floatToIntBits(ay) != Float.floatToIntBits(aimY);
+        moveX = mx;
+        moveY = my;
+        aimX = ax;
+        aimY = ay;
+        firing = source.firing();
+        if (out == null) return;
+
+        int flags = (mx + 1) | (my + 1) << 2 | (firing ? FIRE : 0) | (aimMoved ? AIM : 0);
+        try {
+            out.writeByte(flags);
+            if (aimMoved) {
+                out.writeFloat(ax);
+                out.writeFloat(ay);
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /** Writes the outcome and closes the log; later ticks still pass input through, unrecorded. */
+    public void finish(Simulation sim) {
+        if (out == null) return;
+        try {
+            out.writeByte(END);
+            out.writeInt(sim.getKills());
+            out.writeInt(sim.getScore());
+            out.writeByte(InputReplay.stateCode(sim.getGameState()));
+            out.close();
+        } catch (IOException e) {
+            fail(e);
+        }
+        out = null;
+    }
+
+    public boolean isRecording() {
+        return out != null;
+    }
+
+    /** The write failure that stopped the recording, if any. */
+    public IOException getError() {
+        return error;
+    }
+
+    private void fail(IOException e) {
+        error = e;
+        try {
+            out.close();
+        } catch (IOException ignored) {
+        }
+        out = null;
+    }
+
+    @Override
+    public int moveX() {
+        return moveX;
+    }
+
+    @Override
+    public int moveY() {
+        return moveY;
+    }
+
+    @Override
+    public float aimX() {
+        return aimX;
+    }
+
+    @Override
+    public float aimY() {
+        return aimY;
+    }
+
+    @Override
+    public boolean firing() {
+        return firing;
+    }
+}
@@ -0,0 +1,149 @@
+package Shooter_game.o;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Plays back a log written by {@link InputRecorder}, one record per {@link #poll()}. The whole log
+ * is read into memory up front so a timed replay measures the simulation, not the disk.
+ */
+public class InputReplay implements SimInput {
+    public final long seed;
+    public final int simHz;
+    public final float playerRadius;
+    public final float enemyRadius;
+    public final int totalEnemies;
+    /** The recorded game's {@link SwarmLod} radii, both 0 if it ran without LOD. */
+    public final float lodNearRadius, lodFarRadius;
+    /** Whether the recorded game steered by a {@link FlowField}. */
+    public final boolean flowField;
+
+    private final ByteBuffer log;
+    private int ticks;
+    private boolean ended;
+    private int endKills, endScore;
+    private String endState;
+
+    private int moveX, moveY;
+    private float aimX, aimY;
+    private boolean firing;
+
+    public InputReplay(ByteBuffer log) throws IOException {
+        this.log = log;
+        if (log.remaining() < 39 || log.getInt() != InputRecorder.MAGIC) throw new IOException("Not an input log");
+        int version = log.getShort();
+        if (version != InputRecorder.VERSION) throw new IOException("Unsupported input log version " + version);
+        seed = log.getLong();
+        simHz = log.getInt();
+        playerRadius = log.getFloat();
+        enemyRadius = log.getFloat();
+        totalEnemies = log.getInt();
+        lodNearRadius = log.getFloat();
+        lodFarRadius = log.getFloat();
+        flowField = log.get() != 0;
+        checkEnd();
+    }
+
+    public static InputReplay load(String path) throws IOException {
+        return new InputReplay(ByteBuffer.wrap(Files.readAllBytes(Paths.get(path))));
+    }
+
+    /** A simulation set up the way the recorded one was, driven by this log. */
+    public Simulation newSimulation() {
+        Simulation sim = new Simulation(this, playerRadius, enemyRadius);
+        sim.setSeed(seed);
+        sim.setTotalEnemies(totalEnemies);
+        if (flowField) sim.setFlowField(FlowField.forWorld());
+        if (lodFarRadius > 0f) sim.setLod(new SwarmLod(lodNearRadius, lodFarRadius));
+        return sim;
+    }
+
+    /** True while there are recorded ticks left. */
+    public boolean hasNext() {
+        return log.hasRemaining() && !ended;
+    }
+
+    @Override
+    public void poll() {
+        if (!hasNext()) throw new IllegalStateException("Input log ran out after " + ticks + " ticks");
+        int flags = log.get() & 0xFF;
+        moveX = (flags & 3) - 1;
+        moveY = (flags >> 2 & 3) - 1;
+        firing = (flags & InputRecorder.FIRE) != 0;
+        if ((flags & InputRecorder.AIM) != 0) {
+            aimX = log.getFloat();
+            aimY = log.getFloat();
+        }
+        ticks++;
+        checkEnd();
+    }
+
+    private void checkEnd() {
+        if (!log.hasRemaining() || (log.get(log.position()) & 0xFF) != InputRecorder.END) return;
+        log.get();
+        endKills = log.getInt();
+        endScore = log.getInt();
+        endState = stateName(log.get());
+        ended = true;
+    }
+
+    public int getTicks() {
+        return ticks;
+    }
+
+    /** False for a log cut short (e.g. the game crashed); the recorded outcome is then unknown. */
+    public boolean hasOutcome() {
+        return ended;
+    }
+
+    public int getEndKills() {
+        return endKills;
+    }
+
+    public int getEndScore() {
+        return endScore;
+    }
+
+    public String getEndState() {
+        return endState;
+    }
+
+    static int stateCode(String state) {
+        if (state.equals(Simulation.WIN)) return 1;
+        if (state.equals(Simulation.LOSE)) return 2;
+        return 0;
+    }
+
+    static String stateName(int code) {
+        if (code == 1) return Simulation.WIN;
+        if (code == 2) return Simulation.LOSE;
+        return Simulation.PLAYING;
+    }
+
+    @Override
+    public int moveX() {
+        return moveX;
+    }
+
+    @Override
+    public int moveY() {
+        return moveY;
+    }
+
+    @Override
+    public float aimX() {
+        return aimX;
+    }
+
+    @Override
+    public float aimY() {
+        return aimY;
+    }
+
+    @Override
+    public boolean firing() {
+        return firing;
+    }
+}
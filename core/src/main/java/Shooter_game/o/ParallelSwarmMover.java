@@ -0,0 +1,96 @@
+package Shooter_game.o;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits {@link EnemySwarm#move} into chunks on a {@link ForkJoinPool}. Below {@code threshold}
+ * enemies it just moves them on the calling thread. Every enemy runs the exact same float math as
+ * in serial mode and only writes its own slot, so results are bit-identical. The tasks are created
+ * once and reinitialized every tick, so this does not allocate per tick.
+ */
+public class ParallelSwarmMover {
+    public static final int DEFAULT_THRESHOLD = 8192;
+    private static final int MIN_CHUNK = 2048;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private final Chunk[] chunks;
+    private final Root root = new Root();
+
+    private EnemySwarm swarm;
+    private float delta, px, py;
+    private int chunkCount;
+
+    public ParallelSwarmMover(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+        // a few chunks per worker so one slow worker does not hold up the whole tick
+        chunks = new Chunk[pool.getParallelism() * 4];
+        for (int i = 0; i < chunks.length; i++) chunks[i] = new Chunk();
+    }
+
+    /** @param threads worker count; the pool's threads are daemons so they never keep the JVM alive */
+    public static ParallelSwarmMover create(int threads, int threshold) {
+        ForkJoinPool pool = new ForkJoinPool(threads, p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setDaemon(true);
+            t.setName("swarm-worker-" + t.getPoolIndex());
+            return t;
+        }, null, false);
+        return new ParallelSwarmMover(pool, threshold);
+    }
+
+    public void move(EnemySwarm swarm, float delta, float px, float py) {
+        int n = swarm.size;
+        if (n < threshold || chunks.length < 2) {
+            swarm.move(delta, px, py);
+            return;
+        }
+        this.swarm = swarm;
+        this.delta = delta;
+        this.px = px;
+        this.py = py;
+        chunkCount = Math.max(1, Math.min(chunks.length, n / MIN_CHUNK));
+        int per = (n + chunkCount - 1) / chunkCount;
+        for (int c = 0; c < chunkCount; c++) {
+            chunks[c].reinitialize();
+            chunks[c].from = Math.min(n, c * per);
+            chunks[c].to = Math.min(n, (c + 1) * per);
+        }
+        root.reinitialize();
+        pool.invoke(root);
+        this.swarm = null;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private final class Root extends RecursiveAction {
+        @Override
+        protected void compute() {
+            for (int c = 1; c < chunkCount; c++) chunks[c].fork();
+            chunks[0].invoke();
+            for (int c = 1; c < chunkCount; c++) chunks[c].join();
+        }
+    }
+
+    private final class Chunk extends RecursiveAction {
+        int from, to;
+
+        @Override
+        protected void compute() {
+            swarm.move(delta, px, py, from, to);
+        }
+    }
+}
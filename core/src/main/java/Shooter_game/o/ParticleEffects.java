@@ -0,0 +1,66 @@
+package Shooter_game.o;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/** The game's effects on a {@link ParticleSystem}: muzzle flashes and explosions from the simulation's events, plus bullet trails. */
+public class ParticleEffects implements SimListener {
+    private static final int FLASH = ParticleSystem.rgb(0xFFF2A0);
+    private static final int SPARK = ParticleSystem.rgb(0xFFB030);
+    private static final int EMBER = ParticleSystem.rgb(0xD04020);
+    private static final int TRAIL = ParticleSystem.rgb(0xFFE060);
+    private static final float MUZZLE_OFFSET = 24f;
+    /** Seconds between a bullet's trail dots, whatever the frame rate. */
+    public static final float TRAIL_INTERVAL = 1f / 60f;
+    private static final int MAX_TRAIL_DOTS = 4; // per frame, so a hitch does not smear every bullet
+
+    private final ParticleSystem particles;
+    private float trailClock;
+
+    public ParticleEffects(ParticleSystem particles) {
+        this.particles = particles;
+    }
+
+    @Override
+    public void onShot(float x, float y, float angleDeg) {
+        float mx = x + MathUtils.cosDeg(angleDeg) * MUZZLE_OFFSET;
+        float my = y + MathUtils.sinDeg(angleDeg) * MUZZLE_OFFSET;
+        particles.spray(mx, my, 6, angleDeg, 20f, 150f, 400f, 0.08f, 8f, FLASH);
+    }
+
+    @Override
+    public void onKill(float x, float y, float radius) {
+        particles.spray(x, y, 20, 0f, 180f, 60f, 260f, 0.6f, radius * 0.4f, SPARK);
+        particles.spray(x, y, 8, 0f, 180f, 20f, 80f, 0.9f, radius * 0.6f, EMBER);
+    }
+
+    /**
+     * Trails for a drawn frame of {@code delta} seconds: one dot per bullet for every
+     * {@link #TRAIL_INTERVAL} that passed, so faster displays do not get denser trails. {@code bullets}
+     * is {@link RenderFrame#bullets}, drawn {@code alpha} of the way through a {@code stepSeconds} move;
+     * when a frame owes several dots the earlier ones go back along that move.
+     */
+    public void trails(float[] bullets, int count, float alpha, float stepSeconds, float delta) {
+        trailClock += delta;
+        int dots = (int) (trailClock / TRAIL_INTERVAL);
+        if (dots == 0) return;
+        trailClock -= dots * TRAIL_INTERVAL;
+        dots = Math.min(dots, MAX_TRAIL_DOTS);
+        float back = TRAIL_INTERVAL / stepSeconds;
+        for (int o = 0; o < count * 4; o += 4) {
+            float px = bullets[o], py = bullets[o + 1], dx = bullets[o + 2] - px, dy = bullets[o + 3] - py;
+            for (int j = 0; j < dots; j++) {
+                float t = alpha - j * back;
+                trail(px + dx * t, py + dy * t);
+            }
+        }
+    }
+
+    /** One fading dot where the bullet is; once per {@link #TRAIL_INTERVAL}, as {@link #trails} paces them. */
+    public void trail(Bullet bullet) {
+        trail(bullet.x, bullet.y);
+    }
+
+    public void trail(float x, float y) {
+        particles.emit(x, y, 0f, 0f, 0.15f, 6f, TRAIL);
+    }
+}
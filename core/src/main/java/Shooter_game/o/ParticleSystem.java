@@ -0,0 +1,252 @@
+package Shooter_game.o;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Short-lived visual particles in a fixed ring of primitive arrays. Emitting takes the next slot and
+ * overwrites whatever was there, so when the ring is full the oldest particles go first and nothing
+ * ever grows or allocates. Each particle moves in a straight line with drag, shrinks and fades out.
+ * <p>
+ * Only the window from the oldest live particle to the newest is walked: the update drops dead
+ * particles off its old end, so a ring that wrapped long ago costs what is alive, not its capacity.
+ * The update is one pass over the window and can be split over a {@link ForkJoinPool} like the
+ * swarm move. Drawing writes SpriteBatch vertices directly, colour per vertex, so fading particles
+ * never touch the batch colour.
+ */
+public class ParticleSystem {
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 16384;
+    private static final int MIN_CHUNK = 4096;
+    private static final int VERTEX_SIZE = 5; // x, y, packed colour, u, v
+    private static final int SPRITE_SIZE = 4 * VERTEX_SIZE;
+    private static final float DRAG = 3f; // fraction of speed lost per second
+
+    private final int capacity, mask;
+    final float[] x, y, vx, vy, life, maxLife, size;
+    final int[] rgb; // 0xBBGGRR, alpha comes from the remaining life
+    private int next, used, live;
+    private int oldest; // the window is the used slots from here, wrapping
+
+    private final RandomXS128 random = new RandomXS128();
+    private final float[] vertices = new float[1024 * SPRITE_SIZE];
+    private int filled;
+
+    private ForkJoinPool pool;
+    private int threshold = DEFAULT_PARALLEL_THRESHOLD;
+    private Chunk[] chunks;
+    private final Root root = new Root();
+    private float delta;
+    private int chunkCount;
+
+    /** @param capacity rounded up to a power of two */
+    public ParticleSystem(int capacity) {
+        this.capacity = MathUtils.nextPowerOfTwo(capacity);
+        mask = this.capacity - 1;
+        x = new float[this.capacity];
+        y = new float[this.capacity];
+        vx = new float[this.capacity];
+        vy = new float[this.capacity];
+        life = new float[this.capacity];
+        maxLife = new float[this.capacity];
+        size = new float[this.capacity];
+        rgb = new int[this.capacity];
+    }
+
+    /** Splits updates over this pool once at least {@code threshold} slots are in use; null keeps them serial. */
+    public void setPool(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+        if (pool != null) {
+            chunks = new Chunk[pool.getParallelism() * 4];
+            for (int i = 0; i < chunks.length; i++) chunks[i] = new Chunk();
+        }
+    }
+
+    public void emit(float px, float py, float velX, float velY, float lifetime, float diameter, int color) {
+        int i = next;
+        next = (next + 1) & mask;
+        if (used < capacity) used++;
+        else oldest = next;
+        x[i] = px;
+        y[i] = py;
+        vx[i] = velX;
+        vy[i] = velY;
+        life[i] = maxLife[i] = lifetime;
+        size[i] = diameter;
+        rgb[i] = color;
+    }
+
+    /**
+     * {@code count} particles from (px, py) within {@code spreadDeg} either side of {@code angleDeg}
+     * (180 for all round), with speeds and lifetimes jittered up to the given maximums.
+     */
+    public void spray(float px, float py, int count, float angleDeg, float spreadDeg,
+                      float minSpeed, float maxSpeed, float lifetime, float diameter, int color) {
+        for (int k = 0; k < count; k++) {
+            float a = (angleDeg + (random.nextFloat() * 2f - 1f) * spreadDeg) * MathUtils.degreesToRadians;
+            float speed = minSpeed + random.nextFloat() * (maxSpeed - minSpeed);
+            float t = lifetime * (0.5f + 0.5f * random.nextFloat());
+            emit(px, py, MathUtils.cos(a) * speed, MathUtils.sin(a) * speed, t, diameter, color);
+        }
+    }
+
+    public void update(float delta) {
+        int n = used;
+        if (pool == null || n < threshold || chunks.length < 2) {
+            live = update(delta, 0, n);
+            trim();
+            return;
+        }
+        this.delta = delta;
+        chunkCount = Math.max(1, Math.min(chunks.length, n / MIN_CHUNK));
+        int per = (n + chunkCount - 1) / chunkCount;
+        for (int c = 0; c < chunkCount; c++) {
+            chunks[c].reinitialize();
+            chunks[c].from = Math.min(n, c * per);
+            chunks[c].to = Math.min(n, (c + 1) * per);
+        }
+        root.reinitialize();
+        pool.invoke(root);
+        int total = 0;
+        for (int c = 0; c < chunkCount; c++) total += chunks[c].live;
+        live = total;
+        trim();
+    }
+
+    // window positions [from, to)
+    private int update(float delta, int from, int to) {
+        float[] x = this.x, y = this.y, vx = this.vx, vy = this.vy, life = this.life;
+        float damp = Math.max(0f, 1f - DRAG * delta);
+        int start = oldest, mask = this.mask, alive = 0;
+        for (int k = from; k < to; k++) {
+            int i = (start + k) & mask;
+            if (life[i] <= 0f) continue;
+            x[i] += vx[i] * delta;
+            y[i] += vy[i] * delta;
+            vx[i] *= damp;
+            vy[i] *= damp;
+            if ((life[i] -= delta) > 0f) alive++;
+        }
+        return alive;
+    }
+
+    // lifetimes differ, so this only reaches the first particle still alive; the rest go on later updates
+    private void trim() {
+        while (used > 0 && life[oldest] <= 0f) {
+            oldest = (oldest + 1) & mask;
+            used--;
+        }
+    }
+
+    /** Draws the live particles inside the view as {@code region}; the batch colour is left alone. */
+    public void draw(Batch batch, TextureRegion region, float minX, float minY, float maxX, float maxY) {
+        int slot = 0;
+        while (slot < used) {
+            slot = fill(region, slot, minX, minY, maxX, maxY);
+            if (filled > 0) batch.draw(region.getTexture(), vertices, 0, filled * SPRITE_SIZE);
+        }
+    }
+
+    /**
+     * Writes sprites for live, visible particles from {@code slot} on into the vertex buffer until it is
+     * full; returns the slot to carry on from. Slots count from the start of the window, up to
+     * {@link #getUsed}; {@link #getFilled} says how many sprites were written.
+     */
+    public int fill(TextureRegion region, int slot, float minX, float minY, float maxX, float maxY) {
+        float u = region.getU(), v = region.getV(), u2 = region.getU2(), v2 = region.getV2();
+        float[] out = vertices;
+        int max = out.length / SPRITE_SIZE, n = 0, k = slot, start = oldest;
+        for (; k < used && n < max; k++) {
+            int i = (start + k) & mask;
+            float left = life[i];
+            if (left <= 0f) continue;
+            float t = left / maxLife[i];
+            float half = size[i] * (0.3f + 0.7f * t) * 0.5f;
+            float cx = x[i], cy = y[i];
+            if (cx + half < minX || cx - half > maxX || cy + half < minY || cy - half > maxY) continue;
+            // same bit layout as Color.toFloatBits: ABGR with the lowest alpha bit dropped
+            float color = Float.intBitsToFloat(((int) (t * 255f) << 24 | rgb[i]) & 0xfeffffff);
+            float x0 = cx - half, y0 = cy - half, x1 = cx + half, y1 = cy + half;
+            int o = n * SPRITE_SIZE;
+            out[o] = x0;
+            out[o + 1] = y0;
+            out[o + 2] = color;
+            out[o + 3] = u;
+            out[o + 4] = v2;
+            out[o + 5] = x0;
+            out[o + 6] = y1;
+            out[o + 7] = color;
+            out[o + 8] = u;
+            out[o + 9] = v;
+            out[o + 10] = x1;
+            out[o + 11] = y1;
+            out[o + 12] = color;
+            out[o + 13] = u2;
+            out[o + 14] = v;
+            out[o + 15] = x1;
+            out[o + 16] = y0;
+            out[o + 17] = color;
+            out[o + 18] = u2;
+            out[o + 19] = v2;
+            n++;
+        }
+        filled = n;
+        return k;
+    }
+
+    public int getFilled() {
+        return filled;
+    }
+
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    /** Particles still alive after the last {@link #update}. */
+    public int getLive() {
+        return live;
+    }
+
+    /** Slots in the window, from the oldest live particle to the newest; {@link #fill} walks up to here. */
+    public int getUsed() {
+        return used;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void clear() {
+        // outside the window everything is dead already
+        for (int k = 0; k < used; k++) life[(oldest + k) & mask] = 0f;
+        next = used = live = oldest = 0;
+    }
+
+    /** 0xRRGGBB, as colours are usually written, to the per-particle ABGR layout. */
+    public static int rgb(int rrggbb) {
+        return (rrggbb & 0xFF) << 16 | (rrggbb & 0xFF00) | (rrggbb >> 16 & 0xFF);
+    }
+
+    private final class Root extends RecursiveAction {
+        @Override
+        protected void compute() {
+            for (int c = 1; c < chunkCount; c++) chunks[c].fork();
+            chunks[0].invoke();
+            for (int c = 1; c < chunkCount; c++) chunks[c].join();
+        }
+    }
+
+    private final class Chunk extends RecursiveAction {
+        int from, to, live;
+
+        @Override
+        protected void compute() {
+            live = update(delta, from, to);
+        }
+    }
+}
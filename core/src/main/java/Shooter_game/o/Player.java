@@ -0,0 +1,41 @@
+package Shooter_game.o;
+
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.MathUtils;
+
+public class Player {
+    public static final float SPEED = 320f;
+
+    public float x, y, angle;
+    public float prevX, prevY, prevAngle;
+    public final Circle circle = new Circle();
+
+    public Player(float x, float y, float radius) {
+        this.x = x;
+        this.y = y;
+        circle.radius = radius;
+        circle.setPosition(x, y);
+        savePrevious();
+    }
+
+    public void savePrevious() {
+        prevX = x;
+        prevY = y;
+        prevAngle = angle;
+    }
+
+    // plain float math, same results as normalising a Vector2 and taking its angleDeg, without the garbage
+    public void update(float delta, SimInput input) {
+        float mx = input.moveX();
+        float my = input.moveY();
+        float len2 = mx * mx + my * my;
+        if (len2 > 0) {
+            float len = (float) Math.sqrt(len2);
+            float step = SPEED * delta;
+            x = MathUtils.clamp(x + mx / len * step, 0, Simulation.WIDTH);
+            y = MathUtils.clamp(y + my / len * step, 0, Simulation.HEIGHT);
+        }
+        angle = EnemySwarm.angleDeg(input.aimX() - x, input.aimY() - y);
+        circle.setPosition(x, y);
+    }
+}
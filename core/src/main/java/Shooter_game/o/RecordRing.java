@@ -0,0 +1,73 @@
+package Shooter_game.o;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free single-producer, single-consumer ring of fixed-size records, stored flat in one
+ * {@code long[]} with {@code stride} longs per record. The producer {@link #claim}s a slot, fills it
+ * and {@link #commit}s it; the consumer reads up to {@link #available} records at {@link #offset}
+ * and {@link #release}s them. Nothing blocks or allocates; when the consumer falls a whole ring
+ * behind, claims fail and are counted as drops. {@link TelemetryQueue} and {@link InputQueue} are
+ * built on it.
+ */
+public class RecordRing {
+    private final long[] slots;
+    private final int stride;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // next to read, written by the consumer
+    private final AtomicLong tail = new AtomicLong(); // next to write, written by the producer
+    private long producerTail, cachedHead; // producer-only copies, so a non-full claim reads no shared state
+    private long dropped;
+
+    /** @param capacity records, rounded up to a power of two */
+    public RecordRing(int capacity, int stride) {
+        int n = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        slots = new long[n * stride];
+        this.stride = stride;
+        mask = n - 1;
+    }
+
+    /** The backing array; a record at offset {@code o} is {@code [o, o + stride)}. */
+    public long[] getSlots() {
+        return slots;
+    }
+
+    /** Producer side: offset of the next free record, or -1, counting a drop, if the ring is full. */
+    public int claim() {
+        long t = producerTail;
+        if (t - cachedHead > mask) {
+            cachedHead = head.get();
+            if (t - cachedHead > mask) {
+                dropped++;
+                return -1;
+            }
+        }
+        return (int) (t & mask) * stride;
+    }
+
+    /** Producer side: publishes the record filled since the last {@link #claim}. */
+    public void commit() {
+        producerTail++;
+        tail.lazySet(producerTail); // publishes the slot writes before it
+    }
+
+    /** Records dropped because the ring was full; read it from the producer thread. */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /** Consumer side: how many records can be read, at most {@code max}. */
+    public int available(int max) {
+        return (int) Math.min(tail.get() - head.get(), max);
+    }
+
+    /** Consumer side: offset of the {@code k}th unread record, oldest first. */
+    public int offset(int k) {
+        return (int) ((head.get() + k) & mask) * stride;
+    }
+
+    /** Consumer side: frees the oldest {@code n} records for the producer. */
+    public void release(int n) {
+        if (n > 0) head.lazySet(head.get() + n);
+    }
+}
@@ -0,0 +1,127 @@
+package Shooter_game.o;
+
+/**
+ * Everything a frame draws, copied out of the {@link Simulation} after a tick: player, bullets and
+ * enemies at the start and end of the tick (for interpolation), the HUD numbers, and the
+ * {@link SimListener} events since the last frame the renderer took. Handed between threads by
+ * {@link FrameHandoff}; whoever holds a frame owns it, so the renderer reads it while the simulation
+ * moves on in another. Arrays only grow, so capturing a steady-state world allocates nothing.
+ */
+public class RenderFrame {
+    public static final int SHOT = 0;
+    public static final int KILL = 1;
+    /** Floats per event: type, x, y, then the shot's angle or the killed enemy's radius. */
+    public static final int EVENT_STRIDE = 4;
+    /** Events past this many are dropped; only reached when nothing takes frames for a long time. */
+    public static final int MAX_EVENTS = 4096;
+
+    public float playerX, playerY, playerAngle;
+    public float playerPrevX, playerPrevY, playerPrevAngle;
+
+    /** Bullets in {@code [0, bulletCount)}, four floats each: prevX, prevY, x, y. */
+    public float[] bullets;
+    public int bulletCount;
+
+    /** Enemies in {@code [0, enemyCount)}, laid out like {@link EnemySwarm}. */
+    public float[] enemyX, enemyY, enemyRotation;
+    public float[] enemyPrevX, enemyPrevY, enemyPrevRotation;
+    public int enemyCount;
+
+    public final float[] events = new float[MAX_EVENTS * EVENT_STRIDE];
+    public int eventCount;
+
+    public String gameState = Simulation.PLAYING;
+    public float elapsedTime;
+    public int kills, totalEnemies, score;
+    public long ticks;
+    /** {@code System.nanoTime()} at which the newest tick was due; frames interpolate from here. */
+    public long stateNanos;
+    /** Changes whenever the game restarts or rewinds, so the renderer knows to drop its own effects. */
+    public int epoch;
+
+    public RenderFrame(int enemies, int bullets) {
+        this.bullets = new float[Math.max(16, bullets) * 4];
+        ensureEnemies(enemies);
+    }
+
+    /** Copies the world out of {@code sim}. Events are left alone; they build up until the frame is taken. */
+    public void capture(Simulation sim, long stateNanos, int epoch) {
+        Player p = sim.player;
+        playerX = p.x;
+        playerY = p.y;
+        playerAngle = p.angle;
+        playerPrevX = p.prevX;
+        playerPrevY = p.prevY;
+        playerPrevAngle = p.prevAngle;
+
+        int nb = sim.bullets.size;
+        if (nb * 4 > bullets.length) bullets = new float[Integer.highestOneBit(nb * 4) << 1];
+        float[] b = bullets;
+        for (int i = 0, o = 0; i < nb; i++, o += 4) {
+            Bullet bullet = sim.bullets.get(i);
+            b[o] = bullet.prevX;
+            b[o + 1] = bullet.prevY;
+            b[o + 2] = bullet.x;
+            b[o + 3] = bullet.y;
+        }
+        bulletCount = nb;
+
+        EnemySwarm e = sim.enemies;
+        int n = e.size;
+        ensureEnemies(n);
+        System.arraycopy(e.x, 0, enemyX, 0, n);
+        System.arraycopy(e.y, 0, enemyY, 0, n);
+        System.arraycopy(e.rotation, 0, enemyRotation, 0, n);
+        System.arraycopy(e.prevX, 0, enemyPrevX, 0, n);
+        System.arraycopy(e.prevY, 0, enemyPrevY, 0, n);
+        System.arraycopy(e.prevRotation, 0, enemyPrevRotation, 0, n);
+        enemyCount = n;
+
+        gameState = sim.getGameState();
+        elapsedTime = sim.getElapsedTime();
+        kills = sim.getKills();
+        totalEnemies = sim.getTotalEnemies();
+        score = sim.getScore();
+        ticks = sim.getTicks();
+        this.stateNanos = stateNanos;
+        this.epoch = epoch;
+    }
+
+    public boolean isPlaying() {
+        return gameState.equals(Simulation.PLAYING);
+    }
+
+    public void addEvent(int type, float x, float y, float value) {
+        if (eventCount == MAX_EVENTS) return;
+        int o = eventCount * EVENT_STRIDE;
+        events[o] = type;
+        events[o + 1] = x;
+        events[o + 2] = y;
+        events[o + 3] = value;
+        eventCount++;
+    }
+
+    public void clearEvents() {
+        eventCount = 0;
+    }
+
+    /** Plays the frame's events into {@code listener}, oldest first. */
+    public void replayEvents(SimListener listener) {
+        float[] ev = events;
+        for (int k = 0, o = 0; k < eventCount; k++, o += EVENT_STRIDE) {
+            if (ev[o] == SHOT) listener.onShot(ev[o + 1], ev[o + 2], ev[o + 3]);
+            else listener.onKill(ev[o + 1], ev[o + 2], ev[o + 3]);
+        }
+    }
+
+    private void ensureEnemies(int n) {
+        if (enemyX != null && n <= enemyX.length) return;
+        int cap = Math.max(16, Integer.highestOneBit(Math.max(1, n) - 1) << 1);
+        enemyX = new float[cap];
+        enemyY = new float[cap];
+        enemyRotation = new float[cap];
+        enemyPrevX = new float[cap];
+        enemyPrevY = new float[cap];
+        enemyPrevRotation = new float[cap];
+    }
+}
@@ -0,0 +1,229 @@
+package Shooter_game.o;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import java.util.Arrays;
+
+/**
+ * Collects a frame's sprites, drops the ones outside the view and hands the rest to a {@link Sink}
+ * grouped by layer, then texture, then colour, so the colour only changes once per group instead of
+ * twice per sprite. Within a group sprites keep the order they were added in.
+ * <p>
+ * Sprites are rotated around their centre, so culling tests their bounding circle against the view
+ * rectangle. Groups are interned as they first show up and the sort is a counting sort over them, so
+ * a frame does not allocate once the arrays have grown to the scene.
+ */
+public class RenderQueue {
+    /** Where a flush goes; {@link #forBatch} for the screen, anything else for headless checks. */
+    public interface Sink {
+        void setPackedColor(float color);
+
+        void draw(TextureRegion region, float x, float y, float originX, float originY,
+                  float width, float height, float rotation);
+    }
+
+    public static Sink forBatch(Batch batch) {
+        return new Sink() {
+            @Override
+            public void setPackedColor(float color) {
+                batch.setPackedColor(color);
+            }
+
+            @Override
+            public void draw(TextureRegion region, float x, float y, float originX, float originY,
+                             float width, float height, float rotation) {
+                batch.draw(region, x, y, originX, originY, width, height, 1f, 1f, rotation);
+            }
+        };
+    }
+
+    private float minX, minY, maxX, maxY;
+
+    // one entry per distinct (layer, region, colour); rank is the group's place in draw order
+    private int groupCount;
+    private int[] groupLayer = new int[16];
+    private TextureRegion[] groupRegion = new TextureRegion[16];
+    private int[] groupTexture = new int[16];
+    private float[] groupColor = new float[16];
+    private int[] groupRank = new int[16];
+    private int[] rankStart = new int[17];
+    private Texture[] textures = new Texture[4];
+    private int textureCount;
+    private int lastGroup = -1;
+
+    private int size;
+    private int[] group;
+    private float[] x, y, width, height, rotation;
+    private int[] order;
+
+    private int submitted, culled, colorChanges;
+
+    public RenderQueue(int initialCapacity) {
+        group = new int[initialCapacity];
+        x = new float[initialCapacity];
+        y = new float[initialCapacity];
+        width = new float[initialCapacity];
+        height = new float[initialCapacity];
+        rotation = new float[initialCapacity];
+        order = new int[initialCapacity];
+    }
+
+    /** Culls against what the camera shows; call after {@code camera.update()}. */
+    public void setView(OrthographicCamera camera) {
+        float halfW = camera.viewportWidth * camera.zoom / 2f;
+        float halfH = camera.viewportHeight * camera.zoom / 2f;
+        setView(camera.position.x - halfW, camera.position.y - halfH, camera.position.x + halfW, camera.position.y + halfH);
+    }
+
+    public void setView(float minX, float minY, float maxX, float maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    /** Starts a frame: empties the queue and the per-frame counts. */
+    public void begin() {
+        size = 0;
+        submitted = culled = colorChanges = 0;
+    }
+
+    /**
+     * Queues a sprite centred on (cx, cy) and rotated about its centre, unless it is out of view.
+     * Lower layers are drawn first. Returns false if the sprite was culled.
+     */
+    public boolean add(int layer, TextureRegion region, Color color, float cx, float cy,
+                       float w, float h, float degrees) {
+        float r = 0.5f * (float) Math.sqrt(w * w + h * h);
+        if (cx + r < minX || cx - r > maxX || cy + r < minY || cy - r > maxY) {
+            culled++;
+            return false;
+        }
+        if (size == x.length) grow();
+        int i = size++;
+        group[i] = groupOf(layer, region, color.toFloatBits());
+        x[i] = cx;
+        y[i] = cy;
+        width[i] = w;
+        height[i] = h;
+        rotation[i] = degrees;
+        return true;
+    }
+
+    /** Draws everything queued since {@link #begin} in group order. */
+    public void flush(Sink sink) {
+        int n = size;
+        int[] start = rankStart;
+        Arrays.fill(start, 0, groupCount + 1, 0);
+        for (int i = 0; i < n; i++) start[groupRank[group[i]] + 1]++;
+        for (int r = 0; r < groupCount; r++) start[r + 1] += start[r];
+        for (int i = 0; i < n; i++) order[start[groupRank[group[i]]]++] = i;
+
+        int current = -1;
+        float color = 0f;
+        for (int k = 0; k < n; k++) {
+            int i = order[k];
+            int g = group[i];
+            if (g != current) {
+                current = g;
+                if (k == 0 || Float.floatToRawIntBits(groupColor[g]) != Float.floatToRawIntBits(color)) {
+                    color = groupColor[g];
+                    sink.setPackedColor(color);
+                    colorChanges++;
+                }
+            }
+            float w = width[i], h = height[i];
+            sink.draw(groupRegion[g], x[i] - w / 2f, y[i] - h / 2f, w / 2f, h / 2f, w, h, rotation[i]);
+        }
+        submitted += n;
+        size = 0;
+    }
+
+    /** Sprites drawn by the flushes since {@link #begin}. */
+    public int getSubmitted() {
+        return submitted;
+    }
+
+    /** Sprites dropped for being outside the view since {@link #begin}. */
+    public int getCulled() {
+        return culled;
+    }
+
+    /** Colour switches sent to the sink since {@link #begin}. */
+    public int getColorChanges() {
+        return colorChanges;
+    }
+
+    private int groupOf(int layer, TextureRegion region, float color) {
+        int g = lastGroup;
+        if (g >= 0 && matches(g, layer, region, color)) return g;
+        for (g = 0; g < groupCount; g++) {
+            if (matches(g, layer, region, color)) return lastGroup = g;
+        }
+        return lastGroup = addGroup(layer, region, color);
+    }
+
+    private boolean matches(int g, int layer, TextureRegion region, float color) {
+        return groupLayer[g] == layer && groupRegion[g] == region
+                && Float.floatToRawIntBits(groupColor[g]) == Float.floatToRawIntBits(color);
+    }
+
+    // rare (once per new combination), so the ranks are simply recomputed from scratch
+    private int addGroup(int layer, TextureRegion region, float color) {
+        if (groupCount == groupLayer.length) {
+            int cap = groupCount * 2;
+            groupLayer = Arrays.copyOf(groupLayer, cap);
+            groupRegion = Arrays.copyOf(groupRegion, cap);
+            groupTexture = Arrays.copyOf(groupTexture, cap);
+            groupColor = Arrays.copyOf(groupColor, cap);
+            groupRank = Arrays.copyOf(groupRank, cap);
+            rankStart = Arrays.copyOf(rankStart, cap + 1);
+        }
+        int g = groupCount++;
+        groupLayer[g] = layer;
+        groupRegion[g] = region;
+        groupTexture[g] = textureId(region.getTexture());
+        groupColor[g] = color;
+        for (int a = 0; a < groupCount; a++) {
+            int rank = 0;
+            for (int b = 0; b < groupCount; b++) {
+                if (before(b, a)) rank++;
+            }
+            groupRank[a] = rank;
+        }
+        return g;
+    }
+
+    // layer, then texture, then colour; ties (same colour, different regions) fall back to first seen
+    private boolean before(int a, int b) {
+        if (groupLayer[a] != groupLayer[b]) return groupLayer[a] < groupLayer[b];
+        if (groupTexture[a] != groupTexture[b]) return groupTexture[a] < groupTexture[b];
+        int ca = Float.floatToRawIntBits(groupColor[a]), cb = Float.floatToRawIntBits(groupColor[b]);
+        if (ca != cb) return ca < cb;
+        return a < b;
+    }
+
+    private int textureId(Texture texture) {
+        for (int t = 0; t < textureCount; t++) {
+            if (textures[t] == texture) return t;
+        }
+        if (textureCount == textures.length) textures = Arrays.copyOf(textures, textureCount * 2);
+        textures[textureCount] = texture;
+        return textureCount++;
+    }
+
+    private void grow() {
+        int cap = Math.max(16, x.length * 2);
+        group = Arrays.copyOf(group, cap);
+        x = Arrays.copyOf(x, cap);
+        y = Arrays.copyOf(y, cap);
+        width = Arrays.copyOf(width, cap);
+        height = Arrays.copyOf(height, cap);
+        rotation = Arrays.copyOf(rotation, cap);
+        order = Arrays.copyOf(order, cap);
+    }
+}
@@ -0,0 +1,48 @@
+package Shooter_game.o;
+
+/**
+ * Runs a recorded session headless, as fast as the simulation goes, and checks that it ends the way
+ * the recording did. Used through {@code --replay=<log>} on the desktop launcher.
+ */
+public class Replay {
+    public final int ticks;
+    public final int kills;
+    public final int score;
+    public final String state;
+    public final long nanos;
+    private final InputReplay log;
+
+    private Replay(InputReplay log, Simulation sim, long nanos) {
+        this.log = log;
+        this.ticks = log.getTicks();
+        this.kills = sim.getKills();
+        this.score = sim.getScore();
+        this.state = sim.getGameState();
+        this.nanos = nanos;
+    }
+
+    public static Replay run(InputReplay log, ParallelSwarmMover parallelMover) {
+        Simulation sim = log.newSimulation();
+        sim.setParallelMover(parallelMover);
+        float step = 1f / log.simHz;
+        long start = System.nanoTime();
+        while (log.hasNext() && sim.isPlaying()) sim.tick(step);
+        return new Replay(log, sim, System.nanoTime() - start);
+    }
+
+    /** Same kills, score and end state as the recording, with every recorded tick used. */
+    public boolean matchesRecording() {
+        return log.hasOutcome() && !log.hasNext() && kills == log.getEndKills()
+                && score == log.getEndScore() && state.equals(log.getEndState());
+    }
+
+    @Override
+    public String toString() {
+        String recorded = log.hasOutcome()
+                ? log.getEndState() + ", " + log.getEndKills() + " kills, score " + log.getEndScore()
+                : "no outcome (log cut short)";
+        return ticks + " ticks in " + nanos / 1_000_000 + " ms (" + (long) (ticks * 1e9 / Math.max(1, nanos))
+                + " ticks/s): " + state + ", " + kills + " kills, score " + score + "; recorded " + recorded
+                + (matchesRecording() ? " - match" : " - MISMATCH");
+    }
+}
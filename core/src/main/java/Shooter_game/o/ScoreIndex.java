@@ -0,0 +1,111 @@
+package Shooter_game.o;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The best {@link #CAPACITY} runs, highest score first, kept next to the telemetry log in one small
+ * file so a leaderboard never has to scan the log. Fixed-size entries after a short header; every
+ * change rewrites a temp file and moves it over the old one, so readers never see half an index.
+ */
+public class ScoreIndex {
+    public static final String FILE = "scores.idx";
+    public static final int CAPACITY = 100;
+    static final int MAGIC = 0x53485358; // "SHSX"
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 2 + 4;
+    private static final int ENTRY_BYTES = 4 + 4 + 4 + 4 + 8 + 8;
+
+    /** One finished run. */
+    public static final class Entry {
+        public final int score, kills, elapsedMillis;
+        public final String state;
+        public final long wallMillis, seed;
+
+        Entry(int score, int kills, int elapsedMillis, String state, long wallMillis, long seed) {
+            this.score = score;
+            this.kills = kills;
+            this.elapsedMillis = elapsedMillis;
+            this.state = state;
+            this.wallMillis = wallMillis;
+            this.seed = seed;
+        }
+
+        @Override
+        public String toString() {
+            return score + " (" + kills + " kills, " + state + " in " + elapsedMillis / 1000f + " s)";
+        }
+    }
+
+    private final Path file;
+    private final Entry[] entries = new Entry[CAPACITY];
+    private int size;
+
+    private ScoreIndex(Path file) {
+        this.file = file;
+    }
+
+    /** Opens the index in {@code dir}, empty if there is none yet. */
+    public static ScoreIndex open(Path dir) throws IOException {
+        ScoreIndex index = new ScoreIndex(dir.resolve(FILE));
+        if (!Files.exists(index.file)) return index;
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(index.file));
+        if (in.remaining() < HEADER_BYTES || in.getInt() != MAGIC) throw new IOException(index.file + " is not a score index");
+        int version = in.getShort();
+        if (version != VERSION) throw new IOException("Unsupported score index version " + version);
+        int count = Math.min(in.getInt(), CAPACITY);
+        if (in.remaining() < count * ENTRY_BYTES) throw new IOException(index.file + " is truncated");
+        for (int i = 0; i < count; i++) {
+            index.entries[index.size++] = new Entry(in.getInt(), in.getInt(), in.getInt(),
+                    InputReplay.stateName(in.getInt()), in.getLong(), in.getLong());
+        }
+        return index;
+    }
+
+    /** Adds a run if it makes the table; returns true (and rewrites the file) if it did. */
+    public boolean add(int score, int kills, int elapsedMillis, String state, long wallMillis, long seed) throws IOException {
+        int at = size;
+        while (at > 0 && entries[at - 1].score < score) at--;
+        if (at >= CAPACITY) return false;
+        int last = Math.min(size, CAPACITY - 1);
+        System.arraycopy(entries, at, entries, at + 1, last - at);
+        entries[at] = new Entry(score, kills, elapsedMillis, state, wallMillis, seed);
+        if (size < CAPACITY) size++;
+        save();
+        return true;
+    }
+
+    /** Up to {@code n} best runs, best first. */
+    public Entry[] top(int n) {
+        Entry[] top = new Entry[Math.min(n, size)];
+        System.arraycopy(entries, 0, top, 0, top.length);
+        return top;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void save() throws IOException {
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + size * ENTRY_BYTES);
+        out.putInt(MAGIC).putShort((short) VERSION).putInt(size);
+        for (int i = 0; i < size; i++) {
+            Entry e = entries[i];
+            out.putInt(e.score).putInt(e.kills).putInt(e.elapsedMillis).putInt(InputReplay.stateCode(e.state))
+                    .putLong(e.wallMillis).putLong(e.seed);
+        }
+        out.flip();
+        Path tmp = file.resolveSibling(FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) channel.write(out);
+            channel.force(false);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
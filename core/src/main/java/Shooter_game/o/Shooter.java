@@ -1,184 +1,457 @@
 package Shooter_game.o;
 
-import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Pixmap;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.ScreenUtils;
-import com.badlogic.gdx.utils.TimeUtils;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.locks.LockSupport;
 
 public class Shooter extends ApplicationAdapter {
-    private static final int WIDTH = 1000;
-    private static final int HEIGHT = 700;
-    private static final float PLAYER_SPEED = 320f;
-    private static final float BULLET_SPEED = 900f;
-    private static final float ENEMY_BASE_SPEED = 80f;
-    private static final int SHOOT_DELAY_MS = 180;
-    private static final int SPAWN_INTERVAL_MS = 900;
-    private static final int TOTAL_ENEMIES = 100; // fixed total enemies
+    private static final int WIDTH = Simulation.WIDTH;
+    private static final int HEIGHT = Simulation.HEIGHT;
+
+    private final GameConfig config;
+    private final float stepSeconds;
+    private float accumulator = 0f;
+    private float alpha = 1f; // how far the frame is between the previous and current tick
+
+    // the scene is always drawn from a RenderFrame; with --pipelined the simulation fills them on its
+    // own thread and this one only forwards input and draws the newest (see FrameHandoff)
+    private static final int INPUT_QUEUE = 256;
+    private final FrameHandoff frames = new FrameHandoff(Simulation.TOTAL_ENEMIES, 64);
+    private final InputQueue.Commands commands = this::runCommand;
+    private InputQueue inputQueue;
+    private GdxInput gdxInput;
+    private Thread simThread;
+    private volatile boolean simRunning;
+    private volatile Throwable simError;
+    private volatile long frameNanos; // the render thread's last frame time, for telemetry
+    private int epoch, drawnEpoch; // bumped on restart and rewind; the render side clears its particles
+
+    // everything is drawn from one packed atlas (see packTextures in build.gradle), so the main
+    // scene goes out in a single flush as long as it fits in the batch
+    private static final String ATLAS = "sprites.atlas";
+    private static final String FONT = "com/badlogic/gdx/utils/lsans-15.fnt";
+    private static final int BATCH_SIZE = 8191; // the most a SpriteBatch can hold
+
+    // textures decode on the AssetManager's loader thread; each loading frame spends at most this
+    // long on the GL side (uploads) so the loading screen keeps drawing while they stream in
+    private static final int LOAD_SLICE_MS = 8;
+    private AssetManager assets;
+    private ShapeRenderer loadingBar;
+    private boolean loading = true;
+    private long startNanos;
+    private boolean firstFrameLogged, interactiveLogged;
 
     private OrthographicCamera camera;
     private SpriteBatch batch;
-    private Texture circleTexture;
-    private Texture whitePixel;
+    private TextureAtlas atlas;
+    private TextureRegion circleTexture;
+    private TextureRegion whitePixel;
 
-    private Texture enemyTexture;
-    private Texture playerTexture;
+    private TextureRegion enemyTexture;
+    private TextureRegion playerTexture;
 
-    private static final float ENEMY_ROTATION_OFFSET = 0f;
-    private static final float PLAYER_ROTATION_OFFSET = 0f;
+    private int renderCalls, maxSpritesInBatch;
 
-    private Player player;
-    private Array<Bullet> bullets;
-    private Array<Enemy> enemies;
+    // the scene goes through the queue (culled, grouped by colour); HUD and end screen draw directly
+    private static final int LAYER_PLAYER = 0, LAYER_BULLETS = 1, LAYER_ENEMIES = 2;
+    private final RenderQueue renderQueue = new RenderQueue(1024);
 
-    private BitmapFont fontBig, fontMed, fontSmall;
-    private GlyphLayout[] hudCache = new GlyphLayout[3];
+    // purely visual, so it runs on frame time beside the simulation rather than inside it
+    private static final int PARTICLE_CAPACITY = 1 << 17;
+    private final ParticleSystem particles = new ParticleSystem(PARTICLE_CAPACITY);
+    private final ParticleEffects effects = new ParticleEffects(particles);
+    private RenderQueue.Sink batchSink;
 
-    private int score = 0;
-    private int enemiesSpawned = 0;
-    private int kills = 0;
-    private long lastShotTime = 0;
-    private long lastSpawnTime = 0;
-    private String gameState = "playing";
+    private static final float ENEMY_ROTATION_OFFSET = 0f;
+    private static final float PLAYER_ROTATION_OFFSET = 0f;
 
-    private float elapsedTime = 0f;
+    private Simulation sim;
+    private ParallelSwarmMover parallelMover;
+    private InputRecorder recorder;
+    private SnapshotRing snapshots;
+    private static final float BOT_RESTART_SECONDS = 2f; // how long a bot leaves the end screen up
+    private BotInput bot;
+    private float botRestart;
+    private SoakMonitor soak;
+    private static final long TELEMETRY_SAMPLE_MS = 1000; // simulation time between gameplay samples
+    private Telemetry telemetry;
+    private long nextSampleMillis;
+    private boolean runLogged;
+    private float playerDrawW = 48f, playerDrawH = 48f;
+    private float enemyDrawSize = 48f;
 
-    private float enemySpeedMultiplier = 1f;
-    private final float SPEED_INCREASE_FACTOR = 1.25f;
+    private BitmapFont fontBig, fontMed, fontSmall;
+    private GlyphLayout[] hudCache = new GlyphLayout[HudText.LINES];
+    private final HudText hudText = new HudText();
+
+    // the end screen only ever shows one of two fixed texts plus the kill count, so lay them out once
+    private final GlyphLayout winTitle = new GlyphLayout(), loseTitle = new GlyphLayout();
+    private final GlyphLayout winSub = new GlyphLayout(), loseSub = new GlyphLayout();
+    private final GlyphLayout endKills = new GlyphLayout(), playAgain = new GlyphLayout();
+    private final Vector3 touch = new Vector3();
+
+    // F3 overlay: per-phase avg/p99 over the profiler window, re-laid-out a couple of times a second
+    private static final float PROFILER_REFRESH_SECONDS = 0.5f;
+    private final FrameProfiler profiler = new FrameProfiler();
+    private boolean profilerVisible;
+    private float profilerRefresh;
+    private final StringBuilder profilerText = new StringBuilder(512);
+    private final GlyphLayout profilerLayout = new GlyphLayout();
 
     private static final float BUTTON_W = 220f;
     private static final float BUTTON_H = 35f;
     private static final float BUTTON_TOP_MARGIN = 60f;
     private float buttonX = 0f, buttonY = 0f;
 
+    public Shooter() {
+        this(new GameConfig());
+    }
+
+    public Shooter(GameConfig config) {
+        this.config = config;
+        this.stepSeconds = 1f / config.simHz;
+        this.profilerVisible = config.profilerOverlay;
+    }
+
+    // only what the loading screen needs is made here; everything else waits for the assets
     @Override
     public void create() {
+        startNanos = config.launchNanos != 0 ? config.launchNanos : System.nanoTime();
         camera = new OrthographicCamera();
         camera.setToOrtho(false, WIDTH, HEIGHT);
         camera.update();
 
-        batch = new SpriteBatch();
-        circleTexture = createCircleTexture(64);
-        whitePixel = createPixelTexture();
-
-        enemyTexture = new Texture(Gdx.files.internal("rocket.png"));
-        playerTexture = new Texture(Gdx.files.internal("warrior.png"));
+        batch = new SpriteBatch(BATCH_SIZE);
+        batchSink = RenderQueue.forBatch(batch);
+        renderQueue.setView(camera);
+        loadingBar = new ShapeRenderer(16);
+
+        assets = new AssetManager();
+        // pages from the baked cache first, so the atlas finds its textures loaded and skips the PNGs
+        try {
+            TextureCache.open(Gdx.files.internal(TextureCache.FILE)).queuePages(assets, "");
+        } catch (IOException e) {
+            Gdx.app.log("Startup", "Decoding PNGs, texture cache not used: " + e.getMessage());
+        }
+        AssetManifest.queue(assets, Gdx.files.internal(AssetManifest.FILE));
+        // a stale or missing manifest (e.g. running from an IDE without the Gradle tasks) still gets the atlas
+        if (!assets.contains(ATLAS)) assets.load(ATLAS, TextureAtlas.class);
+    }
 
-        player = new Player(WIDTH / 2f, HEIGHT / 2f);
-        bullets = new Array<>();
-        enemies = new Array<>();
+    // runs on the frame the last asset lands: the rest of the old create()
+    private void finishLoading() {
+        atlas = assets.get(ATLAS, TextureAtlas.class);
+        circleTexture = atlas.findRegion("circle");
+        whitePixel = atlas.findRegion("pixel");
+
+        enemyTexture = atlas.findRegion("rocket");
+        playerTexture = atlas.findRegion("warrior");
+
+        float playerRadius = 24f;
+        if (playerTexture != null) {
+            playerDrawW = playerTexture.getRegionWidth();
+            playerDrawH = playerTexture.getRegionHeight();
+            float scale = 1.0f;
+            if (playerDrawW > 96) scale = 96f / playerDrawW;
+            playerDrawW *= scale;
+            playerDrawH *= scale;
+            playerRadius = Math.max(playerDrawW, playerDrawH) * 0.4f;
+        }
+        if (enemyTexture != null) enemyDrawSize = Math.min(64f, enemyTexture.getRegionWidth());
+
+        long seed = config.seed != null ? config.seed : MathUtils.random.nextLong();
+        gdxInput = new GdxInput();
+        if (config.pipelined) inputQueue = new InputQueue(INPUT_QUEUE);
+        SimInput input = config.bot != null ? (bot = new BotInput(config.bot, seed)) : inputQueue != null ? inputQueue : gdxInput;
+        if (config.recordPath != null) input = recorder = new InputRecorder(input);
+        else if (config.rollbackTicks > 0) input = snapshots = new SnapshotRing(input, config.rollbackTicks + 1, Simulation.TOTAL_ENEMIES, config.bulletPoolPrealloc);
+        sim = new Simulation(input, null, playerRadius, enemyDrawSize * 0.4f, config.bulletPoolPrealloc, config.bulletPoolMax);
+        sim.setSeed(seed);
+        sim.setTotalEnemies(config.totalEnemies);
+        if (bot != null) bot.setSimulation(sim);
+        if (config.soakReport != null) soak = new SoakMonitor(config.soakSampleSeconds * 1000L);
+        if (config.flowField) sim.setFlowField(FlowField.forWorld());
+        if (config.lod) sim.setLod(new SwarmLod());
+        if (config.parallelThreads > 0) {
+            parallelMover = ParallelSwarmMover.create(config.parallelThreads, config.parallelThreshold);
+            sim.setParallelMover(parallelMover);
+            particles.setPool(parallelMover.getPool(), ParticleSystem.DEFAULT_PARALLEL_THRESHOLD);
+        }
+        sim.setListener(frames);
+        // the profiler belongs to the render thread; a pipelined tick is not broken down by phase
+        if (!config.pipelined) sim.setProfiler(profiler);
+        if (snapshots != null) snapshots.save(sim);
+        if (recorder != null) {
+            try {
+                recorder.start(config.recordPath, sim, config.simHz);
+            } catch (IOException e) {
+                Gdx.app.error("Shooter", "Could not start recording to " + config.recordPath, e);
+            }
+        }
+        if (config.telemetryDir != null) {
+            try {
+                telemetry = Telemetry.start(Paths.get(config.telemetryDir), config.telemetryFsync);
+            } catch (IOException e) {
+                Gdx.app.error("Shooter", "Could not start telemetry in " + config.telemetryDir, e);
+            }
+        }
+        if (config.profilerCsv != null) {
+            try {
+                profiler.startCsv(config.profilerCsv);
+            } catch (IOException e) {
+                Gdx.app.error("Shooter", "Could not open profiler CSV " + config.profilerCsv, e);
+            }
+        }
 
-        fontBig = new BitmapFont();
+        TextureRegion fontPage = atlas.findRegion("lsans-15");
+        fontBig = new BitmapFont(Gdx.files.classpath(FONT), fontPage);
         fontBig.getData().setScale(4);
         fontBig.setColor(Color.GREEN);
-        fontMed = new BitmapFont();
+        fontMed = new BitmapFont(Gdx.files.classpath(FONT), fontPage);
         fontMed.getData().setScale(2.5f);
-        fontSmall = new BitmapFont();
+        fontSmall = new BitmapFont(Gdx.files.classpath(FONT), fontPage);
         fontSmall.getData().setScale(1.8f);
 
         for (int i = 0; i < hudCache.length; i++) hudCache[i] = new GlyphLayout();
-        updateHud();
+        winTitle.setText(fontBig, "YOU WIN", Color.GREEN, 0, Align.left, false);
+        loseTitle.setText(fontBig, "GAME OVER", Color.RED, 0, Align.left, false);
+        winSub.setText(fontMed, "All enemies defeated", Color.WHITE, 0, Align.left, false);
+        loseSub.setText(fontMed, "You were caught", Color.WHITE, 0, Align.left, false);
+        playAgain.setText(fontMed, "Play Again", Color.WHITE, 0, Align.left, false);
+
+        loadingBar.dispose();
+        loadingBar = null;
+        loading = false;
+        publish();
+        if (config.pipelined) {
+            simRunning = true;
+            simThread = new Thread(this::runSimulation, "simulation");
+            simThread.setDaemon(true);
+            simThread.start();
+        }
     }
 
-    private void update(float delta) {
-        if (!gameState.equals("playing")) return;
+    @Override
+    public void render() {
+        if (loading) {
+            renderLoading();
+            return;
+        }
+        if (simError != null) throw new GdxRuntimeException("The simulation thread failed", simError);
+        profiler.begin(FrameProfiler.FRAME);
+        float frameDelta = Gdx.graphics.getDeltaTime();
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) {
+            profilerVisible = !profilerVisible;
+            profilerRefresh = 0f;
+        }
+        if (snapshots != null && Gdx.input.isKeyJustPressed(Input.Keys.F5)) command(InputQueue.REWIND);
+
+        profiler.begin(FrameProfiler.UPDATE);
+        frameNanos = (long) (frameDelta * 1e9f);
+        if (simThread == null) {
+            update(frameDelta);
+        } else if (bot == null) {
+            gdxInput.poll();
+            inputQueue.offer(gdxInput.moveX(), gdxInput.moveY(), gdxInput.aimX(), gdxInput.aimY(), gdxInput.firing());
+        }
+        boolean fresh = frames.acquire();
+        RenderFrame frame = frames.getFront();
+        if (frame.epoch != drawnEpoch) {
+            particles.clear();
+            drawnEpoch = frame.epoch;
+        }
+        if (fresh) frame.replayEvents(effects);
+        alpha = MathUtils.clamp((System.nanoTime() - frame.stateNanos) / (stepSeconds * 1e9f), 0f, 1f);
+        float[] bullets = frame.bullets;
+        effects.trails(bullets, frame.bulletCount, alpha, stepSeconds, frameDelta);
+        particles.update(frameDelta);
+        profiler.end(FrameProfiler.UPDATE);
 
-        elapsedTime += delta;
+        ScreenUtils.clear(0.53f, 0.81f, 0.92f, 1);
+        batch.setProjectionMatrix(camera.combined);
+        batch.maxSpritesInBatch = 0;
+        batch.begin();
+        profiler.begin(FrameProfiler.DRAW_SPRITES);
+        renderQueue.begin();
+        queuePlayer(frame);
+        for (int o = 0; o < frame.bulletCount * 4; o += 4) queueBullet(bullets, o);
+        for (int i = 0; i < frame.enemyCount; i++) queueEnemy(frame, i); // vizato raktet me mundsi rrotullmi
+        renderQueue.flush(batchSink);
+        batch.setColor(Color.WHITE);
+        particles.draw(batch, circleTexture, 0, 0, WIDTH, HEIGHT);
+        profiler.end(FrameProfiler.DRAW_SPRITES);
 
-        if (enemiesSpawned < TOTAL_ENEMIES &&
-                TimeUtils.millis() - lastSpawnTime > SPAWN_INTERVAL_MS) {
-            enemies.add(new Enemy());
-            enemiesSpawned++;
-            lastSpawnTime = TimeUtils.millis();
-            updateHud();
-        }
+        profiler.begin(FrameProfiler.DRAW_HUD);
+        updateHud(frame);
+        for (int i = 0; i < hudCache.length; i++)
+            fontSmall.draw(batch, hudCache[i], 20, HEIGHT - 20 - i * 35);
+        if (profilerVisible) drawProfiler(frameDelta);
+        profiler.end(FrameProfiler.DRAW_HUD);
 
-        player.update(delta);
+        if (!frame.isPlaying()) {
+            profiler.begin(FrameProfiler.DRAW_END_SCREEN);
+            drawEndScreen(frame);
+            profiler.end(FrameProfiler.DRAW_END_SCREEN);
+        }
 
-        if (Gdx.input.isButtonPressed(Input.Buttons.LEFT)) {
-            long now = TimeUtils.millis();
-            if (now - lastShotTime > SHOOT_DELAY_MS) {
-                bullets.add(new Bullet(player.x, player.y, player.angle));
-                lastShotTime = now;
+        batch.end();
+        renderCalls = batch.renderCalls;
+        maxSpritesInBatch = batch.maxSpritesInBatch;
+
+        if (!frame.isPlaying() && Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
+            touch.set(Gdx.input.getX(), Gdx.input.getY(), 0);
+            camera.unproject(touch);
+            if (isInsideButton(touch.x, touch.y)) {
+                command(InputQueue.RESET);
             }
         }
+        profiler.end(FrameProfiler.FRAME);
+        profiler.endFrame(frame.enemyCount, frame.bulletCount);
+        if (!interactiveLogged) {
+            logStartup("Interactive");
+            interactiveLogged = true;
+        }
+    }
 
-        for (int i = bullets.size - 1; i >= 0; i--) {
-            Bullet b = bullets.get(i);
-            b.update(delta);
-            if (b.isOffscreen()) bullets.removeIndex(i);
-        }
-
-        for (Enemy e : enemies) e.update(delta, player.x, player.y);
-
-        for (int i = bullets.size - 1; i >= 0; i--) {
-            Bullet b = bullets.get(i);
-            for (int j = enemies.size - 1; j >= 0; j--) {
-                Enemy e = enemies.get(j);
-                if (Intersector.overlaps(b.circle, e.circle)) {
-                    bullets.removeIndex(i);
-                    enemies.removeIndex(j);
-                    score += 10;
-                    kills++;
-                    if (kills % 10 == 0 && kills <= TOTAL_ENEMIES) {
-                        enemySpeedMultiplier *= SPEED_INCREASE_FACTOR;
-                        for (Enemy en : enemies) en.speed = ENEMY_BASE_SPEED * enemySpeedMultiplier;
-                    }
-                    updateHud();
-                    break;
-                }
-            }
+    // the game side of a frame: fixed steps for the time that passed, then the bookkeeping that goes
+    // with them; on the render thread, or on the simulation thread when pipelined
+    private void update(float frameDelta) {
+        int before = epoch;
+        if (inputQueue != null) inputQueue.drain(commands);
+        accumulator += frameDelta;
+        int steps = 0;
+        while (accumulator >= stepSeconds && steps < config.maxCatchUpSteps) {
+            long tickStart = soak != null ? System.nanoTime() : 0;
+            sim.tick(stepSeconds);
+            if (soak != null) soak.tickDone(System.nanoTime() - tickStart);
+            if (snapshots != null) snapshots.save(sim);
+            accumulator -= stepSeconds;
+            steps++;
         }
+        // after a long stall, let the game fall behind instead of spiralling into ever more catch-up steps
+        if (accumulator >= stepSeconds) accumulator %= stepSeconds;
+        if (recorder != null && !sim.isPlaying()) finishRecording();
+        if (telemetry != null) logTelemetry(frameNanos);
+        if (soak != null) soak.sampleIfDue(sim, System.currentTimeMillis());
+        if (bot != null && !sim.isPlaying() && (botRestart += frameDelta) >= BOT_RESTART_SECONDS) resetGame();
+        if (steps > 0 || epoch != before) publish();
+    }
+
+    private void publish() {
+        long stateNanos = System.nanoTime() - (long) (accumulator * 1e9f);
+        frames.getBack().capture(sim, stateNanos, epoch);
+        frames.publish();
+    }
 
-        for (Enemy e : enemies) {
-            if (Intersector.overlaps(player.circle, e.circle)) {
-                gameState = "lose";
-                return;
+    // the simulation thread: runs update whenever a tick is due and parks in between
+    private void runSimulation() {
+        try {
+            long last = System.nanoTime();
+            while (simRunning) {
+                long now = System.nanoTime();
+                update((now - last) / 1e9f);
+                last = now;
+                long wait = (long) ((stepSeconds - accumulator) * 1e9f);
+                if (wait > 0) LockSupport.parkNanos(wait);
             }
+        } catch (Throwable t) {
+            simError = t;
         }
+    }
 
-        if (kills >= TOTAL_ENEMIES) {
-            gameState = "win";
+    private void stopSimulation() {
+        if (simThread == null) return;
+        simRunning = false;
+        LockSupport.unpark(simThread);
+        try {
+            simThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        simThread = null;
     }
 
-    @Override
-    public void render() {
-        float delta = Gdx.graphics.getDeltaTime();
-        update(delta);
+    // restart and rewind touch the simulation, so with a simulation thread they go through the input queue
+    private void command(int command) {
+        if (inputQueue != null) inputQueue.offerCommand(command);
+        else runCommand(command);
+    }
+
+    private void runCommand(int command) {
+        if (command == InputQueue.RESET) resetGame();
+        else if (command == InputQueue.REWIND) rewind();
+    }
 
+    private void renderLoading() {
+        boolean done = assets.update(LOAD_SLICE_MS);
         ScreenUtils.clear(0.53f, 0.81f, 0.92f, 1);
-        batch.setProjectionMatrix(camera.combined);
-        batch.begin();
-        player.draw(batch);
-        for (Bullet b : bullets) b.draw(batch);
-        for (Enemy e : enemies) e.draw(batch); // vizato raktet me mundsi rrotullmi
-        for (int i = 0; i < hudCache.length; i++)
-            fontSmall.draw(batch, hudCache[i], 20, HEIGHT - 20 - i * 35);
+        float barW = WIDTH * 0.5f, barH = 12f;
+        float barX = (WIDTH - barW) / 2f, barY = HEIGHT / 2f - barH / 2f;
+        loadingBar.setProjectionMatrix(camera.combined);
+        loadingBar.begin(ShapeRenderer.ShapeType.Filled);
+        loadingBar.setColor(0.15f, 0.2f, 0.3f, 1f);
+        loadingBar.rect(barX, barY, barW, barH);
+        loadingBar.setColor(Color.WHITE);
+        loadingBar.rect(barX, barY, barW * assets.getProgress(), barH);
+        loadingBar.end();
+        if (!firstFrameLogged) {
+            logStartup("First frame");
+            firstFrameLogged = true;
+        }
+        if (done) finishLoading();
+    }
 
-        if (!gameState.equals("playing")) drawEndScreen();
+    // time from launch (or create, if the launcher did not say) to now, for cold-start tracking
+    private void logStartup(String what) {
+        long ms = (System.nanoTime() - startNanos) / 1_000_000;
+        Gdx.app.log("Startup", what + " after " + ms + " ms");
+    }
 
-        batch.end();
+    private void queuePlayer(RenderFrame f) {
+        float x = MathUtils.lerp(f.playerPrevX, f.playerX, alpha);
+        float y = MathUtils.lerp(f.playerPrevY, f.playerY, alpha);
+        float angle = MathUtils.lerpAngleDeg(f.playerPrevAngle, f.playerAngle, alpha);
+        if (playerTexture != null) {
+            renderQueue.add(LAYER_PLAYER, playerTexture, Color.WHITE, x, y,
+                    playerDrawW, playerDrawH, angle + PLAYER_ROTATION_OFFSET);
+        } else {
+            renderQueue.add(LAYER_PLAYER, circleTexture, Color.GREEN, x, y, 48, 48, 0f);
+        }
+    }
 
-        if (!gameState.equals("playing") && Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-            Vector3 mp = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-            camera.unproject(mp);
-            if (isInsideButton(mp.x, mp.y)) {
-                resetGame();
-            }
+    private void queueBullet(float[] bullets, int o) {
+        float x = MathUtils.lerp(bullets[o], bullets[o + 2], alpha);
+        float y = MathUtils.lerp(bullets[o + 1], bullets[o + 3], alpha);
+        renderQueue.add(LAYER_BULLETS, circleTexture, Color.YELLOW, x, y, 10, 10, 0f);
+    }
+
+    private void queueEnemy(RenderFrame f, int i) {
+        float x = MathUtils.lerp(f.enemyPrevX[i], f.enemyX[i], alpha);
+        float y = MathUtils.lerp(f.enemyPrevY[i], f.enemyY[i], alpha);
+        if (enemyTexture != null) {
+            float rotation = MathUtils.lerpAngleDeg(f.enemyPrevRotation[i], f.enemyRotation[i], alpha);
+            renderQueue.add(LAYER_ENEMIES, enemyTexture, Color.WHITE, x, y,
+                    enemyDrawSize, enemyDrawSize, rotation + ENEMY_ROTATION_OFFSET);
+        } else {
+            renderQueue.add(LAYER_ENEMIES, circleTexture, Color.RED, x, y, 36, 36, 0f);
         }
     }
 
@@ -186,7 +459,7 @@ public class Shooter extends ApplicationAdapter {
         return mx >= buttonX && mx <= buttonX + BUTTON_W && my >= buttonY && my <= buttonY + BUTTON_H;
     }
 
-    private void drawEndScreen() {
+    private void drawEndScreen(RenderFrame frame) {
         float panelW = 520f;
         float panelH = 260f;
         float panelX = WIDTH / 2f - panelW / 2f;
@@ -202,22 +475,15 @@ public class Shooter extends ApplicationAdapter {
         batch.draw(whitePixel, panelX, panelY, panelW, panelH);
         batch.setColor(Color.WHITE);
 
-        String title = gameState.equals("win") ? "YOU WIN" : "GAME OVER";
-        String sub = gameState.equals("win") ? "All enemies defeated" : "You were caught";
-        String killsLine = "Enemies killed: " + kills + "/" + TOTAL_ENEMIES;
+        boolean won = frame.gameState.equals(Simulation.WIN);
+        GlyphLayout t = won ? winTitle : loseTitle;
+        GlyphLayout s = won ? winSub : loseSub;
 
-        GlyphLayout t = new GlyphLayout(fontBig, title);
-        GlyphLayout s = new GlyphLayout(fontMed, sub);
-        GlyphLayout k = new GlyphLayout(fontMed, killsLine);
-
-        fontBig.setColor(gameState.equals("win") ? Color.GREEN : Color.RED);
         fontBig.draw(batch, t, WIDTH / 2f - t.width / 2f, panelY + panelH - 30);
-
-        fontMed.setColor(Color.WHITE);
         fontMed.draw(batch, s, WIDTH / 2f - s.width / 2f, panelY + panelH - 90);
 
         float killsY = panelY + panelH - 140;
-        fontMed.draw(batch, k, WIDTH / 2f - k.width / 2f, killsY);
+        fontMed.draw(batch, endKills, WIDTH / 2f - endKills.width / 2f, killsY);
 
         buttonX = WIDTH / 2f - BUTTON_W / 2f;
         buttonY = killsY - BUTTON_TOP_MARGIN - BUTTON_H;
@@ -226,205 +492,191 @@ public class Shooter extends ApplicationAdapter {
         batch.draw(whitePixel, buttonX, buttonY, BUTTON_W, BUTTON_H);
         batch.setColor(Color.WHITE);
 
-        GlyphLayout btn = new GlyphLayout(fontMed, "Play Again");
-        float textY = buttonY + BUTTON_H / 2f + btn.height / 2f;
-        fontMed.setColor(Color.WHITE);
-        fontMed.draw(batch, btn, buttonX + BUTTON_W / 2f - btn.width / 2f, textY);
+        float textY = buttonY + BUTTON_H / 2f + playAgain.height / 2f;
+        fontMed.draw(batch, playAgain, buttonX + BUTTON_W / 2f - playAgain.width / 2f, textY);
+    }
+
+    private void drawProfiler(float frameDelta) {
+        profilerRefresh -= frameDelta;
+        if (profilerRefresh <= 0f) {
+            profilerRefresh = PROFILER_REFRESH_SECONDS;
+            profiler.computeStats();
+            profilerText.setLength(0);
+            profilerText.append("enemies ").append(profiler.lastEnemyCount())
+                    .append("  bullets ").append(profiler.lastBulletCount())
+                    .append("\nsprites ").append(renderQueue.getSubmitted())
+                    .append("  culled ").append(renderQueue.getCulled())
+                    .append("  particles ").append(particles.getLive());
+            SwarmLod lod = simThread == null ? sim.getLod() : null; // tiers are the simulation thread's
+            if (lod != null) {
+                lod.count(sim.enemies);
+                profilerText.append("\nlod near ").append(lod.getCount(SwarmLod.NEAR))
+                        .append("  mid ").append(lod.getCount(SwarmLod.MID))
+                        .append("  far ").append(lod.getCount(SwarmLod.FAR))
+                        .append("  skipped ").append((int) (lod.getSavedFraction() * 100)).append('%');
+            }
+            profilerText
+                    .append("\nphase  avg/p99 us");
+            for (int p = 0; p < FrameProfiler.PHASES; p++) {
+                profilerText.append('\n').append(FrameProfiler.name(p)).append("  ")
+                        .append(profiler.avgNanos(p) / 1000).append('/')
+                        .append(profiler.p99Nanos(p) / 1000);
+            }
+            profilerLayout.setText(fontSmall, profilerText);
+        }
+        fontSmall.draw(batch, profilerLayout, WIDTH - profilerLayout.width - 20, HEIGHT - 20);
+    }
+
+    // cheap to call every frame: only lines whose numbers changed are laid out again
+    private void updateHud(RenderFrame frame) {
+        int changed = hudText.update(frame);
+        if (changed == 0) return;
+        for (int i = 0; i < HudText.LINES; i++) {
+            if ((changed & 1 << i) != 0) hudCache[i].setText(fontSmall, hudText.line(i));
+        }
+        if ((changed & 1 << HudText.END_KILLS) != 0)
+            endKills.setText(fontMed, hudText.endKillsLine(), Color.WHITE, 0, Align.left, false);
     }
 
-    private void updateHud() {
-        hudCache[0].setText(fontSmall, "Time: " + (int) elapsedTime + "s");
-        hudCache[1].setText(fontSmall, "Killed: " + kills + "/" + TOTAL_ENEMIES);
-        hudCache[2].setText(fontSmall, "Score: " + score);
+    // only the first game is recorded; the log ends with its outcome so a replay can be checked against it
+    private void finishRecording() {
+        if (recorder.isRecording()) recorder.finish(sim);
+        if (recorder.getError() != null) Gdx.app.error("Shooter", "Recording to " + config.recordPath + " failed", recorder.getError());
+        else Gdx.app.log("Shooter", "Recorded " + sim.getGameState() + " game to " + config.recordPath);
+        recorder = null;
+    }
+
+    // never blocks: a full queue just drops the record, which Telemetry counts
+    private void logTelemetry(long frameNanos) {
+        if (sim.getSimMillis() >= nextSampleMillis) {
+            telemetry.sample(sim, frameNanos);
+            nextSampleMillis = sim.getSimMillis() + TELEMETRY_SAMPLE_MS;
+        }
+        if (!sim.isPlaying() && !runLogged) {
+            telemetry.runEnded(sim);
+            runLogged = true;
+        }
     }
 
     private void resetGame() {
-        score = 0;
-        enemiesSpawned = 0;
-        kills = 0;
-        elapsedTime = 0f;
-        enemySpeedMultiplier = 1f;
-        lastShotTime = 0;
-        lastSpawnTime = 0;
-        gameState = "playing";
+        if (soak != null) soak.gameEnded(sim);
+        botRestart = 0f;
+        sim.reset();
+        epoch++;
+        frames.getBack().clearEvents();
+        runLogged = false;
+        nextSampleMillis = 0;
+        if (snapshots != null) {
+            snapshots.clear();
+            snapshots.save(sim);
+        }
+    }
 
-        bullets.clear();
-        enemies.clear();
+    // retry from the oldest tick still held, up to rollbackTicks back, even from the end screen
+    private void rewind() {
+        if (!snapshots.restore(sim, snapshots.getOldestTick())) return;
+        epoch++;
+        frames.getBack().clearEvents();
+        nextSampleMillis = sim.getSimMillis();
+    }
+
+    /** Batch flushes in the last frame; 1 means the whole frame went out in a single draw call. */
+    public int getRenderCalls() {
+        return renderCalls;
+    }
 
-        player = new Player(WIDTH / 2f, HEIGHT / 2f);
+    /** Most sprites sent in one flush during the last frame. */
+    public int getMaxSpritesInBatch() {
+        return maxSpritesInBatch;
+    }
 
-        updateHud();
+    /** Scene sprites drawn in the last frame. */
+    public int getSubmittedSprites() {
+        return renderQueue.getSubmitted();
+    }
+
+    /** Scene sprites skipped in the last frame for being off-screen. */
+    public int getCulledSprites() {
+        return renderQueue.getCulled();
+    }
+
+    /** With {@code --pipelined} the simulation belongs to its own thread; only touch it from there. */
+    public Simulation getSimulation() {
+        return sim;
+    }
+
+    public CountingPool<Bullet> getBulletPool() {
+        return sim.getBulletPool();
+    }
+
+    public FrameProfiler getProfiler() {
+        return profiler;
     }
 
     @Override
     public void dispose() {
+        stopSimulation();
         batch.dispose();
-        if (circleTexture != null) circleTexture.dispose();
-        if (whitePixel != null) whitePixel.dispose();
-        if (enemyTexture != null) enemyTexture.dispose();
-        if (playerTexture != null) playerTexture.dispose();
-        fontBig.dispose();
-        fontMed.dispose();
-        fontSmall.dispose();
-    }
-
-    private Texture createCircleTexture(int size) {
-        Pixmap p = new Pixmap(size, size, Pixmap.Format.RGBA8888);
-        p.setColor(Color.WHITE);
-        p.fillCircle(size / 2, size / 2, size / 2);
-        Texture t = new Texture(p);
-        p.dispose();
-        return t;
-    }
-
-    private Texture createPixelTexture() {
-        Pixmap p = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
-        p.setColor(Color.WHITE);
-        p.fill();
-        Texture t = new Texture(p);
-        p.dispose();
-        return t;
-    }
-
-    class Player {
-        float x, y, angle;
-        Circle circle = new Circle();
-        float drawW, drawH;
-
-        Player(float x, float y) {
-            this.x = x;
-            this.y = y;
-            if (playerTexture != null) {
-                drawW = playerTexture.getWidth();
-                drawH = playerTexture.getHeight();
-                float scale = 1.0f;
-                if (drawW > 96) scale = 96f / drawW;
-                drawW *= scale;
-                drawH *= scale;
-                circle.radius = Math.max(drawW, drawH) * 0.4f;
-            } else {
-                drawW = drawH = 48f;
-                circle.radius = 24f;
-            }
-            circle.setPosition(x, y);
-        }
-
-        void update(float delta) {
-            Vector2 m = new Vector2();
-            if (Gdx.input.isKeyPressed(Input.Keys.W)) m.y++;
-            if (Gdx.input.isKeyPressed(Input.Keys.S)) m.y--;
-            if (Gdx.input.isKeyPressed(Input.Keys.A)) m.x--;
-            if (Gdx.input.isKeyPressed(Input.Keys.D)) m.x++;
-            if (m.len2() > 0) {
-                m.nor().scl(PLAYER_SPEED * delta);
-                x = MathUtils.clamp(x + m.x, 0, WIDTH);
-                y = MathUtils.clamp(y + m.y, 0, HEIGHT);
-            }
-            Vector3 mouse = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-            camera.unproject(mouse);
-            angle = new Vector2(mouse.x - x, mouse.y - y).angleDeg();
-            circle.setPosition(x, y);
-        }
-
-        void draw(SpriteBatch b) {
-            if (playerTexture != null) {
-                float halfW = drawW / 2f;
-                float halfH = drawH / 2f;
-                b.setColor(Color.WHITE);
-                b.draw(playerTexture,
-                        x - halfW, y - halfH,
-                        halfW, halfH,
-                        drawW, drawH,
-                        1f, 1f,
-                        angle + PLAYER_ROTATION_OFFSET,
-                        0, 0, playerTexture.getWidth(), playerTexture.getHeight(),
-                        false, false);
-            } else {
-                b.setColor(Color.GREEN);
-                b.draw(circleTexture, x - 24, y - 24, 48, 48);
-                b.setColor(Color.WHITE);
-            }
+        if (loadingBar != null) loadingBar.dispose();
+        assets.dispose(); // owns the atlas
+        if (fontBig != null) {
+            fontBig.dispose();
+            fontMed.dispose();
+            fontSmall.dispose();
+        }
+        if (parallelMover != null) parallelMover.shutdown();
+        if (recorder != null) finishRecording();
+        if (soak != null) writeSoakReport();
+        profiler.stopCsv();
+        if (telemetry != null) {
+            telemetry.close();
+            if (telemetry.getError() != null) Gdx.app.error("Shooter", "Telemetry to " + config.telemetryDir + " failed", telemetry.getError());
+        }
+    }
+
+    private void writeSoakReport() {
+        soak.sample(sim, System.currentTimeMillis());
+        try {
+            soak.writeReport(Paths.get(config.soakReport));
+            Gdx.app.log("Shooter", "Soak report written to " + config.soakReport);
+        } catch (IOException e) {
+            Gdx.app.error("Shooter", "Could not write the soak report to " + config.soakReport, e);
         }
     }
 
-    class Bullet {
-        float x, y;
-        Vector2 vel = new Vector2();
-        Circle circle = new Circle();
+    /** Keyboard and mouse, with the mouse unprojected into world coordinates once per tick. */
+    class GdxInput implements SimInput {
+        private final Vector3 mouse = new Vector3();
 
-        Bullet(float x, float y, float a) {
-            this.x = x;
-            this.y = y;
-            vel.set(1, 0).setAngleDeg(a).scl(BULLET_SPEED);
-            circle.radius = 5;
-            circle.setPosition(x, y);
+        @Override
+        public void poll() {
+            mouse.set(Gdx.input.getX(), Gdx.input.getY(), 0);
+            camera.unproject(mouse);
         }
 
-        void update(float delta) {
-            x += vel.x * delta;
-            y += vel.y * delta;
-            circle.setPosition(x, y);
+        @Override
+        public int moveX() {
+            return (Gdx.input.isKeyPressed(Input.Keys.D) ? 1 : 0) - (Gdx.input.isKeyPressed(Input.Keys.A) ? 1 : 0);
         }
 
-        boolean isOffscreen() {
-            return x < -20 || x > WIDTH + 20 || y < -20 || y > HEIGHT + 20;
+        @Override
+        public int moveY() {
+            return (Gdx.input.isKeyPressed(Input.Keys.W) ? 1 : 0) - (Gdx.input.isKeyPressed(Input.Keys.S) ? 1 : 0);
         }
 
-        void draw(SpriteBatch b) {
-            b.setColor(Color.YELLOW);
-            b.draw(circleTexture, x - 5, y - 5, 10, 10);
-            b.setColor(Color.WHITE);
+        @Override
+        public float aimX() {
+            return mouse.x;
         }
-    }
 
-    class Enemy {
-        float x, y, speed;
-        Circle circle = new Circle();
-        float rotationDeg = 0f;
-        float drawSize = 48f;
+        @Override
+        public float aimY() {
+            return mouse.y;
+        }
 
-        Enemy() {
-            speed = ENEMY_BASE_SPEED * enemySpeedMultiplier;
-            float a = MathUtils.random(0f, MathUtils.PI2);
-            float d = MathUtils.random(600, 900);
-            x = WIDTH / 2f + MathUtils.cos(a) * d;
-            y = HEIGHT / 2f + MathUtils.sin(a) * d;
-            if (enemyTexture != null) {
-                drawSize = Math.min(64f, enemyTexture.getWidth());
-            }
-            circle.radius = drawSize * 0.4f;
-            circle.setPosition(x, y);
-            rotationDeg = MathUtils.random(0f, 360f);
-        }
-
-        void update(float delta, float px, float py) {
-            Vector2 dir = new Vector2(px - x, py - y);
-            if (dir.len2() > 0) {
-                dir.nor().scl(speed * delta);
-                x += dir.x;
-                y += dir.y;
-                rotationDeg = new Vector2(px - x, py - y).angleDeg();
-            }
-            circle.setPosition(x, y);
-        }
-
-        void draw(SpriteBatch b) {
-            if (enemyTexture != null) {
-                float half = drawSize / 2f;
-                b.setColor(Color.WHITE);
-                b.draw(enemyTexture,
-                        x - half, y - half,
-                        half, half,
-                        drawSize, drawSize,
-                        1f, 1f,
-                        rotationDeg + ENEMY_ROTATION_OFFSET,
-                        0, 0, enemyTexture.getWidth(), enemyTexture.getHeight(),
-                        false, false);
-            } else {
-                b.setColor(Color.RED);
-                b.draw(circleTexture, x - 18, y - 18, 36, 36);
-                b.setColor(Color.WHITE);
-            }
+        @Override
+        public boolean firing() {
+            return Gdx.input.isButtonPressed(Input.Buttons.LEFT);
         }
     }
 }
@@ -0,0 +1,10 @@
+package Shooter_game.o;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Millisecond clock used for the spawn and fire timers in {@link Simulation}. */
+public interface SimClock {
+    long millis();
+
+    SimClock WALL = TimeUtils::millis;
+}
@@ -0,0 +1,51 @@
+package Shooter_game.o;
+
+/** Player input as seen by {@link Simulation}, so the tick can run without a window. */
+public interface SimInput {
+    /** Called once at the start of every tick, before any of the other methods. */
+    void poll();
+
+    /** -1, 0 or 1 along each axis, like holding A/D and S/W. */
+    int moveX();
+
+    int moveY();
+
+    /** Aim point in world coordinates. */
+    float aimX();
+
+    float aimY();
+
+    boolean firing();
+
+    /** Input that never moves, aims at the origin and never fires. */
+    SimInput IDLE = new SimInput() {
+        @Override
+        public void poll() {
+        }
+
+        @Override
+        public int moveX() {
+            return 0;
+        }
+
+        @Override
+        public int moveY() {
+            return 0;
+        }
+
+        @Override
+        public float aimX() {
+            return 0;
+        }
+
+        @Override
+        public float aimY() {
+            return 0;
+        }
+
+        @Override
+        public boolean firing() {
+            return false;
+        }
+    };
+}
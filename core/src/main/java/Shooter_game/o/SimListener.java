@@ -0,0 +1,13 @@
+package Shooter_game.o;
+
+/**
+ * Gameplay events for the presentation side (effects, sound). Called from inside {@link Simulation#tick},
+ * on the thread running it; the simulation never reads anything back, so listeners cannot change a game.
+ */
+public interface SimListener {
+    /** A bullet left the player at (x, y), heading {@code angleDeg}. */
+    void onShot(float x, float y, float angleDeg);
+
+    /** A bullet killed the enemy at (x, y); called once the tick's collisions are all resolved. */
+    void onKill(float x, float y, float radius);
+}
@@ -0,0 +1,571 @@
+package Shooter_game.o;
+
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * The game world and its tick, with no GL, window or {@code Gdx.*} access: input and time come in
+ * through {@link SimInput} and {@link SimClock}, so it runs the same under {@link Shooter} and headless.
+ * With the simulation-time clock and a fixed seed, the same inputs always play out the same game.
+ */
+public class Simulation {
+    public static final int WIDTH = 1000;
+    public static final int HEIGHT = 700;
+    public static final float ENEMY_BASE_SPEED = 80f;
+    public static final int SHOOT_DELAY_MS = 180;
+    public static final int SPAWN_INTERVAL_MS = 900;
+    public static final int TOTAL_ENEMIES = 100; // fixed total enemies
+    public static final float SPEED_INCREASE_FACTOR = 1.25f;
+
+    public static final String PLAYING = "playing";
+    public static final String WIN = "win";
+    public static final String LOSE = "lose";
+
+    /** Bullets made up front, before the first shot. */
+    public static final int BULLET_POOL_PREALLOC = 64;
+    /** Most spare bullets the pool keeps; past this, freed bullets are left to the GC. */
+    public static final int BULLET_POOL_MAX = 512;
+    /** Fewest bullets in flight for which collisions go through the spatial hash; below, bullets sweep every enemy. */
+    public static final int BROADPHASE_MIN_BULLETS = 2;
+
+    private final SimInput input;
+    private final SimClock clock;
+    private final float playerRadius;
+    private final float enemyRadius;
+    private int totalEnemies = TOTAL_ENEMIES;
+    private boolean invulnerable;
+    private ParallelSwarmMover parallelMover;
+    private SwarmLod lod;
+    private FrameProfiler profiler;
+    private SimListener listener;
+    private final RandomXS128 random = new RandomXS128();
+    private long seed;
+    private long simNanos;
+    private long ticks;
+
+    public Player player;
+    public final Array<Bullet> bullets;
+    public final EnemySwarm enemies;
+
+    private final CountingPool<Bullet> bulletPool;
+
+    private FlowField flowField;
+
+    private final SpatialHash enemyHash = new SpatialHash(64f);
+    private final IntArray hashCandidates = new IntArray();
+    private float maxEnemyRadius = 0f;
+    private final CollisionEvents collisions;
+    private boolean[] spentBullets;
+
+    private int score = 0;
+    private int enemiesSpawned = 0;
+    private int kills = 0;
+    private String gameState = PLAYING;
+    private float elapsedTime = 0f;
+
+    // every timed rule runs off the wheel on the simulation clock; nothing compares timestamps per tick
+    private final TimerWheel timers;
+    private boolean weaponReady = true;
+    // kept so a snapshot can put each timer back where it was
+    private TimerWheel.Timer spawnTimer;
+    private long cooldownDeadline, difficultyDeadline;
+    private final TimerWheel.Callback spawnWave = t -> {
+        if (enemiesSpawned < totalEnemies) {
+            spawnEnemy();
+            enemiesSpawned++;
+        }
+    };
+    private final TimerWheel.Callback weaponCooldown = t -> weaponReady = true;
+    private int pendingDifficultySteps;
+    private final TimerWheel.Callback difficultyStep = t -> stepDifficulty();
+
+    /** Spawn and fire timers run on simulation time ({@link #getSimMillis()}). */
+    public Simulation(SimInput input, float playerRadius, float enemyRadius) {
+        this(input, null, playerRadius, enemyRadius);
+    }
+
+    /** Spawn and fire timers run on the given clock, or on simulation time if it is null. */
+    public Simulation(SimInput input, SimClock clock, float playerRadius, float enemyRadius) {
+        this(input, clock, playerRadius, enemyRadius, BULLET_POOL_PREALLOC, BULLET_POOL_MAX);
+    }
+
+    /** As above, with the bullet pool made {@code bulletPoolPrealloc} up front and keeping at most {@code bulletPoolMax} spare. */
+    public Simulation(SimInput input, SimClock clock, float playerRadius, float enemyRadius, int bulletPoolPrealloc, int bulletPoolMax) {
+        this.input = input;
+        this.clock = clock != null ? clock : this::getSimMillis;
+        this.playerRadius = playerRadius;
+        this.enemyRadius = enemyRadius;
+        this.enemies = new EnemySwarm(TOTAL_ENEMIES);
+        this.player = new Player(WIDTH / 2f, HEIGHT / 2f, playerRadius);
+        bullets = new Array<>(bulletPoolPrealloc);
+        bulletPool = new CountingPool<Bullet>(bulletPoolPrealloc, bulletPoolMax) {
+            @Override
+            protected Bullet newObject() {
+                return new Bullet();
+            }
+        };
+        bulletPool.fill(bulletPoolPrealloc);
+        collisions = new CollisionEvents(bulletPoolPrealloc);
+        spentBullets = new boolean[bulletPoolPrealloc];
+        setSeed(MathUtils.random.nextLong());
+        timers = new TimerWheel(this.clock.millis());
+        scheduleSpawns();
+    }
+
+    /** Reseeds the spawn RNG; call before the first tick to make a session reproducible. */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        random.setSeed(seed);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Raises or lowers the number of enemies that have to be killed; 0 means no limit, for stress runs. */
+    public void setTotalEnemies(int totalEnemies) {
+        this.totalEnemies = totalEnemies == 0 ? Integer.MAX_VALUE : totalEnemies;
+    }
+
+    /** When set, enemies reaching the player no longer end the game; for benchmarks and soak runs. */
+    public void setInvulnerable(boolean invulnerable) {
+        this.invulnerable = invulnerable;
+    }
+
+    /** Moves the swarm on worker threads once it is big enough; null goes back to serial. */
+    public void setParallelMover(ParallelSwarmMover parallelMover) {
+        this.parallelMover = parallelMover;
+    }
+
+    /** Steers the swarm by this field (obstacles, separation); null, the default, homes straight in. */
+    public void setFlowField(FlowField flowField) {
+        this.flowField = flowField;
+        enemies.setFlowField(flowField);
+    }
+
+    public FlowField getFlowField() {
+        return flowField;
+    }
+
+    /** Moves far and off-screen enemies less often (see {@link SwarmLod}); null moves every enemy every tick. */
+    public void setLod(SwarmLod lod) {
+        this.lod = lod;
+        enemies.setLod(lod);
+    }
+
+    public SwarmLod getLod() {
+        return lod;
+    }
+
+    /** Told about shots and kills as they happen; null for none. */
+    public void setListener(SimListener listener) {
+        this.listener = listener;
+    }
+
+    /** Times each phase of the tick into the profiler; null turns it off. */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    public void tick(float delta) {
+        player.savePrevious();
+        for (int i = 0; i < bullets.size; i++) bullets.get(i).savePrevious();
+        enemies.savePrevious();
+
+        if (!gameState.equals(PLAYING)) return;
+
+        ticks++;
+        elapsedTime += delta;
+        simNanos += (long) (delta * 1_000_000_000d);
+        input.poll();
+
+        phaseBegin(FrameProfiler.TIMERS);
+        timerPhase();
+        phaseEnd(FrameProfiler.TIMERS);
+        phaseBegin(FrameProfiler.PLAYER);
+        player.update(delta, input);
+        phaseEnd(FrameProfiler.PLAYER);
+        phaseBegin(FrameProfiler.FIRE);
+        firePhase();
+        phaseEnd(FrameProfiler.FIRE);
+        phaseBegin(FrameProfiler.BULLETS);
+        bulletPhase(delta);
+        phaseEnd(FrameProfiler.BULLETS);
+        phaseBegin(FrameProfiler.MOVE);
+        movePhase(delta);
+        phaseEnd(FrameProfiler.MOVE);
+        phaseBegin(FrameProfiler.COLLIDE);
+        collidePhase();
+        phaseEnd(FrameProfiler.COLLIDE);
+    }
+
+    private void phaseBegin(int phase) {
+        if (profiler != null) profiler.begin(phase);
+    }
+
+    private void phaseEnd(int phase) {
+        if (profiler != null) profiler.end(phase);
+    }
+
+    /** Brings the timer wheel up to the clock: spawn waves, the weapon cooldown and difficulty steps fire here. */
+    public void timerPhase() {
+        timers.advance(clock.millis());
+    }
+
+    public void firePhase() {
+        if (input.firing() && weaponReady) {
+            bullets.add(bulletPool.obtain().init(player.x, player.y, player.angle));
+            if (listener != null) listener.onShot(player.x, player.y, player.angle);
+            weaponReady = false;
+            cooldownDeadline = timers.schedule(SHOOT_DELAY_MS, weaponCooldown).getDeadline();
+        }
+    }
+
+    public void bulletPhase(float delta) {
+        for (int i = bullets.size - 1; i >= 0; i--) {
+            Bullet b = bullets.get(i);
+            b.update(delta);
+            if (b.isOffscreen()) bulletPool.free(bullets.removeIndex(i));
+        }
+    }
+
+    public void movePhase(float delta) {
+        if (lod != null) lod.beginTick(enemies, delta);
+        if (flowField != null) flowField.update(player.x, player.y, enemies);
+        if (parallelMover != null) parallelMover.move(enemies, delta, player.x, player.y);
+        else enemies.move(delta, player.x, player.y);
+    }
+
+    /** Finds this tick's collisions, then applies them all at once. */
+    public void collidePhase() {
+        detectCollisions();
+        resolveCollisions();
+    }
+
+    /**
+     * Records every bullet hit and every enemy touching the player in the collision buffer and
+     * changes nothing else; positions are as they stand after this tick's moves.
+     */
+    public void detectCollisions() {
+        collisions.clear();
+        // keeping the hash up to date costs about as much as sweeping the whole swarm for one bullet, so
+        // with that few (or none, which leaves just the player's check) every enemy is tested directly
+        boolean broadphase = bullets.size >= BROADPHASE_MIN_BULLETS;
+        if (broadphase) updateEnemyHash();
+        for (int i = bullets.size - 1; i >= 0; i--) {
+            int j = findSweptHit(bullets.get(i), broadphase);
+            if (j >= 0) collisions.add(CollisionEvents.BULLET_HIT, i, j, enemies);
+        }
+        if (!invulnerable) findCatches(player.circle, broadphase);
+    }
+
+    /**
+     * Applies the detected collisions in one pass. An enemy dies once, to the first bullet detected on
+     * it; a second bullet on the same enemy is dropped as a duplicate and flies on. Spent
+     * bullets and dead enemies then leave in one compacting pass each, the kill-count difficulty ramp
+     * is scheduled once however many steps the tick crossed, and the listener hears every kill after
+     * the tick's state is final.
+     */
+    public void resolveCollisions() {
+        CollisionEvents events = collisions;
+        if (spentBullets.length < bullets.size) spentBullets = new boolean[bullets.size * 2];
+        int killed = 0, steps = 0;
+        boolean caught = false;
+        for (int e = 0; e < events.size; e++) {
+            int j = events.enemy[e];
+            if (events.type[e] != CollisionEvents.BULLET_HIT || enemies.dead[j]) continue;
+            enemies.dead[j] = true;
+            spentBullets[events.bullet[e]] = true;
+            events.applied[e] = true;
+            killed++;
+            score += 10;
+            kills++;
+            if (kills % 10 == 0 && kills <= totalEnemies) steps++;
+        }
+        // an enemy shot this tick has not caught anyone
+        for (int e = 0; e < events.size; e++) {
+            if (events.type[e] != CollisionEvents.PLAYER_CAUGHT || enemies.dead[events.enemy[e]]) continue;
+            events.applied[e] = true;
+            caught = true;
+        }
+        if (killed > 0) {
+            removeSpentBullets();
+            enemies.removeDead();
+        }
+        if (steps > 0) {
+            // takes effect at the start of the next tick, before anyone moves again
+            if (pendingDifficultySteps == 0) difficultyDeadline = timers.schedule(0, difficultyStep).getDeadline();
+            pendingDifficultySteps += steps;
+        }
+        if (listener != null && killed > 0) {
+            for (int e = 0; e < events.size; e++) {
+                if (events.applied[e] && events.type[e] == CollisionEvents.BULLET_HIT)
+                    listener.onKill(events.x[e], events.y[e], events.radius[e]);
+            }
+        }
+        if (caught) {
+            gameState = LOSE;
+            return;
+        }
+
+        if (kills >= totalEnemies) {
+            gameState = WIN;
+        }
+    }
+
+    /** The last tick's collisions, with {@link CollisionEvents#applied} set by the resolve. */
+    public CollisionEvents getCollisions() {
+        return collisions;
+    }
+
+    // one pass, keeping the surviving bullets in order
+    private void removeSpentBullets() {
+        boolean[] spent = spentBullets;
+        int kept = 0;
+        for (int i = 0; i < bullets.size; i++) {
+            Bullet b = bullets.get(i);
+            if (spent[i]) {
+                bulletPool.free(b);
+                spent[i] = false;
+            } else {
+                bullets.set(kept++, b);
+            }
+        }
+        bullets.truncate(kept);
+    }
+
+    private void stepDifficulty() {
+        for (; pendingDifficultySteps > 0; pendingDifficultySteps--) enemies.speedMultiplier *= SPEED_INCREASE_FACTOR;
+    }
+
+    // the first enemy comes on the first tick, then one every SPAWN_INTERVAL_MS while any are left
+    private void scheduleSpawns() {
+        spawnTimer = timers.schedule(1, SPAWN_INTERVAL_MS, spawnWave);
+    }
+
+    /** Spawns one enemy on the ring around the centre of the view. */
+    public void spawnEnemy() {
+        float a = random.nextFloat() * MathUtils.PI2;
+        float d = 600 + random.nextInt(301);
+        float x = WIDTH / 2f + MathUtils.cos(a) * d;
+        float y = HEIGHT / 2f + MathUtils.sin(a) * d;
+        enemies.add(x, y, ENEMY_BASE_SPEED, random.nextFloat() * 360f, enemyRadius);
+    }
+
+    // slots are what the hash holds, so an enemy swapped into a freed slot is just a move
+    private void updateEnemyHash() {
+        maxEnemyRadius = enemies.maxRadius();
+        if (maxEnemyRadius > 0f) enemyHash.setCellSize(maxEnemyRadius * 2f);
+        for (int j = 0; j < enemies.size; j++) enemyHash.put(j, enemies.x[j], enemies.y[j]);
+        enemyHash.truncate(enemies.size);
+    }
+
+    private void findCatches(Circle c, boolean broadphase) {
+        int n = enemies.size;
+        if (broadphase) {
+            float reach = c.radius + maxEnemyRadius;
+            enemyHash.query(c.x - reach, c.y - reach, c.x + reach, c.y + reach, hashCandidates);
+            n = hashCandidates.size;
+        }
+        for (int k = 0; k < n; k++) {
+            int j = broadphase ? hashCandidates.items[k] : k;
+            if (enemies.overlaps(j, c.x, c.y, c.radius)) collisions.add(CollisionEvents.PLAYER_CAUGHT, -1, j, enemies);
+        }
+    }
+
+    /**
+     * Earliest enemy along the bullet's path this tick, from where it started the tick to where it is
+     * now, so a fast bullet (or a long step at a low tick rate) cannot pass through an enemy between
+     * two positions. Enemies are taken at their new positions; ties go to the one spawned last, so
+     * the answer does not depend on the order candidates come in.
+     */
+    private int findSweptHit(Bullet b, boolean broadphase) {
+        float x0 = b.prevX, y0 = b.prevY, x1 = b.x, y1 = b.y;
+        int n = enemies.size;
+        if (broadphase) {
+            float reach = b.circle.radius + maxEnemyRadius;
+            enemyHash.query(Math.min(x0, x1) - reach, Math.min(y0, y1) - reach,
+                    Math.max(x0, x1) + reach, Math.max(y0, y1) + reach, hashCandidates);
+            n = hashCandidates.size;
+        }
+        int hit = -1;
+        float hitT = Float.MAX_VALUE;
+        for (int k = 0; k < n; k++) {
+            int j = broadphase ? hashCandidates.items[k] : k;
+            float t = enemies.sweep(j, x0, y0, x1, y1, b.circle.radius);
+            if (t < 0 || t > hitT) continue;
+            if (t == hitT && enemies.serial[j] <= enemies.serial[hit]) continue;
+            hit = j;
+            hitT = t;
+        }
+        return hit;
+    }
+
+    public void reset() {
+        score = 0;
+        enemiesSpawned = 0;
+        kills = 0;
+        elapsedTime = 0f;
+        simNanos = 0;
+        ticks = 0;
+        gameState = PLAYING;
+        timers.clear(clock.millis());
+        pendingDifficultySteps = 0;
+        collisions.clear();
+        if (lod != null) lod.reset();
+        weaponReady = true;
+        scheduleSpawns();
+
+        bulletPool.freeAll(bullets);
+        bullets.clear();
+        enemies.clear();
+        enemies.speedMultiplier = 1f;
+
+        player = new Player(WIDTH / 2f, HEIGHT / 2f, playerRadius);
+    }
+
+    /**
+     * Copies the whole world into {@code s} without allocating (once {@code s} is big enough). Call
+     * between ticks. Timers scheduled on {@link #getTimers()} from outside are not included.
+     */
+    public void save(WorldSnapshot s) {
+        s.tick = ticks;
+        s.score = score;
+        s.kills = kills;
+        s.enemiesSpawned = enemiesSpawned;
+        s.gameState = gameState;
+        s.elapsedTime = elapsedTime;
+        s.simNanos = simNanos;
+        s.rng0 = random.getState(0);
+        s.rng1 = random.getState(1);
+        s.weaponReady = weaponReady;
+        s.pendingDifficultySteps = pendingDifficultySteps;
+        s.timerTime = timers.getTime();
+        s.spawnDeadline = spawnTimer.getDeadline();
+        s.cooldownDeadline = cooldownDeadline;
+        s.difficultyDeadline = difficultyDeadline;
+        s.lodTick = lod != null ? lod.tick : -1;
+        s.playerX = player.x;
+        s.playerY = player.y;
+        s.playerAngle = player.angle;
+
+        int n = bullets.size;
+        s.ensureBullets(n);
+        s.bulletCount = n;
+        float[] out = s.bullets;
+        for (int i = 0, o = 0; i < n; i++, o += WorldSnapshot.BULLET_STRIDE) {
+            Bullet b = bullets.get(i);
+            out[o] = b.x;
+            out[o + 1] = b.y;
+            out[o + 2] = b.vel.x;
+            out[o + 3] = b.vel.y;
+        }
+        enemies.save(s);
+    }
+
+    /**
+     * Puts the world back to how it was when {@code s} was saved, so the next tick plays out exactly as
+     * it did then (given the same input). Allocates nothing while the bullet pool has bullets to spare.
+     * The timers restart at the saved time, so this rewinds cleanly on the default simulation clock;
+     * on any other clock the next tick catches the timers up to it.
+     */
+    public void restore(WorldSnapshot s) {
+        ticks = s.tick;
+        score = s.score;
+        kills = s.kills;
+        enemiesSpawned = s.enemiesSpawned;
+        gameState = s.gameState;
+        elapsedTime = s.elapsedTime;
+        simNanos = s.simNanos;
+        random.setState(s.rng0, s.rng1);
+        weaponReady = s.weaponReady;
+        pendingDifficultySteps = s.pendingDifficultySteps;
+        long now = s.timerTime;
+        timers.clear(now);
+        spawnTimer = timers.schedule(s.spawnDeadline - now, SPAWN_INTERVAL_MS, spawnWave);
+        cooldownDeadline = s.cooldownDeadline;
+        if (!weaponReady) timers.schedule(cooldownDeadline - now, weaponCooldown);
+        difficultyDeadline = s.difficultyDeadline;
+        if (pendingDifficultySteps > 0) timers.schedule(difficultyDeadline - now, difficultyStep);
+        if (lod != null) lod.tick = s.lodTick;
+        collisions.clear();
+
+        player.x = s.playerX;
+        player.y = s.playerY;
+        player.angle = s.playerAngle;
+        player.circle.setPosition(player.x, player.y);
+        player.savePrevious();
+
+        int n = s.bulletCount;
+        while (bullets.size > n) bulletPool.free(bullets.pop());
+        while (bullets.size < n) bullets.add(bulletPool.obtain());
+        float[] in = s.bullets;
+        for (int i = 0, o = 0; i < n; i++, o += WorldSnapshot.BULLET_STRIDE) {
+            Bullet b = bullets.get(i);
+            b.x = in[o];
+            b.y = in[o + 1];
+            b.vel.set(in[o + 2], in[o + 3]);
+            b.circle.radius = Bullet.RADIUS;
+            b.circle.setPosition(b.x, b.y);
+            b.savePrevious();
+        }
+        enemies.restore(s);
+    }
+
+    /** Ticks played since the last {@link #reset()}. */
+    public long getTicks() {
+        return ticks;
+    }
+
+    public boolean isPlaying() {
+        return gameState.equals(PLAYING);
+    }
+
+    public String getGameState() {
+        return gameState;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getKills() {
+        return kills;
+    }
+
+    public int getEnemiesSpawned() {
+        return enemiesSpawned;
+    }
+
+    public int getTotalEnemies() {
+        return totalEnemies;
+    }
+
+    public float getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /** Played time summed from tick deltas; the default clock for the spawn and fire timers. */
+    public long getSimMillis() {
+        return simNanos / 1_000_000;
+    }
+
+    public float getPlayerRadius() {
+        return playerRadius;
+    }
+
+    public float getEnemyRadius() {
+        return enemyRadius;
+    }
+
+    public CountingPool<Bullet> getBulletPool() {
+        return bulletPool;
+    }
+
+    public TimerWheel getTimers() {
+        return timers;
+    }
+}
@@ -0,0 +1,183 @@
+package Shooter_game.o;
+
+/**
+ * The last {@code capacity} ticks of a {@link Simulation}, for rollback and retry from a checkpoint: one
+ * preallocated {@link WorldSnapshot} per tick plus the input each tick saw. Sits between the real input
+ * and the simulation like {@link InputRecorder}, passing input through and remembering it, so
+ * {@link #resimulate} can go back to a stored tick and play the recorded input (or a corrected one, see
+ * {@link #setInput}) forward again. Nothing allocates once the snapshots have grown to the world's size.
+ * <p>
+ * Call {@link #save} once before the first tick and after every tick after that. Not thread-safe.
+ */
+public class SnapshotRing implements SimInput {
+    private final SimInput source;
+    private final WorldSnapshot[] snapshots;
+    // per tick, in the recorder's flag layout: move x + 1 in bits 0-1, move y + 1 in bits 2-3, fire
+    private final byte[] flags;
+    private final float[] aimXs, aimYs;
+    private long inputTick; // the tick the next poll belongs to
+    private long inputEnd; // one past the last tick with recorded input
+    private boolean replaying;
+
+    private int moveX, moveY;
+    private float aimX, aimY;
+    private boolean firing;
+
+    public SnapshotRing(SimInput source, int capacity, int enemyCapacity, int bulletCapacity) {
+        if (capacity < 2) throw new IllegalArgumentException("Snapshot ring needs at least 2 slots: " + capacity);
+        this.source = source;
+        snapshots = new WorldSnapshot[capacity];
+        for (int i = 0; i < capacity; i++) snapshots[i] = new WorldSnapshot(enemyCapacity, bulletCapacity);
+        flags = new byte[capacity];
+        aimXs = new float[capacity];
+        aimYs = new float[capacity];
+    }
+
+    /** Stores the simulation as it stands, over the oldest snapshot once the ring is full. */
+    public void save(Simulation sim) {
+        long tick = sim.getTicks();
+        sim.save(snapshots[slot(tick)]);
+        inputTick = tick;
+    }
+
+    /** The snapshot taken at {@code tick}, or null if it was never taken or has been overwritten. */
+    public WorldSnapshot get(long tick) {
+        if (tick < 0) return null;
+        WorldSnapshot s = snapshots[slot(tick)];
+        return s.tick == tick ? s : null;
+    }
+
+    /** The oldest tick that can still be restored, or -1 if the ring is empty. */
+    public long getOldestTick() {
+        long oldest = -1;
+        for (WorldSnapshot s : snapshots) {
+            if (s.tick >= 0 && (oldest < 0 || s.tick < oldest)) oldest = s.tick;
+        }
+        return oldest;
+    }
+
+    /**
+     * Puts the simulation back to {@code tick} and forgets everything after it, like retrying from a
+     * checkpoint: play goes on from there with fresh input. Returns false if the tick is no longer stored.
+     */
+    public boolean restore(Simulation sim, long tick) {
+        WorldSnapshot s = get(tick);
+        if (s == null) return false;
+        sim.restore(s);
+        inputTick = tick;
+        inputEnd = tick;
+        dropAfter(tick);
+        return true;
+    }
+
+    /**
+     * Restores {@code fromTick} and runs up to {@code ticks} ticks on the input recorded for them, saving
+     * each one over the old snapshot, so the ring ends up holding the re-simulated history; snapshots
+     * past the last tick run are dropped. Stops early where the recorded input runs out or the game
+     * ends. Returns the ticks run, or -1 if {@code fromTick} is no longer stored.
+     */
+    public int resimulate(Simulation sim, long fromTick, int ticks, float delta) {
+        WorldSnapshot s = get(fromTick);
+        if (s == null) return -1;
+        sim.restore(s);
+        inputTick = fromTick;
+        long end = Math.min(inputEnd, fromTick + ticks);
+        int run = 0;
+        replaying = true;
+        try {
+            while (sim.getTicks() < end && sim.isPlaying()) {
+                sim.tick(delta);
+                save(sim);
+                run++;
+            }
+        } finally {
+            replaying = false;
+        }
+        // anything newer belongs to the old history
+        dropAfter(sim.getTicks());
+        return run;
+    }
+
+    /**
+     * Replaces the input recorded for {@code tick}, e.g. with a remote player's input that arrived late;
+     * {@link #resimulate} from that tick or earlier then plays it. Returns false if the tick is not held.
+     */
+    public boolean setInput(long tick, int moveX, int moveY, float aimX, float aimY, boolean firing) {
+        if (tick >= inputEnd || tick < inputEnd - flags.length) return false;
+        int i = slot(tick);
+        flags[i] = (byte) ((moveX + 1) | (moveY + 1) << 2 | (firing ? InputRecorder.FIRE : 0));
+        aimXs[i] = aimX;
+        aimYs[i] = aimY;
+        return true;
+    }
+
+    /** Drops every snapshot and all recorded input, for a new game on the same simulation. */
+    public void clear() {
+        for (WorldSnapshot s : snapshots) s.tick = -1;
+        inputTick = inputEnd = 0;
+    }
+
+    public int getCapacity() {
+        return snapshots.length;
+    }
+
+    @Override
+    public void poll() {
+        int i = slot(inputTick);
+        if (replaying) {
+            int f = flags[i];
+            moveX = (f & 3) - 1;
+            moveY = (f >> 2 & 3) - 1;
+            firing = (f & InputRecorder.FIRE) != 0;
+            aimX = aimXs[i];
+            aimY = aimYs[i];
+        } else {
+            source.poll();
+            moveX = source.moveX();
+            moveY = source.moveY();
+            aimX = source.aimX();
+            aimY = source.aimY();
+            firing = source.firing();
+            flags[i] = (byte) ((moveX + 1) | (moveY + 1) << 2 | (firing ? InputRecorder.FIRE : 0));
+            aimXs[i] = aimX;
+            aimYs[i] = aimY;
+            inputEnd = inputTick + 1;
+        }
+        inputTick++;
+    }
+
+    private void dropAfter(long tick) {
+        for (WorldSnapshot s : snapshots) {
+            if (s.tick > tick) s.tick = -1;
+        }
+    }
+
+    private int slot(long tick) {
+        return (int) (tick % snapshots.length);
+    }
+
+    @Override
+    public int moveX() {
+        return moveX;
+    }
+
+    @Override
+    public int moveY() {
+        return moveY;
+    }
+
+    @Override
+    public float aimX() {
+        return aimX;
+    }
+
+    @Override
+    public float aimY() {
+        return aimY;
+    }
+
+    @Override
+    public boolean firing() {
+        return firing;
+    }
+}
@@ -0,0 +1,45 @@
+package Shooter_game.o;
+
+/**
+ * Lets a {@link BotInput} play game after game headless, as fast as the simulation goes, for a set
+ * wall-clock time, with a {@link SoakMonitor} watching. Used through {@code --bot=<style>} and
+ * {@code --soak-minutes=<n>} on the desktop launcher.
+ */
+public class Soak {
+    // the radii Shooter ends up with from the desktop atlas (player scaled to 96 px, 64 px rockets)
+    static final float PLAYER_RADIUS = 96f * 0.4f, ENEMY_RADIUS = 64f * 0.4f;
+
+    private Soak() {
+    }
+
+    public static SoakMonitor run(GameConfig config, long durationMillis, ParallelSwarmMover parallelMover) {
+        long seed = config.seed != null ? config.seed : System.nanoTime();
+        BotInput bot = new BotInput(config.bot != null ? config.bot : BotInput.KITE, seed);
+        Simulation sim = new Simulation(bot, PLAYER_RADIUS, ENEMY_RADIUS);
+        bot.setSimulation(sim);
+        sim.setSeed(seed);
+        sim.setTotalEnemies(config.totalEnemies);
+        if (config.flowField) sim.setFlowField(FlowField.forWorld());
+        if (config.lod) sim.setLod(new SwarmLod());
+        sim.setParallelMover(parallelMover);
+        SoakMonitor monitor = new SoakMonitor(config.soakSampleSeconds * 1000L);
+
+        float step = 1f / config.simHz;
+        long start = System.currentTimeMillis(), end = start + durationMillis;
+        monitor.sample(sim, start);
+        long now = start;
+        while (now < end) {
+            long t0 = System.nanoTime();
+            sim.tick(step);
+            monitor.tickDone(System.nanoTime() - t0);
+            if (!sim.isPlaying()) {
+                monitor.gameEnded(sim);
+                sim.reset();
+            }
+            now = System.currentTimeMillis();
+            monitor.sampleIfDue(sim, now);
+        }
+        monitor.sample(sim, now);
+        return monitor;
+    }
+}
@@ -0,0 +1,220 @@
+package Shooter_game.o;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Watches a long run for leaks. Every sample interval it reads heap use, the heap left after the last
+ * collection and GC totals from the JMX beans, plus entity counts, pending timers and tick times, into
+ * primitive arrays; {@link #findGrowth} then looks for series that only ever go up and
+ * {@link #report} sums the run up as plain text.
+ * <p>
+ * A series counts as growing when, past the first {@link #WARMUP_FRACTION} of the samples, the minimum
+ * of each of {@link #SEGMENTS} equal stretches is above the one before, and the last is more than
+ * {@link #GROWTH_TOLERANCE} above the first. Minima, because heap use saw-tooths between collections
+ * and the swarm swells and empties with every game; only a floor that keeps rising looks like a leak.
+ * The JMX beans only give total collection time, so pauses are reported as the mean pause within a
+ * sample interval.
+ */
+public class SoakMonitor {
+    public static final int HEAP_USED = 0;
+    public static final int HEAP_AFTER_GC = 1;
+    public static final int ENEMIES = 2;
+    public static final int BULLETS = 3;
+    public static final int TIMERS = 4;
+    public static final int TICK_NANOS = 5;
+    public static final int SERIES = 6;
+
+    public static final long DEFAULT_SAMPLE_MILLIS = 10_000;
+    static final float WARMUP_FRACTION = 0.2f;
+    static final int SEGMENTS = 4;
+    static final float GROWTH_TOLERANCE = 0.1f;
+    private static final String[] NAMES = {"heap used", "heap after GC", "enemies", "bullets", "timers", "tick ns"};
+
+    private final long sampleMillis;
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans();
+    private long startMillis = -1, nextSample, lastMillis;
+
+    private long[][] series = new long[SERIES][256];
+    private long[] gcCount = new long[256], gcMillis = new long[256];
+    private int samples;
+
+    // since the last sample
+    private long tickNanos, tickMax;
+    private int ticks;
+    private long totalTicks, worstTick;
+    private int games;
+    private long kills;
+
+    public SoakMonitor(long sampleMillis) {
+        this.sampleMillis = sampleMillis;
+    }
+
+    public static String name(int series) {
+        return NAMES[series];
+    }
+
+    /** Game thread, after every tick: how long it took. */
+    public void tickDone(long nanos) {
+        tickNanos += nanos;
+        if (nanos > tickMax) tickMax = nanos;
+        ticks++;
+    }
+
+    /** Game thread, when a game ends and before it is reset. */
+    public void gameEnded(Simulation sim) {
+        games++;
+        kills += sim.getKills();
+    }
+
+    /** Takes a sample if the interval has passed since the last one; the first call always samples. */
+    public boolean sampleIfDue(Simulation sim, long nowMillis) {
+        if (startMillis >= 0 && nowMillis < nextSample) return false;
+        sample(sim, nowMillis);
+        return true;
+    }
+
+    public void sample(Simulation sim, long nowMillis) {
+        if (startMillis < 0) startMillis = nowMillis;
+        lastMillis = nowMillis;
+        nextSample = nowMillis + sampleMillis;
+        if (samples == gcCount.length) grow(samples * 2);
+        int s = samples++;
+        long afterGc = 0, used = 0;
+        for (MemoryPoolMXBean pool : pools) {
+            if (pool.getType() != MemoryType.HEAP) continue;
+            used += pool.getUsage().getUsed();
+            MemoryUsage collected = pool.getCollectionUsage();
+            if (collected != null) afterGc += collected.getUsed();
+        }
+        long count = 0, millis = 0;
+        for (GarbageCollectorMXBean gc : collectors) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        series[HEAP_USED][s] = used;
+        series[HEAP_AFTER_GC][s] = afterGc;
+        series[ENEMIES][s] = sim.enemies.size;
+        series[BULLETS][s] = sim.bullets.size;
+        series[TIMERS][s] = sim.getTimers().getPending();
+        series[TICK_NANOS][s] = ticks == 0 ? 0 : tickNanos / ticks;
+        gcCount[s] = count;
+        gcMillis[s] = millis;
+        totalTicks += ticks;
+        worstTick = Math.max(worstTick, tickMax);
+        tickNanos = tickMax = 0;
+        ticks = 0;
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    public long get(int series, int sample) {
+        return this.series[series][sample];
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    /** Bit {@code 1 << series} is set for every series whose floor kept rising (see the class comment). */
+    public int findGrowth() {
+        int from = (int) (samples * WARMUP_FRACTION);
+        int span = (samples - from) / SEGMENTS;
+        if (span < 2) return 0;
+        int mask = 0;
+        for (int k = 0; k < SERIES; k++) {
+            long[] v = series[k];
+            long first = min(v, from, from + span), previous = first;
+            boolean rising = true;
+            for (int seg = 1; seg < SEGMENTS && rising; seg++) {
+                long m = min(v, from + seg * span, seg == SEGMENTS - 1 ? samples : from + (seg + 1) * span);
+                rising = m > previous;
+                previous = m;
+            }
+            if (rising && previous > first * (1f + GROWTH_TOLERANCE)) mask |= 1 << k;
+        }
+        return mask;
+    }
+
+    /** A plain-text summary of the run so far. */
+    public String report() {
+        StringBuilder sb = new StringBuilder(1024);
+        long seconds = (lastMillis - startMillis) / 1000;
+        sb.append("Soak report\n");
+        sb.append("run         ").append(seconds).append(" s, ").append(totalTicks).append(" ticks, ")
+                .append(games).append(" games ended, ").append(kills).append(" kills in them\n");
+        sb.append("samples     ").append(samples).append(", every ").append(sampleMillis / 1000f).append(" s\n");
+        if (samples == 0) return sb.append("no samples\n").toString();
+        int last = samples - 1;
+        long mb = 1 << 20;
+        sb.append("heap used   ").append(min(series[HEAP_USED], 0, samples) / mb).append(" to ")
+                .append(max(series[HEAP_USED], 0, samples) / mb).append(" MiB\n");
+        sb.append("after GC    ").append(series[HEAP_AFTER_GC][0] / mb).append(" MiB at the start, ")
+                .append(series[HEAP_AFTER_GC][last] / mb).append(" MiB at the end\n");
+        long longestPause = 0;
+        for (int s = 1; s < samples; s++) {
+            long n = gcCount[s] - gcCount[s - 1];
+            if (n > 0) longestPause = Math.max(longestPause, (gcMillis[s] - gcMillis[s - 1]) / n);
+        }
+        sb.append("gc          ").append(gcCount[last] - gcCount[0]).append(" collections, ")
+                .append(gcMillis[last] - gcMillis[0]).append(" ms in total, worst interval's mean pause ")
+                .append(longestPause).append(" ms\n");
+        sb.append("enemies     max ").append(max(series[ENEMIES], 0, samples)).append(", bullets max ")
+                .append(max(series[BULLETS], 0, samples)).append(", timers max ").append(max(series[TIMERS], 0, samples)).append('\n');
+        long tickSum = 0;
+        for (int s = 0; s < samples; s++) tickSum += series[TICK_NANOS][s];
+        sb.append("tick        mean ").append(tickSum / samples / 1000f).append(" us, worst interval's mean ")
+                .append(max(series[TICK_NANOS], 0, samples) / 1000f).append(" us, slowest ")
+                .append(worstTick / 1000f).append(" us\n");
+        int growth = findGrowth();
+        sb.append("growth      ");
+        if (samples - (int) (samples * WARMUP_FRACTION) < 2 * SEGMENTS) {
+            sb.append("too few samples to tell\n");
+        } else if (growth == 0) {
+            sb.append("none\n");
+        } else {
+            for (int k = 0; k < SERIES; k++) {
+                if ((growth & 1 << k) != 0) sb.append(NAMES[k]).append(", ");
+            }
+            sb.setLength(sb.length() - 2);
+            sb.append(" kept rising: possible leak\n");
+        }
+        return sb.toString();
+    }
+
+    public void writeReport(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Files.write(path, report().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void grow(int cap) {
+        for (int k = 0; k < SERIES; k++) series[k] = Arrays.copyOf(series[k], cap);
+        gcCount = Arrays.copyOf(gcCount, cap);
+        gcMillis = Arrays.copyOf(gcMillis, cap);
+    }
+
+    private static long min(long[] v, int from, int to) {
+        long m = Long.MAX_VALUE;
+        for (int i = from; i < to; i++) m = Math.min(m, v[i]);
+        return m;
+    }
+
+    private static long max(long[] v, int from, int to) {
+        long m = Long.MIN_VALUE;
+        for (int i = from; i < to; i++) m = Math.max(m, v[i]);
+        return m;
+    }
+}
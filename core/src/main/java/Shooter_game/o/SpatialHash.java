@@ -0,0 +1,163 @@
+package Shooter_game.o;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Uniform-grid spatial hash for point entities, kept up to date incrementally: each id sits in an
+ * intrusive list for its cell's bucket, and {@link #put} only relinks it when it has moved to another
+ * cell, so a tick costs a cell lookup per entity rather than a rebuild. Queries only touch the
+ * cells around a box.
+ * Cell coordinates are hashed into a power-of-two table, so the grid is unbounded; hash collisions
+ * only add extra candidates, which the caller filters with an exact test anyway.
+ */
+public class SpatialHash {
+    private static final int MIN_TABLE_SIZE = 1024;
+    private static final int NONE = -1;
+
+    private float cellSize;
+    private float invCellSize;
+
+    private int[] head = newTable(MIN_TABLE_SIZE);
+    private int[] stamp = new int[MIN_TABLE_SIZE]; // the last query to visit each bucket
+    private int tableMask = MIN_TABLE_SIZE - 1;
+    private int queryStamp;
+
+    // per id: its cell's unmasked hash, its bucket (NONE when absent) and its neighbours in that bucket
+    private int[] cell = new int[64];
+    private int[] bucket = newTable(64);
+    private int[] next = new int[64];
+    private int[] prev = new int[64];
+    private int size, idLimit;
+
+    public SpatialHash(float cellSize) {
+        setCellSize(cellSize);
+    }
+
+    /** A different size puts every entity in a different cell, so the hash is emptied. */
+    public void setCellSize(float cellSize) {
+        if (cellSize <= 0) throw new IllegalArgumentException("cellSize must be > 0: " + cellSize);
+        if (cellSize == this.cellSize) return;
+        this.cellSize = cellSize;
+        this.invCellSize = 1f / cellSize;
+        clear();
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(head, NONE);
+        Arrays.fill(bucket, 0, idLimit, NONE);
+        size = idLimit = 0;
+    }
+
+    /** Adds an entity by its centre, or moves it there if it is already in. */
+    public void put(int id, float x, float y) {
+        int h = hash(cellX(x), cellY(y));
+        if (id < idLimit && bucket[id] != NONE) {
+            if (cell[id] == h) return;
+            unlink(id);
+        } else {
+            if (id >= cell.length) grow(id + 1);
+            idLimit = Math.max(idLimit, id + 1);
+            if (++size * 2 > tableMask + 1) rehash(MathUtils.nextPowerOfTwo(size * 2));
+        }
+        cell[id] = h;
+        link(id, h & tableMask);
+    }
+
+    public void remove(int id) {
+        if (id >= idLimit || bucket[id] == NONE) return;
+        unlink(id);
+        size--;
+    }
+
+    /** Removes every id from {@code n} on; for entities kept dense in {@code [0, n)}. */
+    public void truncate(int n) {
+        for (int id = n; id < idLimit; id++) remove(id);
+        idLimit = Math.min(idLimit, n);
+    }
+
+    /** Collects the ids of every entity whose cell overlaps the box; may contain false positives. */
+    public void query(float minX, float minY, float maxX, float maxY, IntArray out) {
+        out.clear();
+        if (++queryStamp == 0) { // wrapped: forget every visit so far
+            Arrays.fill(stamp, 0);
+            queryStamp = 1;
+        }
+        int cx0 = cellX(minX), cx1 = cellX(maxX);
+        int cy0 = cellY(minY), cy1 = cellY(maxY);
+        for (int cx = cx0; cx <= cx1; cx++) {
+            for (int cy = cy0; cy <= cy1; cy++) {
+                int b = hash(cx, cy) & tableMask;
+                if (stamp[b] == queryStamp) continue; // two cells in one bucket
+                stamp[b] = queryStamp;
+                for (int id = head[b]; id != NONE; id = next[id]) out.add(id);
+            }
+        }
+    }
+
+    private void link(int id, int b) {
+        int first = head[b];
+        next[id] = first;
+        prev[id] = NONE;
+        if (first != NONE) prev[first] = id;
+        head[b] = id;
+        bucket[id] = b;
+    }
+
+    private void unlink(int id) {
+        int p = prev[id], n = next[id];
+        if (p != NONE) next[p] = n;
+        else head[bucket[id]] = n;
+        if (n != NONE) prev[n] = p;
+        bucket[id] = NONE;
+    }
+
+    private void grow(int minCapacity) {
+        int cap = Math.max(minCapacity, cell.length * 2);
+        int old = bucket.length;
+        cell = Arrays.copyOf(cell, cap);
+        bucket = Arrays.copyOf(bucket, cap);
+        Arrays.fill(bucket, old, cap, NONE);
+        next = Arrays.copyOf(next, cap);
+        prev = Arrays.copyOf(prev, cap);
+    }
+
+    private void rehash(int tableSize) {
+        head = newTable(tableSize);
+        stamp = new int[tableSize];
+        queryStamp = 0;
+        tableMask = tableSize - 1;
+        for (int id = 0; id < idLimit; id++) {
+            if (bucket[id] != NONE) link(id, cell[id] & tableMask);
+        }
+    }
+
+    private int cellX(float x) {
+        return MathUtils.floor(x * invCellSize);
+    }
+
+    private int cellY(float y) {
+        return MathUtils.floor(y * invCellSize);
+    }
+
+    private static int hash(int cx, int cy) {
+        int h = cx * 0x8da6b343 ^ cy * 0xd8163841;
+        return h ^ (h >>> 16);
+    }
+
+    private static int[] newTable(int size) {
+        int[] table = new int[size];
+        Arrays.fill(table, NONE);
+        return table;
+    }
+}
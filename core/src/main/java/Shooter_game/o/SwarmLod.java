@@ -0,0 +1,126 @@
+package Shooter_game.o;
+
+/**
+ * Level of detail for the swarm move. Enemies on screen or within {@link #getNearRadius()} of the
+ * player move every tick, exactly as without LOD, so everything they can touch collides exactly.
+ * Off-screen enemies move every {@link #MID_INTERVAL}th tick, and past {@link #getFarRadius()} every
+ * {@link #FAR_INTERVAL}th, in buckets staggered by spawn serial so each tick moves an even share.
+ * <p>
+ * A skipped enemy keeps the time it missed as debt in {@link EnemySwarm#lodDebt} and pays it all off
+ * in one longer step the next time it moves, so no enemy ever loses time, however its tier changes.
+ * Intervals shrink as the difficulty ramp speeds the swarm up, so that no single step goes past
+ * {@link #MAX_STEP}, which keeps the long steps inside one flow-field cell.
+ * <p>
+ * The move picks each enemy's next tier ({@link EnemySwarm#lodTier}) right after moving it, so a
+ * skipped enemy costs a couple of array reads and nothing walks the whole swarm just to sort it. A
+ * tier can be up to {@link #FAR_INTERVAL} ticks stale; the view margin covers that.
+ */
+public class SwarmLod {
+    public static final int NEAR = 0;
+    public static final int MID = 1;
+    public static final int FAR = 2;
+    public static final int TIERS = 3;
+
+    public static final int MID_INTERVAL = 2;
+    public static final int FAR_INTERVAL = 4;
+    public static final float DEFAULT_NEAR_RADIUS = 250f;
+    public static final float DEFAULT_FAR_RADIUS = 700f;
+    /** Longest distance one step may cover, half a flow-field cell. */
+    public static final float MAX_STEP = FlowField.DEFAULT_CELL_SIZE / 2f;
+    /** How far past the view edge an enemy already counts as on screen. */
+    private static final float VIEW_MARGIN = 64f;
+
+    private final float nearRadius, farRadius;
+    private final float near2, far2;
+    private float minX = -VIEW_MARGIN, minY = -VIEW_MARGIN;
+    private float maxX = Simulation.WIDTH + VIEW_MARGIN, maxY = Simulation.HEIGHT + VIEW_MARGIN;
+
+    /** This tick's bucket mask per tier: an enemy moves when {@code (serial ^ tick) & mask} is 0. */
+    final int[] masks = new int[TIERS];
+    int tick = -1;
+    private final int[] counts = new int[TIERS];
+    private int moved;
+
+    public SwarmLod() {
+        this(DEFAULT_NEAR_RADIUS, DEFAULT_FAR_RADIUS);
+    }
+
+    public SwarmLod(float nearRadius, float farRadius) {
+        this.nearRadius = nearRadius;
+        this.farRadius = Math.max(nearRadius, farRadius);
+        near2 = nearRadius * nearRadius;
+        far2 = this.farRadius * this.farRadius;
+    }
+
+    /** The world rectangle counted as on screen (before the margin); defaults to the whole world view. */
+    public void setView(float minX, float minY, float maxX, float maxY) {
+        this.minX = minX - VIEW_MARGIN;
+        this.minY = minY - VIEW_MARGIN;
+        this.maxX = maxX + VIEW_MARGIN;
+        this.maxY = maxY + VIEW_MARGIN;
+    }
+
+    /** Moves on to the next bucket; call once a tick, before the swarm moves. */
+    public void beginTick(EnemySwarm swarm, float delta) {
+        tick++;
+        // enemies spawn at the base speed, so this bounds every step
+        float maxStepTime = MAX_STEP / (Simulation.ENEMY_BASE_SPEED * swarm.speedMultiplier);
+        int interval = FAR_INTERVAL;
+        while (interval > 1 && delta * interval > maxStepTime) interval >>= 1;
+        masks[NEAR] = 0;
+        masks[MID] = Math.min(MID_INTERVAL, interval) - 1;
+        masks[FAR] = interval - 1;
+    }
+
+    /** The tier for an enemy at (x, y) with the player at (px, py). */
+    int tierOf(float x, float y, float px, float py) {
+        float dx = x - px, dy = y - py, d2 = dx * dx + dy * dy;
+        if (d2 <= near2 || (x >= minX && x <= maxX && y >= minY && y <= maxY)) return NEAR;
+        return d2 <= far2 ? MID : FAR;
+    }
+
+    /** Restarts the bucket rotation, for a new game on the same simulation. */
+    public void reset() {
+        tick = -1;
+    }
+
+    /**
+     * Counts the swarm's tiers and how many enemies the current tick moves. Walks every slot, so call
+     * it when the numbers are wanted rather than every tick.
+     */
+    public void count(EnemySwarm swarm) {
+        counts[NEAR] = counts[MID] = counts[FAR] = 0;
+        int due = 0;
+        byte[] tier = swarm.lodTier;
+        int[] serial = swarm.serial;
+        for (int i = 0; i < swarm.size; i++) {
+            counts[tier[i]]++;
+            if (((serial[i] ^ tick) & masks[tier[i]]) == 0) due++;
+        }
+        moved = due;
+    }
+
+    public float getNearRadius() {
+        return nearRadius;
+    }
+
+    public float getFarRadius() {
+        return farRadius;
+    }
+
+    /** Enemies in {@link #NEAR}, {@link #MID} or {@link #FAR} at the last {@link #count}. */
+    public int getCount(int tier) {
+        return counts[tier];
+    }
+
+    /** Enemies the current tick moves, as of the last {@link #count}. */
+    public int getMoved() {
+        return moved;
+    }
+
+    /** Share of the current tick's enemy moves that are skipped, as of the last {@link #count}; 0 to 1. */
+    public float getSavedFraction() {
+        int total = counts[NEAR] + counts[MID] + counts[FAR];
+        return total == 0 ? 0f : 1f - moved / (float) total;
+    }
+}
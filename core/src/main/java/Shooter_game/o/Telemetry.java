@@ -0,0 +1,231 @@
+package Shooter_game.o;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Run outcomes and periodic gameplay samples, written to an append-only binary log without the game
+ * thread ever touching a file. The game thread only fills slots in a {@link TelemetryQueue}; a daemon
+ * writer thread drains it in batches into a {@link FileChannel}, rotates files past
+ * {@link #ROTATE_BYTES}, and keeps the {@link ScoreIndex} of the best runs up to date.
+ * <p>
+ * Log files are {@code telemetry-NNNNN.log}: {@code int MAGIC, short VERSION}, then records of
+ * {@code int type} plus five longs. A crash can at worst leave a partial last record, which
+ * {@link #read} ignores.
+ */
+public class Telemetry {
+    /** wallMillis, score &lt;&lt; 32 | kills, elapsedMillis, state code (see {@link InputReplay}), seed. */
+    public static final int RUN_END = 1;
+    /** wallMillis, simMillis, enemies &lt;&lt; 32 | bullets, score &lt;&lt; 32 | kills, last frame's nanos. */
+    public static final int SAMPLE = 2;
+
+    /** No fsync; the OS writes the log back when it likes. */
+    public static final String FSYNC_NEVER = "never";
+    /** fsync after every batch the writer drains. */
+    public static final String FSYNC_BATCH = "batch";
+    /** fsync at most once per {@link #FSYNC_INTERVAL_MS}. */
+    public static final String FSYNC_INTERVAL = "interval";
+
+    public static final long ROTATE_BYTES = 8L << 20;
+    static final int MAGIC = 0x53485447; // "SHTG"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 4 + 2;
+    public static final int RECORD_BYTES = 4 + 5 * 8;
+    private static final long FSYNC_INTERVAL_MS = 1000;
+    private static final long IDLE_PARK_NANOS = 2_000_000;
+    private static final int QUEUE_CAPACITY = 1 << 14;
+
+    private final TelemetryQueue queue;
+    private final Writer writer;
+    private final Thread thread;
+
+    private Telemetry(TelemetryQueue queue, Writer writer) {
+        this.queue = queue;
+        this.writer = writer;
+        thread = new Thread(writer, "telemetry-writer");
+        thread.setDaemon(true);
+    }
+
+    /** Creates {@code dir} if needed and starts the writer thread. */
+    public static Telemetry start(Path dir, String fsync) throws IOException {
+        return start(dir, fsync, ROTATE_BYTES, QUEUE_CAPACITY);
+    }
+
+    public static Telemetry start(Path dir, String fsync, long rotateBytes, int queueCapacity) throws IOException {
+        if (!fsync.equals(FSYNC_NEVER) && !fsync.equals(FSYNC_BATCH) && !fsync.equals(FSYNC_INTERVAL))
+            throw new IllegalArgumentException("Unknown fsync policy: " + fsync);
+        Files.createDirectories(dir);
+        TelemetryQueue queue = new TelemetryQueue(queueCapacity);
+        Telemetry telemetry = new Telemetry(queue, new Writer(queue, dir, fsync, rotateBytes, ScoreIndex.open(dir)));
+        telemetry.thread.start();
+        return telemetry;
+    }
+
+    /** Game thread: the finished run's outcome. */
+    public boolean runEnded(Simulation sim) {
+        return queue.offer(RUN_END, System.currentTimeMillis(), (long) sim.getScore() << 32 | sim.getKills(),
+                (long) (sim.getElapsedTime() * 1000f), InputReplay.stateCode(sim.getGameState()), sim.getSeed());
+    }
+
+    /** Game thread: where the current run stands, plus how long the last frame took. */
+    public boolean sample(Simulation sim, long frameNanos) {
+        return queue.offer(SAMPLE, System.currentTimeMillis(), sim.getSimMillis(),
+                (long) sim.enemies.size << 32 | sim.bullets.size, (long) sim.getScore() << 32 | sim.getKills(), frameNanos);
+    }
+
+    /** Records the game thread had to drop because the writer was a whole queue behind. */
+    public long getDropped() {
+        return queue.getDropped();
+    }
+
+    public long getWritten() {
+        return writer.written;
+    }
+
+    /** The first error the writer hit, after which it stops writing; null while all is well. */
+    public IOException getError() {
+        return writer.error;
+    }
+
+    /** Stops the writer after it has written (and synced) everything queued so far. */
+    public void close() {
+        writer.running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Reads every complete record of one log file into the sink; returns how many. */
+    public static int read(Path file, TelemetryQueue.Sink sink) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (in.remaining() < HEADER_BYTES || in.getInt() != MAGIC) throw new IOException(file + " is not a telemetry log");
+        int version = in.getShort();
+        if (version != VERSION) throw new IOException("Unsupported telemetry log version " + version);
+        int n = 0;
+        while (in.remaining() >= RECORD_BYTES) {
+            sink.accept(in.getInt(), in.getLong(), in.getLong(), in.getLong(), in.getLong(), in.getLong());
+            n++;
+        }
+        return n;
+    }
+
+    /** The log files in {@code dir}, oldest first. */
+    public static Path[] logs(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().matches("telemetry-\\d+\\.log")).sorted().toArray(Path[]::new);
+        }
+    }
+
+    private static final class Writer implements Runnable, TelemetryQueue.Sink {
+        private final TelemetryQueue queue;
+        private final Path dir;
+        private final String fsync;
+        private final long rotateBytes;
+        private final ScoreIndex scores;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_BYTES * 1024);
+
+        volatile boolean running = true;
+        volatile long written;
+        volatile IOException error;
+        private IOException indexError; // from accept, which cannot throw; rethrown once the batch is written
+        private FileChannel channel;
+        private int sequence;
+        private long fileBytes, lastSync;
+
+        Writer(TelemetryQueue queue, Path dir, String fsync, long rotateBytes, ScoreIndex scores) throws IOException {
+            this.queue = queue;
+            this.dir = dir;
+            this.fsync = fsync;
+            this.rotateBytes = rotateBytes;
+            this.scores = scores;
+            Path[] existing = logs(dir);
+            if (existing.length > 0) {
+                String last = existing[existing.length - 1].getFileName().toString();
+                sequence = Integer.parseInt(last.substring("telemetry-".length(), last.length() - ".log".length()));
+            }
+            openNext();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    boolean stopping = !running; // read before draining, so nothing offered before close() is missed
+                    int n = queue.drain(this, buffer.capacity() / RECORD_BYTES);
+                    if (n > 0) {
+                        // the batch goes to the log even when the index failed, RUN_END included
+                        flush();
+                        written += n;
+                        if (indexError != null) throw indexError;
+                        sync(false);
+                    } else if (stopping) {
+                        break;
+                    } else {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                }
+                sync(true);
+                channel.close();
+            } catch (IOException e) {
+                error = e;
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // already failing; the first error is the one reported
+                }
+            }
+        }
+
+        @Override
+        public void accept(int type, long a, long b, long c, long d, long e) {
+            buffer.putInt(type).putLong(a).putLong(b).putLong(c).putLong(d).putLong(e);
+            if (type == RUN_END) {
+                try {
+                    scores.add((int) (b >>> 32), (int) b, (int) c, InputReplay.stateName((int) d), a, e);
+                } catch (IOException ex) {
+                    if (indexError == null) indexError = ex;
+                }
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            if (fileBytes + buffer.remaining() > rotateBytes && fileBytes > HEADER_BYTES) {
+                sync(true);
+                channel.close();
+                openNext();
+            }
+            fileBytes += buffer.remaining();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        private void sync(boolean closing) throws IOException {
+            if (fsync.equals(FSYNC_NEVER)) return;
+            long now = System.currentTimeMillis();
+            if (closing || fsync.equals(FSYNC_BATCH) || now - lastSync >= FSYNC_INTERVAL_MS) {
+                channel.force(false);
+                lastSync = now;
+            }
+        }
+
+        private void openNext() throws IOException {
+            sequence++;
+            Path file = dir.resolve(String.format("telemetry-%05d.log", sequence));
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putShort((short) VERSION);
+            header.flip();
+            while (header.hasRemaining()) channel.write(header);
+            fileBytes = HEADER_BYTES;
+        }
+    }
+}
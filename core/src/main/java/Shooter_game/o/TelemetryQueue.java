@@ -0,0 +1,54 @@
+package Shooter_game.o;
+
+/**
+ * Telemetry records on a {@link RecordRing}: a type plus {@link #FIELDS} longs each. The game thread offers, the writer thread
+ * drains. Offering never blocks or allocates; when the writer falls a whole ring behind, new records
+ * are dropped and counted instead.
+ */
+public class TelemetryQueue {
+    public static final int FIELDS = 5;
+    private static final int STRIDE = FIELDS + 1;
+
+    private final RecordRing ring;
+
+    /** @param capacity records, rounded up to a power of two */
+    public TelemetryQueue(int capacity) {
+        ring = new RecordRing(capacity, STRIDE);
+    }
+
+    /** Producer side. Returns false, and counts a drop, if the ring is full. */
+    public boolean offer(int type, long a, long b, long c, long d, long e) {
+        int o = ring.claim();
+        if (o < 0) return false;
+        long[] s = ring.getSlots();
+        s[o] = type;
+        s[o + 1] = a;
+        s[o + 2] = b;
+        s[o + 3] = c;
+        s[o + 4] = d;
+        s[o + 5] = e;
+        ring.commit();
+        return true;
+    }
+
+    /** Records dropped because the ring was full; read it from the producer thread. */
+    public long getDropped() {
+        return ring.getDropped();
+    }
+
+    /** Consumer side: hands up to {@code max} records to the sink, oldest first; returns how many. */
+    public int drain(Sink sink, int max) {
+        int n = ring.available(max);
+        long[] s = ring.getSlots();
+        for (int k = 0; k < n; k++) {
+            int o = ring.offset(k);
+            sink.accept((int) s[o], s[o + 1], s[o + 2], s[o + 3], s[o + 4], s[o + 5]);
+        }
+        ring.release(n);
+        return n;
+    }
+
+    public interface Sink {
+        void accept(int type, long a, long b, long c, long d, long e);
+    }
+}
@@ -0,0 +1,226 @@
+package Shooter_game.o;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * The atlas pages as raw RGBA, baked by the {@code bakeTextureCache} Gradle task so startup can skip PNG
+ * decoding. The file is memory-mapped and each page goes to GL straight from the mapping; inside a jar
+ * it is first copied out to the temp dir, once per bake.
+ * <p>
+ * Layout, big-endian: {@code int MAGIC, short VERSION, short pageCount, long stamp}, then per page
+ * {@code UTF name, int width, int height, long sourceLength, long sourceModified, int sourceCrc, long offset,
+ * int length}, then the pixel data, RGBA8888 rows top to bottom like a {@link Pixmap}. {@code stamp} is a
+ * CRC of all pages' pixels, in order, taken at bake time: it tells copies of different bakes apart, and
+ * {@link #open} checks the mapped pixels against it before any page can be uploaded. On disk a page is only
+ * used when its source PNG still has the recorded length and modified time, or, if only the time moved,
+ * the recorded CRC; otherwise {@link #open} fails and the caller falls back to the PNGs. Pages read from a
+ * jar are not checked against their PNGs, which were packaged with them.
+ */
+public final class TextureCache {
+    public static final String FILE = "sprites.texcache";
+    static final int MAGIC = 0x53545843; // "STXC"
+    static final int VERSION = 2;
+
+    private final Page[] pages;
+
+    private TextureCache(Page[] pages) {
+        this.pages = pages;
+    }
+
+    /** Maps and validates the cache; throws if it is missing, corrupt or stale. */
+    public static TextureCache open(FileHandle cache) throws IOException {
+        boolean onDisk = cache.type() != FileType.Classpath && cache.file().isFile();
+        if (!onDisk && !cache.exists()) throw new IOException(cache.path() + " not found");
+        File file = onDisk ? cache.file() : extract(cache);
+        MappedByteBuffer map;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (map.getInt() != MAGIC) throw new IOException(cache.path() + " is not a texture cache");
+            int version = map.getShort();
+            if (version != VERSION) throw new IOException("Unsupported texture cache version " + version);
+            Page[] pages = new Page[map.getShort()];
+            long stamp = map.getLong();
+            CRC32 pixels = new CRC32();
+            for (int i = 0; i < pages.length; i++) {
+                byte[] name = new byte[map.getShort() & 0xFFFF];
+                map.get(name);
+                Page page = new Page(new String(name, StandardCharsets.UTF_8), map.getInt(), map.getInt());
+                long sourceLength = map.getLong();
+                long sourceModified = map.getLong();
+                int sourceCrc = map.getInt();
+                long offset = map.getLong();
+                int length = map.getInt();
+                if (length != page.width * page.height * 4 || offset < 0 || offset + length > map.capacity())
+                    throw new IOException(page.name + ": bad extent in " + cache.path());
+                if (onDisk && !sourceMatches(cache.sibling(page.name), sourceLength, sourceModified, sourceCrc))
+                    throw new IOException(page.name + " changed since " + cache.path() + " was baked");
+                page.pixels = map.duplicate();
+                page.pixels.position((int) offset).limit((int) offset + length);
+                page.pixels = page.pixels.slice();
+                pixels.update(page.pixels.duplicate());
+                pages[i] = page;
+            }
+            if (pixels.getValue() != stamp) throw new IOException("Pixel checksum mismatch in " + cache.path());
+            return new TextureCache(pages);
+        } catch (RuntimeException e) { // BufferUnderflowException and friends from a truncated header
+            throw new IOException(cache.path() + " is truncated", e);
+        }
+    }
+
+    // the length and time are free to check; the PNG is only read when the time moved (a fresh checkout)
+    static boolean sourceMatches(FileHandle source, long length, long modified, int crc) {
+        if (!source.exists() || source.length() != length) return false;
+        return source.lastModified() == modified || crc(source.readBytes()) == crc;
+    }
+
+    /**
+     * A copy of a cache that is not a plain file (a jar entry) in the temp dir, so it can be mapped. The
+     * copy is named after the stamp, so it is reused until the next bake; it is written under a temp name
+     * and moved into place, so a half-written copy is never mapped.
+     */
+    static File extract(FileHandle cache) throws IOException {
+        long stamp;
+        try (DataInputStream in = new DataInputStream(cache.read())) {
+            if (in.readInt() != MAGIC) throw new IOException(cache.path() + " is not a texture cache");
+            in.readInt(); // version and page count, checked once mapped
+            stamp = in.readLong();
+        }
+        Path copy = Path.of(System.getProperty("java.io.tmpdir"), "shooter-" + Long.toHexString(stamp) + "-" + cache.name());
+        if (Files.isRegularFile(copy)) return copy.toFile();
+        Path part = Files.createTempFile(copy.getParent(), cache.name(), ".part");
+        try (InputStream in = cache.read()) {
+            Files.copy(in, part, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(part, copy, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(part);
+        }
+        return copy.toFile();
+    }
+
+    /**
+     * Queues every page as a {@link Texture} under its PNG's path, ahead of the atlas: when the atlas
+     * loader then asks for its pages the manager already has them, and the PNGs are never decoded.
+     * {@code dir} is the atlas's folder ("" for the assets root).
+     */
+    public void queuePages(AssetManager assets, String dir) {
+        for (Page page : pages) {
+            TextureLoader.TextureParameter parameter = new TextureLoader.TextureParameter();
+            parameter.textureData = page;
+            assets.load(dir.isEmpty() ? page.name : dir + "/" + page.name, Texture.class, parameter);
+        }
+    }
+
+    public int getPageCount() {
+        return pages.length;
+    }
+
+    public TextureData getPage(int i) {
+        return pages[i];
+    }
+
+    /** The page's PNG, relative to the cache file. */
+    public String getPageName(int i) {
+        return pages[i].name;
+    }
+
+    static int crc(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    /** One page, uploaded with a single glTexImage2D from the mapped bytes. */
+    static final class Page implements TextureData {
+        final String name;
+        final int width, height;
+        ByteBuffer pixels;
+
+        Page(String name, int width, int height) {
+            this.name = name;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public TextureDataType getType() {
+            return TextureDataType.Custom;
+        }
+
+        @Override
+        public boolean isPrepared() {
+            return true;
+        }
+
+        @Override
+        public void prepare() {
+        }
+
+        @Override
+        public Pixmap consumePixmap() {
+            throw new GdxRuntimeException("Cached texture pages upload directly, there is no Pixmap");
+        }
+
+        @Override
+        public boolean disposePixmap() {
+            return false;
+        }
+
+        @Override
+        public void consumeCustomData(int target) {
+            Gdx.gl.glPixelStorei(GL20.GL_UNPACK_ALIGNMENT, 1);
+            Gdx.gl.glTexImage2D(target, 0, GL20.GL_RGBA, width, height, 0, GL20.GL_RGBA, GL20.GL_UNSIGNED_BYTE, pixels);
+            Gdx.gl.glPixelStorei(GL20.GL_UNPACK_ALIGNMENT, 4); // back to the GL default
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public Pixmap.Format getFormat() {
+            return Pixmap.Format.RGBA8888;
+        }
+
+        @Override
+        public boolean useMipMaps() {
+            return false;
+        }
+
+        // the mapping stays valid for the life of the process, so a lost context can be re-uploaded from it
+        @Override
+        public boolean isManaged() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package Shooter_game.o;
+
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Hierarchical timing wheel on a millisecond game clock. Scheduling and cancelling are O(1); advancing
+ * touches one level-0 slot per millisecond plus an occasional cascade from the coarser levels, never the
+ * pending timers as a whole, so 100k pending timers cost the same per tick as ten.
+ * <p>
+ * Five levels of 64 slots: level 0 holds timers due within 64 ms at 1 ms resolution, level 1 within
+ * 64^2 ms at 64 ms, and so on up to 64^5 ms (about 12 days). A coarse timer drops a level each time
+ * the wheel below it wraps, until it lands in the exact level-0 slot it is due in.
+ * <p>
+ * Handles come from a pool and go back to it once a timer has fired (without repeating) or been
+ * cancelled, so a handle must not be used after that. Not thread-safe.
+ */
+public class TimerWheel {
+    public interface Callback {
+        void onTimer(Timer timer);
+    }
+
+    public static final class Timer implements Pool.Poolable {
+        long deadline;
+        long interval;
+        Callback callback;
+        Timer prev, next;
+        int slot = -1;
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public boolean isPending() {
+            return slot >= 0 || slot == DUE;
+        }
+
+        @Override
+        public void reset() {
+            callback = null;
+            prev = next = null;
+            interval = 0;
+            slot = -1;
+        }
+    }
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 5;
+    public static final long MAX_DELAY = (1L << (BITS * LEVELS)) - 1;
+    private static final int FIRING = -2;
+    // taken off their slot by advance and about to fire; a cancel only marks them, and advance frees them
+    private static final int DUE = -3;
+    private static final int CANCELLED = -4;
+
+    private final Timer[] heads = new Timer[LEVELS * SLOTS];
+    private final CountingPool<Timer> pool;
+    private long time;
+    private int pending;
+
+    public TimerWheel(long startMillis) {
+        this(startMillis, 64, 4096);
+    }
+
+    public TimerWheel(long startMillis, int preallocate, int poolMax) {
+        this.time = startMillis;
+        pool = new CountingPool<Timer>(preallocate, poolMax) {
+            @Override
+            protected Timer newObject() {
+                return new Timer();
+            }
+        };
+        pool.fill(preallocate);
+    }
+
+    /** Fires once, {@code delay} ms from now (at least 1 ms, so never inside the current advance). */
+    public Timer schedule(long delay, Callback callback) {
+        return schedule(delay, 0, callback);
+    }
+
+    /** Fires after {@code delay} ms and then every {@code interval} ms until cancelled; 0 means once. */
+    public Timer schedule(long delay, long interval, Callback callback) {
+        if (delay > MAX_DELAY || interval > MAX_DELAY || interval < 0)
+            throw new IllegalArgumentException("Timer delay out of range: " + delay + "/" + interval);
+        Timer t = pool.obtain();
+        t.callback = callback;
+        t.interval = interval;
+        t.deadline = time + Math.max(1, delay);
+        insert(t);
+        pending++;
+        return t;
+    }
+
+    /**
+     * Stops a pending timer and returns its handle to the pool. From its own callback, it just stops repeating;
+     * from another callback in the same advance, the timer is skipped and freed when its turn comes.
+     */
+    public void cancel(Timer t) {
+        if (t.slot == FIRING) {
+            t.interval = 0;
+            return;
+        }
+        if (t.slot == DUE) {
+            t.slot = CANCELLED;
+            return;
+        }
+        if (t.slot < 0) return;
+        unlink(t);
+        pending--;
+        pool.free(t);
+    }
+
+    /** Runs every timer due up to and including {@code now}, in deadline order. */
+    public void advance(long now) {
+        while (time < now) {
+            time++;
+            int index = (int) (time & MASK);
+            if (index == 0) cascade();
+            Timer t = heads[index];
+            heads[index] = null;
+            // the whole batch is off the wheel before any callback runs, so a callback cancelling one of
+            // them must not unlink it from this list
+            for (Timer d = t; d != null; d = d.next) d.slot = DUE;
+            while (t != null) {
+                Timer next = t.next;
+                t.prev = t.next = null;
+                if (t.slot == CANCELLED) {
+                    pending--;
+                    pool.free(t);
+                } else if (t.deadline > time) {
+                    insert(t); // cannot happen for level-0 slots, but never fire early
+                } else {
+                    fire(t);
+                }
+                t = next;
+            }
+        }
+    }
+
+    /** Drops every pending timer and restarts the clock at {@code startMillis}. */
+    public void clear(long startMillis) {
+        for (int i = 0; i < heads.length; i++) {
+            Timer t = heads[i];
+            heads[i] = null;
+            while (t != null) {
+                Timer next = t.next;
+                pool.free(t);
+                t = next;
+            }
+        }
+        pending = 0;
+        time = startMillis;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public int getPending() {
+        return pending;
+    }
+
+    public CountingPool<Timer> getPool() {
+        return pool;
+    }
+
+    private void fire(Timer t) {
+        t.slot = FIRING;
+        t.callback.onTimer(t);
+        if (t.interval > 0) {
+            t.deadline = Math.max(t.deadline + t.interval, time + 1);
+            insert(t);
+        } else {
+            t.slot = -1;
+            pending--;
+            pool.free(t);
+        }
+    }
+
+    // the level-0 wheel just wrapped: pull the next slot of each coarser level down, highest first,
+    // so timers can fall through several levels in one go
+    private void cascade() {
+        int top = 1;
+        while (top < LEVELS - 1 && ((time >>> (BITS * top)) & MASK) == 0) top++;
+        for (int level = top; level >= 1; level--) {
+            int index = level * SLOTS + (int) ((time >>> (BITS * level)) & MASK);
+            Timer t = heads[index];
+            heads[index] = null;
+            while (t != null) {
+                Timer next = t.next;
+                t.prev = t.next = null;
+                insert(t);
+                t = next;
+            }
+        }
+    }
+
+    private void insert(Timer t) {
+        long delta = t.deadline - time;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) level++;
+        int index = level * SLOTS + (int) ((t.deadline >>> (BITS * level)) & MASK);
+        Timer head = heads[index];
+        t.prev = null;
+        t.next = head;
+        if (head != null) head.prev = t;
+        heads[index] = t;
+        t.slot = index;
+    }
+
+    private void unlink(Timer t) {
+        if (t.prev != null) t.prev.next = t.next;
+        else heads[t.slot] = t.next;
+        if (t.next != null) t.next.prev = t.prev;
+        t.prev = t.next = null;
+        t.slot = -1;
+    }
+}
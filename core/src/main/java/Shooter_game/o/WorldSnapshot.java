@@ -0,0 +1,132 @@
+package Shooter_game.o;
+
+/**
+ * Everything a {@link Simulation} needs to carry on from a tick boundary, as flat primitive arrays:
+ * the player, bullets, the swarm, score and progress, the simulation's own timers, the spawn RNG and
+ * the difficulty multiplier. {@link Simulation#save} and {@link Simulation#restore} fill and read it
+ * with plain array copies; the arrays only grow (and so only allocate) the first time a snapshot has
+ * to hold more than it has room for.
+ * <p>
+ * Render-only state (the previous positions used for interpolation) is left out; a restore puts it
+ * level with the restored positions. Settings made through setters (seed, enemy total, LOD, flow
+ * field, listener) are not part of a snapshot either.
+ */
+public class WorldSnapshot {
+    static final int BULLET_STRIDE = 4; // x, y, velocity x, velocity y
+
+    /** Ticks played when the snapshot was taken; -1 while it holds nothing. */
+    long tick = -1;
+    int score, kills, enemiesSpawned, pendingDifficultySteps, lodTick;
+    String gameState;
+    boolean weaponReady;
+    float elapsedTime;
+    long simNanos, rng0, rng1;
+    long timerTime, spawnDeadline, cooldownDeadline, difficultyDeadline;
+    float playerX, playerY, playerAngle;
+
+    int bulletCount;
+    float[] bullets;
+
+    int enemyCount, nextSerial;
+    float speedMultiplier;
+    float[] x, y, speed, rotation, radius, lodDebt;
+    byte[] lodTier;
+    int[] serial;
+
+    public WorldSnapshot(int enemyCapacity, int bulletCapacity) {
+        int cap = Math.max(16, enemyCapacity);
+        bullets = new float[Math.max(16, bulletCapacity) * BULLET_STRIDE];
+        x = new float[cap];
+        y = new float[cap];
+        speed = new float[cap];
+        rotation = new float[cap];
+        radius = new float[cap];
+        lodDebt = new float[cap];
+        lodTier = new byte[cap];
+        serial = new int[cap];
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getEnemyCount() {
+        return enemyCount;
+    }
+
+    public int getBulletCount() {
+        return bulletCount;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * The first field in which {@code other} is not bit-for-bit the same world as this one, or null if
+     * there is none. The tick number itself is not compared.
+     */
+    public String diff(WorldSnapshot other) {
+        if (score != other.score || kills != other.kills) return "score/kills " + score + "/" + kills + " vs " + other.score + "/" + other.kills;
+        if (enemiesSpawned != other.enemiesSpawned) return "enemies spawned " + enemiesSpawned + " vs " + other.enemiesSpawned;
+        if (!gameState.equals(other.gameState)) return "game state " + gameState + " vs " + other.gameState;
+        if (weaponReady != other.weaponReady || pendingDifficultySteps != other.pendingDifficultySteps) return "weapon or difficulty timer";
+        if (simNanos != other.simNanos || !same(elapsedTime, other.elapsedTime)) return "sim time " + simNanos + " vs " + other.simNanos;
+        if (rng0 != other.rng0 || rng1 != other.rng1) return "spawn RNG state";
+        if (timerTime != other.timerTime || spawnDeadline != other.spawnDeadline
+                || (!weaponReady && cooldownDeadline != other.cooldownDeadline)
+                || (pendingDifficultySteps > 0 && difficultyDeadline != other.difficultyDeadline)) return "timer deadlines";
+        if (lodTick != other.lodTick) return "LOD tick " + lodTick + " vs " + other.lodTick;
+        if (!same(playerX, other.playerX) || !same(playerY, other.playerY) || !same(playerAngle, other.playerAngle))
+            return "player at " + playerX + "," + playerY + " vs " + other.playerX + "," + other.playerY;
+        if (!same(speedMultiplier, other.speedMultiplier)) return "speed multiplier " + speedMultiplier + " vs " + other.speedMultiplier;
+        if (bulletCount != other.bulletCount) return bulletCount + " bullets vs " + other.bulletCount;
+        int b = mismatch(bullets, other.bullets, bulletCount * BULLET_STRIDE);
+        if (b >= 0) return "bullet " + b / BULLET_STRIDE;
+        if (enemyCount != other.enemyCount || nextSerial != other.nextSerial)
+            return enemyCount + " enemies (next serial " + nextSerial + ") vs " + other.enemyCount + " (" + other.nextSerial + ")";
+        int n = enemyCount;
+        int e = Math.max(Math.max(mismatch(x, other.x, n), mismatch(y, other.y, n)),
+                Math.max(mismatch(rotation, other.rotation, n), mismatch(lodDebt, other.lodDebt, n)));
+        if (e < 0) e = Math.max(mismatch(speed, other.speed, n), mismatch(radius, other.radius, n));
+        if (e >= 0) return "enemy slot " + e + " at " + x[e] + "," + y[e] + " vs " + other.x[e] + "," + other.y[e];
+        for (int i = 0; i < n; i++) {
+            if (serial[i] != other.serial[i] || lodTier[i] != other.lodTier[i]) return "enemy slot " + i + " serial or LOD tier";
+        }
+        return null;
+    }
+
+    /** Bytes held by the arrays, for sizing a {@link SnapshotRing}. */
+    public long getCapacityBytes() {
+        return (long) bullets.length * 4 + (long) x.length * (6 * 4 + 1 + 4);
+    }
+
+    void ensureBullets(int count) {
+        if (bullets.length < count * BULLET_STRIDE) bullets = new float[count * 2 * BULLET_STRIDE];
+    }
+
+    void ensureEnemies(int count) {
+        if (x.length >= count) return;
+        int cap = count * 2;
+        x = new float[cap];
+        y = new float[cap];
+        speed = new float[cap];
+        rotation = new float[cap];
+        radius = new float[cap];
+        lodDebt = new float[cap];
+        lodTier = new byte[cap];
+        serial = new int[cap];
+    }
+
+    private static boolean same(float a, float b) {
+        return Float.floatToIntBits(a) == Float.floatToIntBits(b);
+    }
+
+    // first index below n where the two differ bit for bit, or -1
+    private static int mismatch(float[] a, float[] b, int n) {
+        for (int i = 0; i < n; i++) {
+            if (!same(a[i], b[i])) return i;
+        }
+        return -1;
+    }
+}
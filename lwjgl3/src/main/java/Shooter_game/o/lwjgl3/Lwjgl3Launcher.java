@@ -2,17 +2,85 @@ package Shooter_game.o.lwjgl3;
 
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import Shooter_game.o.GameConfig;
+import Shooter_game.o.InputReplay;
+import Shooter_game.o.ParallelSwarmMover;
+import Shooter_game.o.Replay;
+import Shooter_game.o.ScoreIndex;
 import Shooter_game.o.Shooter;
+import Shooter_game.o.Soak;
+import Shooter_game.o.SoakMonitor;
+
+import java.io.IOException;
+import java.nio.file.Paths;
 
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
     public static void main(String[] args) {
+        long launchNanos = System.nanoTime();
+        GameConfig config = GameConfig.fromArgs(args);
+        config.launchNanos = launchNanos;
+        if (config.replayPath != null) {
+            System.exit(replay(config) ? 0 : 1);
+        }
+        if (config.soakMinutes > 0) {
+            System.exit(soak(config) ? 0 : 1);
+        }
+        if (config.scoresDir != null) {
+            System.exit(printScores(config.scoresDir) ? 0 : 1);
+        }
         if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
-        createApplication();
+        createApplication(config);
+    }
+
+    /** Plays a recording back with no window; fails if it does not end the way it was recorded. */
+    private static boolean replay(GameConfig config) {
+        ParallelSwarmMover mover = config.parallelThreads > 0
+                ? ParallelSwarmMover.create(config.parallelThreads, config.parallelThreshold) : null;
+        try {
+            Replay result = Replay.run(InputReplay.load(config.replayPath), mover);
+            System.out.println(config.replayPath + ": " + result);
+            return result.matchesRecording();
+        } catch (IOException e) {
+            System.err.println("Could not read " + config.replayPath + ": " + e.getMessage());
+            return false;
+        } finally {
+            if (mover != null) mover.shutdown();
+        }
+    }
+
+    /** Lets a bot play headless for the configured time; fails if the monitor saw something keep growing. */
+    private static boolean soak(GameConfig config) {
+        ParallelSwarmMover mover = config.parallelThreads > 0
+                ? ParallelSwarmMover.create(config.parallelThreads, config.parallelThreshold) : null;
+        try {
+            SoakMonitor monitor = Soak.run(config, config.soakMinutes * 60_000L, mover);
+            System.out.print(monitor.report());
+            if (config.soakReport != null) monitor.writeReport(Paths.get(config.soakReport));
+            return monitor.findGrowth() == 0;
+        } catch (IOException e) {
+            System.err.println("Could not write " + config.soakReport + ": " + e.getMessage());
+            return false;
+        } finally {
+            if (mover != null) mover.shutdown();
+        }
+    }
+
+    /** Prints the best runs from a telemetry directory's score index. */
+    private static boolean printScores(String dir) {
+        try {
+            ScoreIndex.Entry[] top = ScoreIndex.open(Paths.get(dir)).top(10);
+            if (top.length == 0) System.out.println("No runs recorded in " + dir);
+            for (int i = 0; i < top.length; i++) System.out.println((i + 1) + ". " + top[i]);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Could not read scores in " + dir + ": " + e.getMessage());
+            return false;
+        }
     }
 
-    private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new Shooter(), getDefaultConfiguration());
+    private static Lwjgl3Application createApplication(GameConfig config) {
+        return new Lwjgl3Application(new Shooter(config), getDefaultConfiguration());
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
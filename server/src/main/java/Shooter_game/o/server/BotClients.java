@@ -0,0 +1,165 @@
+package Shooter_game.o.server;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Any number of fake players on one thread, for load tests over loopback. Each bot decodes every
+ * snapshot against its own baselines exactly like a real client would, acks it, and sends input at
+ * the tick rate: wandering, aiming at an enemy it can see, firing, and restarting after a game ends.
+ */
+final class BotClients implements Runnable {
+    private final Bot[] bots;
+    private final Selector selector;
+    private final long sendNanos;
+    private final SnapshotCodec codec = new SnapshotCodec();
+    private volatile boolean running = true;
+    private volatile long snapshots, bytesReceived, decodeErrors;
+
+    BotClients(int port, int count, int simHz, long seed) throws IOException {
+        selector = Selector.open();
+        sendNanos = 1_000_000_000L / simHz;
+        bots = new Bot[count];
+        RandomXS128 random = new RandomXS128(seed);
+        for (int i = 0; i < count; i++) {
+            SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", port));
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            bots[i] = new Bot(channel, random.nextLong());
+            channel.register(selector, SelectionKey.OP_READ, bots[i]);
+        }
+    }
+
+    @Override
+    public void run() {
+        long next = System.nanoTime();
+        try {
+            while (running) {
+                long wait = next - System.nanoTime();
+                if (wait > 1_000_000) selector.select(wait / 1_000_000);
+                else selector.selectNow();
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (key.isValid() && key.isReadable()) ((Bot) key.attachment()).read();
+                }
+                selector.selectedKeys().clear();
+                if (System.nanoTime() - next >= 0) {
+                    for (Bot bot : bots) bot.send();
+                    next += sendNanos;
+                }
+            }
+        } catch (IOException e) {
+            if (running) throw new RuntimeException("Bot loop failed", e);
+        } finally {
+            for (Bot bot : bots) {
+                try {
+                    bot.channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    long snapshots() {
+        return snapshots;
+    }
+
+    long bytesReceived() {
+        return bytesReceived;
+    }
+
+    long decodeErrors() {
+        return decodeErrors;
+    }
+
+    void resetCounters() {
+        snapshots = bytesReceived = 0;
+    }
+
+    private final class Bot {
+        final SocketChannel channel;
+        final RandomXS128 random;
+        final ByteBuffer in = ByteBuffer.allocate(4 * (Protocol.MAX_MESSAGE + Protocol.HEADER_BYTES));
+        final ByteBuffer out = ByteBuffer.allocate(256);
+        final Snapshot[] decoded = new Snapshot[ClientSession.HISTORY];
+        Snapshot latest;
+        int moveX, moveY, ticksToTurn;
+
+        Bot(SocketChannel channel, long seed) {
+            this.channel = channel;
+            this.random = new RandomXS128(seed);
+            for (int i = 0; i < decoded.length; i++) decoded[i] = new Snapshot();
+        }
+
+        void read() throws IOException {
+            int n = channel.read(in);
+            if (n < 0) {
+                channel.close();
+                return;
+            }
+            bytesReceived += n;
+            in.flip();
+            int length;
+            while ((length = Protocol.nextMessage(in)) >= 0) {
+                int end = in.position() + length;
+                if (in.get() == Protocol.SNAPSHOT) onSnapshot();
+                in.position(end);
+            }
+            in.compact();
+        }
+
+        private void onSnapshot() {
+            int id = in.getInt(in.position());
+            int baseId = SnapshotCodec.baselineId(in);
+            Snapshot base = baseId == SnapshotCodec.FULL ? null : decoded[baseId % decoded.length];
+            try {
+                Snapshot target = decoded[id % decoded.length];
+                codec.decode(in, base, target);
+                latest = target;
+                snapshots++;
+            } catch (RuntimeException e) {
+                decodeErrors++;
+            }
+        }
+
+        void send() throws IOException {
+            if (!channel.isOpen()) return;
+            if (--ticksToTurn <= 0) {
+                moveX = random.nextInt(3) - 1;
+                moveY = random.nextInt(3) - 1;
+                ticksToTurn = 30 + random.nextInt(90);
+            }
+            float aimX = 0, aimY = 0;
+            boolean restart = false;
+            int ack = -1;
+            if (latest != null) {
+                ack = latest.id;
+                restart = !SnapshotCodec.isPlaying(latest);
+                if (latest.enemyCount > 0) {
+                    int target = random.nextInt(latest.enemyCount);
+                    aimX = Protocol.dequantize(latest.enemyX[target]);
+                    aimY = Protocol.dequantize(latest.enemyY[target]);
+                }
+            }
+            int flags = (moveX + 1) | (moveY + 1) << 2 | Protocol.FIRE | (restart ? Protocol.RESTART : 0);
+            if (out.position() == 0) Protocol.writeInput(out, ack, flags, aimX, aimY);
+            out.flip();
+            channel.write(out);
+            out.compact();
+        }
+    }
+}
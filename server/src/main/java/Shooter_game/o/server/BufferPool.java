@@ -0,0 +1,40 @@
+package Shooter_game.o.server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Direct buffers of one fixed size, recycled instead of allocated per message. Direct buffers are
+ * expensive to create and free but let the socket write straight from them without a copy.
+ * Single-threaded: only the server loop touches it.
+ */
+final class BufferPool {
+    private final int bufferSize;
+    private final int max;
+    private final ArrayDeque<ByteBuffer> free = new ArrayDeque<>();
+    private int created;
+
+    BufferPool(int bufferSize, int max) {
+        this.bufferSize = bufferSize;
+        this.max = max;
+    }
+
+    ByteBuffer obtain() {
+        ByteBuffer b = free.pollFirst();
+        if (b == null) {
+            b = ByteBuffer.allocateDirect(bufferSize);
+            created++;
+        }
+        b.clear();
+        return b;
+    }
+
+    void free(ByteBuffer b) {
+        if (free.size() < max) free.addFirst(b);
+    }
+
+    /** Buffers ever allocated; flat once the server has warmed up. */
+    int created() {
+        return created;
+    }
+}
@@ -0,0 +1,155 @@
+package Shooter_game.o.server;
+
+import Shooter_game.o.SimInput;
+import Shooter_game.o.Simulation;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+
+/**
+ * One connected player: their socket, their own authoritative {@link Simulation}, the input they last
+ * sent, and the snapshots recently sent to them, kept as delta baselines until acknowledged.
+ * The simulation is single-player, so each client plays its own game on the shared server loop.
+ */
+final class ClientSession implements SimInput {
+    /** Snapshots kept as baselines; a client further behind than this gets a full snapshot. */
+    static final int HISTORY = 32;
+    /** Snapshots waiting on a slow socket before new ones are dropped instead of queued. */
+    static final int MAX_QUEUED = 4;
+
+    final SocketChannel channel;
+    final Simulation sim;
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(4096);
+    private final ArrayDeque<ByteBuffer> sendQueue = new ArrayDeque<>();
+    private final Snapshot[] history = new Snapshot[HISTORY];
+    private int nextSnapshotId;
+    private int ackedId = -1;
+
+    private int moveX, moveY;
+    private float aimX, aimY;
+    private boolean firing, restart;
+
+    ClientSession(SocketChannel channel, float playerRadius, float enemyRadius) {
+        this.channel = channel;
+        this.sim = new Simulation(this, playerRadius, enemyRadius);
+        for (int i = 0; i < HISTORY; i++) history[i] = new Snapshot();
+    }
+
+    /** Reads whatever has arrived and latches the newest input; false once the client has gone. */
+    boolean read() throws IOException {
+        if (channel.read(readBuffer) < 0) return false;
+        readBuffer.flip();
+        int length;
+        while ((length = Protocol.nextMessage(readBuffer)) >= 0) {
+            byte type = readBuffer.get();
+            // a client only ever sends input; anything else, or input of the wrong size, is a protocol error
+            if (type != Protocol.INPUT) throw new IllegalStateException("Unexpected message type " + type);
+            if (length != Protocol.INPUT_BYTES) throw new IllegalStateException("Bad input length " + length);
+            ackedId = Math.max(ackedId, readBuffer.getInt());
+            int flags = readBuffer.get() & 0xFF;
+            moveX = (flags & 3) - 1;
+            moveY = (flags >> 2 & 3) - 1;
+            firing = (flags & Protocol.FIRE) != 0;
+            restart |= (flags & Protocol.RESTART) != 0;
+            aimX = readBuffer.getFloat();
+            aimY = readBuffer.getFloat();
+        }
+        readBuffer.compact();
+        return true;
+    }
+
+    void tick(float delta) {
+        if (restart && !sim.isPlaying()) sim.reset();
+        restart = false;
+        sim.tick(delta);
+    }
+
+    /** Captures this tick's view, encodes it against the newest acked baseline and queues it; returns its size. */
+    int queueSnapshot(SnapshotCodec codec, BufferPool pool, int tick, float interestMargin, ServerStats stats) {
+        int id = nextSnapshotId++;
+        Snapshot cur = history[id % HISTORY];
+        codec.capture(sim, id, tick, interestMargin, cur);
+        Snapshot base = null;
+        if (ackedId >= 0 && id - ackedId < HISTORY && history[ackedId % HISTORY].id == ackedId) {
+            base = history[ackedId % HISTORY];
+        }
+        if (sendQueue.size() >= MAX_QUEUED) {
+            stats.dropped();
+            return 0;
+        }
+        ByteBuffer out = pool.obtain();
+        try {
+            codec.encode(cur, base, out);
+        } catch (BufferOverflowException e) {
+            // enough removed and changed enemies make a delta bigger than the full snapshot, which
+            // SnapshotCodec's capture limits keep within one message
+            if (base == null) {
+                pool.free(out);
+                throw e;
+            }
+            out.clear();
+            codec.encode(cur, null, out);
+        }
+        out.flip();
+        int bytes = out.remaining();
+        sendQueue.addLast(out);
+        return bytes;
+    }
+
+    void queue(ByteBuffer message) {
+        sendQueue.addLast(message);
+    }
+
+    /** Writes queued messages until the socket is full; true if some are still waiting. */
+    boolean flush(BufferPool pool) throws IOException {
+        ByteBuffer head;
+        while ((head = sendQueue.peekFirst()) != null) {
+            channel.write(head);
+            if (head.hasRemaining()) return true;
+            pool.free(sendQueue.pollFirst());
+        }
+        return false;
+    }
+
+    void close(BufferPool pool) {
+        ByteBuffer b;
+        while ((b = sendQueue.pollFirst()) != null) pool.free(b);
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    @Override
+    public void poll() {
+        // input is latched as it arrives in read(); the tick just uses the newest
+    }
+
+    @Override
+    public int moveX() {
+        return moveX;
+    }
+
+    @Override
+    public int moveY() {
+        return moveY;
+    }
+
+    @Override
+    public float aimX() {
+        return aimX;
+    }
+
+    @Override
+    public float aimY() {
+        return aimY;
+    }
+
+    @Override
+    public boolean firing() {
+        return firing;
+    }
+}
@@ -0,0 +1,171 @@
+package Shooter_game.o.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+/**
+ * Headless authoritative server: one thread, one selector, a fixed tick rate. Every tick it runs each
+ * client's simulation, then sends each client a snapshot delta-encoded against the last one that
+ * client acknowledged and limited to what is near its view. Sockets are non-blocking throughout, so a
+ * slow client only loses snapshots, it never stalls the tick.
+ */
+public class GameServer implements Runnable {
+    // the desktop client's sizes for the warrior and rocket sprites (see Shooter.create)
+    public static final float PLAYER_RADIUS = 38f;
+    public static final float ENEMY_RADIUS = 64f * 0.4f;
+    public static final float DEFAULT_INTEREST_MARGIN = 64f;
+
+    private final int port;
+    private final int simHz;
+    private final float interestMargin;
+    private final long stepNanos;
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private final ArrayList<ClientSession> sessions = new ArrayList<>();
+    private final BufferPool pool = new BufferPool(Protocol.MAX_MESSAGE + Protocol.HEADER_BYTES, 1024);
+    private final SnapshotCodec codec = new SnapshotCodec();
+    private final ServerStats stats = new ServerStats();
+    private volatile boolean running;
+    private int tick;
+
+    public GameServer(int port, int simHz, float interestMargin) {
+        this.port = port;
+        this.simHz = simHz;
+        this.interestMargin = interestMargin;
+        this.stepNanos = 1_000_000_000L / simHz;
+    }
+
+    /** Binds the listening socket and returns the port, which is picked by the OS if 0 was asked for. */
+    public int bind() throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    @Override
+    public void run() {
+        long next = System.nanoTime();
+        try {
+            while (running) {
+                long wait = next - System.nanoTime();
+                if (wait > 1_000_000) selector.select(wait / 1_000_000);
+                else selector.selectNow();
+                handleKeys();
+
+                long now = System.nanoTime();
+                if (now - next >= 0) {
+                    tick();
+                    next += stepNanos;
+                    // after a stall, drop the backlog instead of running a burst of catch-up ticks
+                    if (now - next > stepNanos * 5) next = now + stepNanos;
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Server loop failed", e);
+        } finally {
+            for (ClientSession s : sessions) s.close(pool);
+            sessions.clear();
+            try {
+                serverChannel.close();
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    public void stop() {
+        running = false;
+        if (selector != null) selector.wakeup();
+    }
+
+    public ServerStats getStats() {
+        return stats;
+    }
+
+    private void handleKeys() throws IOException {
+        Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+        while (it.hasNext()) {
+            SelectionKey key = it.next();
+            it.remove();
+            if (!key.isValid()) continue;
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+            ClientSession session = (ClientSession) key.attachment();
+            try {
+                if (key.isReadable() && !session.read()) {
+                    drop(key, session);
+                    continue;
+                }
+                if (key.isWritable()) updateInterest(key, session.flush(pool));
+            } catch (IOException | RuntimeException e) {
+                drop(key, session); // a broken or misbehaving client only takes itself down
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            ClientSession session = new ClientSession(channel, PLAYER_RADIUS, ENEMY_RADIUS);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ, session);
+            sessions.add(session);
+
+            ByteBuffer welcome = pool.obtain();
+            int start = Protocol.beginMessage(welcome, Protocol.WELCOME);
+            welcome.putInt(simHz);
+            Protocol.endMessage(welcome, start);
+            welcome.flip();
+            session.queue(welcome);
+            try {
+                updateInterest(key, session.flush(pool));
+            } catch (IOException e) {
+                drop(key, session);
+            }
+        }
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        float delta = 1f / simHz;
+        long bytes = 0;
+        for (int i = sessions.size() - 1; i >= 0; i--) {
+            ClientSession session = sessions.get(i);
+            SelectionKey key = session.channel.keyFor(selector);
+            try {
+                session.tick(delta);
+                bytes += session.queueSnapshot(codec, pool, tick, interestMargin, stats);
+                updateInterest(key, session.flush(pool));
+            } catch (IOException | RuntimeException e) {
+                drop(key, session); // as in poll: one bad session must not stop the loop
+            }
+        }
+        tick++;
+        stats.record(System.nanoTime() - start, bytes, sessions.size());
+    }
+
+    private static void updateInterest(SelectionKey key, boolean pendingWrites) {
+        key.interestOps(pendingWrites ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    private void drop(SelectionKey key, ClientSession session) {
+        key.cancel();
+        sessions.remove(session);
+        session.close(pool);
+    }
+}
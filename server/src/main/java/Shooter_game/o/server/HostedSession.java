@@ -0,0 +1,109 @@
+package Shooter_game.o.server;
+
+import Shooter_game.o.EnemySwarm;
+import Shooter_game.o.SimInput;
+import Shooter_game.o.Simulation;
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * One game run by a {@link SessionHost}: its own {@link Simulation} (and with it its own RNG, clock and
+ * entity storage) plus a scripted player that wanders, shoots at a random visible enemy and starts a
+ * new game whenever one ends. Only one worker runs a session at a time.
+ */
+public final class HostedSession implements SimInput {
+    final int index;
+    final Simulation sim;
+    private final RandomXS128 random;
+    private final float delta;
+
+    /** At most this many ticks per scheduling slice before the session yields to the others. */
+    volatile int maxTicksPerSlice;
+    /** A slice that runs longer than this counts as an overrun; it still finishes its tick. */
+    volatile long sliceBudgetNanos;
+
+    long ticks;
+    long games;
+    long overruns;
+    long maxSliceNanos;
+
+    private int moveX, moveY, ticksToTurn;
+    private float aimX, aimY;
+
+    HostedSession(int index, long seed, int simHz, int maxTicksPerSlice, long sliceBudgetNanos) {
+        this.index = index;
+        this.random = new RandomXS128(seed);
+        this.delta = 1f / simHz;
+        this.maxTicksPerSlice = maxTicksPerSlice;
+        this.sliceBudgetNanos = sliceBudgetNanos;
+        sim = new Simulation(this, GameServer.PLAYER_RADIUS, GameServer.ENEMY_RADIUS);
+        sim.setSeed(seed);
+    }
+
+    /** Runs ticks up to {@code targetTick} or this session's slice limit; true if it is still behind. */
+    boolean runSlice(long targetTick) {
+        long start = System.nanoTime();
+        int budget = maxTicksPerSlice;
+        int n = 0;
+        while (ticks < targetTick && n < budget) {
+            if (!sim.isPlaying()) {
+                sim.reset();
+                games++;
+            }
+            sim.tick(delta);
+            ticks++;
+            n++;
+        }
+        long took = System.nanoTime() - start;
+        if (took > maxSliceNanos) maxSliceNanos = took;
+        if (took > sliceBudgetNanos) overruns++;
+        return ticks < targetTick;
+    }
+
+    public void setMaxTicksPerSlice(int maxTicksPerSlice) {
+        this.maxTicksPerSlice = maxTicksPerSlice;
+    }
+
+    public void setSliceBudgetNanos(long sliceBudgetNanos) {
+        this.sliceBudgetNanos = sliceBudgetNanos;
+    }
+
+    @Override
+    public void poll() {
+        if (--ticksToTurn <= 0) {
+            moveX = random.nextInt(3) - 1;
+            moveY = random.nextInt(3) - 1;
+            ticksToTurn = 30 + random.nextInt(90);
+        }
+        EnemySwarm enemies = sim.enemies;
+        if (enemies.size > 0 && random.nextInt(15) == 0) {
+            int target = random.nextInt(enemies.size);
+            aimX = enemies.x[target];
+            aimY = enemies.y[target];
+        }
+    }
+
+    @Override
+    public int moveX() {
+        return moveX;
+    }
+
+    @Override
+    public int moveY() {
+        return moveY;
+    }
+
+    @Override
+    public float aimX() {
+        return aimX;
+    }
+
+    @Override
+    public float aimY() {
+        return aimY;
+    }
+
+    @Override
+    public boolean firing() {
+        return true;
+    }
+}
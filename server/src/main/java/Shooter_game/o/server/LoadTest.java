@@ -0,0 +1,70 @@
+package Shooter_game.o.server;
+
+import java.io.IOException;
+
+/**
+ * Runs a server and a growing number of bot clients over loopback and prints, per client count,
+ * snapshot bytes per tick (total and per client) and server tick time, plus what the bots decoded.
+ * {@code --clients=1,8,32,128 --seconds=10 --sim-hz=60 --interest-margin=64}
+ */
+public class LoadTest {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String clients = "1,8,32,128";
+        int seconds = 10;
+        int simHz = 60;
+        float margin = GameServer.DEFAULT_INTEREST_MARGIN;
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Expected --name=value: " + arg);
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "clients":
+                    clients = value;
+                    break;
+                case "seconds":
+                    seconds = Integer.parseInt(value);
+                    break;
+                case "sim-hz":
+                    simHz = Integer.parseInt(value);
+                    break;
+                case "interest-margin":
+                    margin = Float.parseFloat(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        System.out.println("clients  B/tick  B/tick/client  tick avg us  tick p99 us  dropped  snapshots/s  decode errors");
+        for (String count : clients.split(",")) {
+            run(Integer.parseInt(count.trim()), seconds, simHz, margin);
+        }
+    }
+
+    private static void run(int clientCount, int seconds, int simHz, float margin) throws IOException, InterruptedException {
+        GameServer server = new GameServer(0, simHz, margin);
+        int port = server.bind();
+        Thread serverThread = new Thread(server, "game-server");
+        serverThread.start();
+        BotClients bots = new BotClients(port, clientCount, simHz, 42);
+        Thread botThread = new Thread(bots, "bots");
+        botThread.start();
+
+        Thread.sleep(2000); // let every bot connect, get its first full snapshot and settle into deltas
+        server.getStats().reset();
+        bots.resetCounters();
+        Thread.sleep(seconds * 1000L);
+
+        ServerStats stats = server.getStats();
+        double bytesPerTick = stats.avgBytesPerTick();
+        System.out.printf("%7d  %6.0f  %13.1f  %11.0f  %11d  %7d  %11.0f  %13d%n",
+                clientCount, bytesPerTick, bytesPerTick / Math.max(1, clientCount),
+                stats.avgTickNanos() / 1000, stats.p99TickNanos() / 1000, stats.droppedSnapshots(),
+                bots.snapshots() / (double) seconds, bots.decodeErrors());
+
+        bots.stop();
+        server.stop();
+        botThread.join();
+        serverThread.join();
+    }
+}
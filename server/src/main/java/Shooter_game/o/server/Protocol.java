@@ -0,0 +1,106 @@
+package Shooter_game.o.server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Wire format shared by {@link GameServer} and the bot clients. Every message is an int length
+ * followed by that many bytes, the first of which is the message type. Big-endian throughout.
+ * <ul>
+ * <li>{@link #WELCOME}, server to client: int tick rate.</li>
+ * <li>{@link #INPUT}, client to server: int last snapshot id the client has decoded (its ack),
+ * a flags byte laid out like the {@code InputRecorder} one plus {@link #RESTART}, and the aim point
+ * as two floats.</li>
+ * <li>{@link #SNAPSHOT}, server to client: see {@link SnapshotCodec}.</li>
+ * </ul>
+ */
+final class Protocol {
+    static final byte WELCOME = 1;
+    static final byte INPUT = 2;
+    static final byte SNAPSHOT = 3;
+
+    /** Payload of an {@link #INPUT}: type, ack, flags and the two aim floats. */
+    static final int INPUT_BYTES = 1 + 4 + 1 + 4 + 4;
+
+    static final int FIRE = 1 << 4;
+    static final int RESTART = 1 << 6;
+
+    /** Length prefix plus the largest message either side will accept. */
+    static final int HEADER_BYTES = 4;
+    static final int MAX_MESSAGE = 60 * 1024;
+
+    /** World coordinates go out as shorts in 1/8 px, which covers +-4096 px around the origin. */
+    static final float POSITION_SCALE = 8f;
+
+    private Protocol() {
+    }
+
+    static short quantize(float v) {
+        int q = Math.round(v * POSITION_SCALE);
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, q));
+    }
+
+    static float dequantize(short q) {
+        return q / POSITION_SCALE;
+    }
+
+    /** Degrees in [0, 360) to one byte. */
+    static byte quantizeAngle(float deg) {
+        return (byte) Math.round(deg * (256f / 360f));
+    }
+
+    static float dequantizeAngle(byte q) {
+        return (q & 0xFF) * (360f / 256f);
+    }
+
+    static void putVarInt(ByteBuffer out, int v) {
+        while ((v & ~0x7F) != 0) {
+            out.put((byte) (v & 0x7F | 0x80));
+            v >>>= 7;
+        }
+        out.put((byte) v);
+    }
+
+    static int getVarInt(ByteBuffer in) {
+        int v = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            v |= (b & 0x7F) << shift;
+            if (b >= 0) return v;
+        }
+    }
+
+    /** Reserves the length prefix; pair with {@link #endMessage}. */
+    static int beginMessage(ByteBuffer out, byte type) {
+        int start = out.position();
+        out.putInt(0);
+        out.put(type);
+        return start;
+    }
+
+    static void endMessage(ByteBuffer out, int start) {
+        out.putInt(start, out.position() - start - HEADER_BYTES);
+    }
+
+    static void writeInput(ByteBuffer out, int ack, int flags, float aimX, float aimY) {
+        int start = beginMessage(out, INPUT);
+        out.putInt(ack);
+        out.put((byte) flags);
+        out.putFloat(aimX);
+        out.putFloat(aimY);
+        endMessage(out, start);
+    }
+
+    /**
+     * Finds the next complete message in a buffer in read mode and returns its payload length,
+     * leaving the position at the type byte; or -1, leaving the buffer untouched, if it has not all
+     * arrived yet.
+     */
+    static int nextMessage(ByteBuffer in) {
+        if (in.remaining() < HEADER_BYTES) return -1;
+        int length = in.getInt(in.position());
+        if (length <= 0 || length > MAX_MESSAGE) throw new IllegalStateException("Bad message length " + length);
+        if (in.remaining() < HEADER_BYTES + length) return -1;
+        in.position(in.position() + HEADER_BYTES);
+        return length;
+    }
+}
@@ -0,0 +1,40 @@
+package Shooter_game.o.server;
+
+import java.io.IOException;
+
+/** Runs the headless server: {@code --port=7777 --sim-hz=60 --interest-margin=64}. Prints stats every few seconds. */
+public class ServerLauncher {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = 7777;
+        int simHz = 60;
+        float margin = GameServer.DEFAULT_INTEREST_MARGIN;
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Expected --name=value: " + arg);
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "port":
+                    port = Integer.parseInt(value);
+                    break;
+                case "sim-hz":
+                    simHz = Integer.parseInt(value);
+                    break;
+                case "interest-margin":
+                    margin = Float.parseFloat(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        GameServer server = new GameServer(port, simHz, margin);
+        int bound = server.bind();
+        Thread loop = new Thread(server, "game-server");
+        loop.start();
+        System.out.println("Listening on " + bound + " at " + simHz + " Hz");
+        while (loop.isAlive()) {
+            loop.join(5000);
+            System.out.println(server.getStats());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package Shooter_game.o.server;
+
+import java.util.Arrays;
+
+/**
+ * Tick time and snapshot bytes over the last {@link #WINDOW} server ticks. Written by the server
+ * loop and read from other threads, hence the locking; one uncontended lock per tick is noise.
+ */
+public final class ServerStats {
+    public static final int WINDOW = 1024;
+
+    private final long[] tickNanos = new long[WINDOW];
+    private final long[] tickBytes = new long[WINDOW];
+    private final long[] sortScratch = new long[WINDOW];
+    private int cursor, filled;
+    private int clients;
+    private long droppedSnapshots;
+
+    synchronized void record(long nanos, long bytes, int clients) {
+        tickNanos[cursor] = nanos;
+        tickBytes[cursor] = bytes;
+        cursor = (cursor + 1) % WINDOW;
+        if (filled < WINDOW) filled++;
+        this.clients = clients;
+    }
+
+    synchronized void dropped() {
+        droppedSnapshots++;
+    }
+
+    public synchronized void reset() {
+        cursor = filled = 0;
+        droppedSnapshots = 0;
+    }
+
+    public synchronized int ticks() {
+        return filled;
+    }
+
+    public synchronized int clients() {
+        return clients;
+    }
+
+    public synchronized long droppedSnapshots() {
+        return droppedSnapshots;
+    }
+
+    public synchronized double avgBytesPerTick() {
+        return filled == 0 ? 0 : sum(tickBytes) / (double) filled;
+    }
+
+    public synchronized double avgTickNanos() {
+        return filled == 0 ? 0 : sum(tickNanos) / (double) filled;
+    }
+
+    public synchronized long p99TickNanos() {
+        if (filled == 0) return 0;
+        System.arraycopy(tickNanos, 0, sortScratch, 0, filled);
+        Arrays.sort(sortScratch, 0, filled);
+        return sortScratch[Math.max(0, (int) Math.ceil(filled * 0.99) - 1)];
+    }
+
+    private long sum(long[] values) {
+        long sum = 0;
+        for (int i = 0; i < filled; i++) sum += values[i];
+        return sum;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return clients + " clients, " + Math.round(avgBytesPerTick()) + " B/tick, tick avg "
+                + Math.round(avgTickNanos() / 1000) + " us, p99 " + p99TickNanos() / 1000 + " us, "
+                + droppedSnapshots + " snapshots dropped";
+    }
+}
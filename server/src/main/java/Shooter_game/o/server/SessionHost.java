@@ -0,0 +1,129 @@
+package Shooter_game.o.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs many independent {@link HostedSession}s on one shared work-stealing pool.
+ * <p>
+ * Paced, every session is held to real time at the tick rate: a coordinator raises the target tick
+ * every period and hands each idle session to the pool. Unpaced, sessions run as fast as the workers
+ * go (for training and soak runs). Either way a session runs at most its slice limit of ticks, then
+ * goes to the back of the queue if it still has work, so a slow or huge game cannot starve the rest.
+ * The pool is in FIFO (async) mode, which is what makes the re-queue round-robin.
+ */
+public class SessionHost {
+    private final ForkJoinPool pool;
+    private final int simHz;
+    private final boolean paced;
+    private final List<Slot> slots = new ArrayList<>();
+    private final LongAdder ticks = new LongAdder();
+    private volatile long targetTick;
+    private volatile boolean running;
+    private Thread coordinator;
+
+    /** @param threads worker count; daemons, like the swarm workers, so they never keep the JVM alive */
+    public SessionHost(int threads, int simHz, boolean paced) {
+        this.simHz = simHz;
+        this.paced = paced;
+        this.pool = new ForkJoinPool(threads, p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setDaemon(true);
+            t.setName("session-worker-" + t.getPoolIndex());
+            return t;
+        }, null, true);
+    }
+
+    /** Adds a session; only before {@link #start()}. */
+    public HostedSession addSession(long seed, int maxTicksPerSlice, long sliceBudgetNanos) {
+        if (running) throw new IllegalStateException("Sessions are added before start()");
+        HostedSession session = new HostedSession(slots.size(), seed, simHz, maxTicksPerSlice, sliceBudgetNanos);
+        slots.add(new Slot(session));
+        return session;
+    }
+
+    public void start() {
+        running = true;
+        targetTick = paced ? 0 : Long.MAX_VALUE;
+        coordinator = new Thread(this::coordinate, "session-coordinator");
+        coordinator.setDaemon(true);
+        coordinator.start();
+    }
+
+    public void stop() throws InterruptedException {
+        running = false;
+        coordinator.join();
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void coordinate() {
+        long start = System.nanoTime();
+        long period = 1_000_000_000L / simHz;
+        for (Slot slot : slots) slot.schedule();
+        while (running) {
+            if (paced) {
+                targetTick = (System.nanoTime() - start) / period;
+                for (Slot slot : slots) slot.schedule();
+            }
+            try {
+                Thread.sleep(paced ? Math.max(1, period / 1_000_000) : 100);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /** Ticks run by all sessions since start. */
+    public long totalTicks() {
+        return ticks.sum();
+    }
+
+    /** Ticks every session should have run by now; {@code Long.MAX_VALUE} when unpaced. */
+    public long targetTick() {
+        return targetTick;
+    }
+
+    public int sessionCount() {
+        return slots.size();
+    }
+
+    public HostedSession session(int i) {
+        return slots.get(i).session;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /** A session plus the flag that keeps it queued at most once. */
+    private final class Slot implements Runnable {
+        final HostedSession session;
+        final AtomicBoolean queued = new AtomicBoolean();
+
+        Slot(HostedSession session) {
+            this.session = session;
+        }
+
+        void schedule() {
+            if (queued.compareAndSet(false, true)) pool.execute(this);
+        }
+
+        @Override
+        public void run() {
+            long before = session.ticks;
+            boolean behind = session.runSlice(targetTick);
+            ticks.add(session.ticks - before);
+            if (behind && running) {
+                pool.execute(this); // back of the queue, behind everyone else who is waiting
+            } else {
+                queued.set(false);
+            }
+        }
+    }
+}
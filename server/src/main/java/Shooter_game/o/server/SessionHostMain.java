@@ -0,0 +1,95 @@
+package Shooter_game.o.server;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Capacity check for {@link SessionHost}: starts N sessions, runs them for a while, and prints the
+ * aggregate ticks per second, how many sessions fell behind real time, slice overruns, and retained
+ * heap per session.
+ * {@code --sessions=1000 --threads=<cores> --seconds=10 --sim-hz=60 --paced=true --slice-ticks=4 --slice-budget-us=2000}
+ */
+public class SessionHostMain {
+    public static void main(String[] args) throws InterruptedException {
+        int sessions = 1000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int seconds = 10;
+        int simHz = 60;
+        boolean paced = true;
+        int sliceTicks = 4;
+        long sliceBudgetNanos = 2_000_000;
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Expected --name=value: " + arg);
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "sessions":
+                    sessions = Integer.parseInt(value);
+                    break;
+                case "threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "seconds":
+                    seconds = Integer.parseInt(value);
+                    break;
+                case "sim-hz":
+                    simHz = Integer.parseInt(value);
+                    break;
+                case "paced":
+                    paced = Boolean.parseBoolean(value);
+                    break;
+                case "slice-ticks":
+                    sliceTicks = Integer.parseInt(value);
+                    break;
+                case "slice-budget-us":
+                    sliceBudgetNanos = Long.parseLong(value) * 1000;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long heapBefore = usedHeapAfterGc(memory);
+        SessionHost host = new SessionHost(threads, simHz, paced);
+        for (int i = 0; i < sessions; i++) host.addSession(0x5eed0000L + i, sliceTicks, sliceBudgetNanos);
+        long heapBuilt = usedHeapAfterGc(memory);
+
+        host.start();
+        long start = System.nanoTime();
+        Thread.sleep(seconds * 1000L);
+        long ticks = host.totalTicks();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        long heapRunning = usedHeapAfterGc(memory);
+        host.stop();
+
+        long target = host.targetTick();
+        int behind = 0;
+        long overruns = 0, maxSlice = 0, games = 0;
+        for (int i = 0; i < host.sessionCount(); i++) {
+            HostedSession s = host.session(i);
+            if (paced && target - s.ticks > simHz) behind++;
+            overruns += s.overruns;
+            maxSlice = Math.max(maxSlice, s.maxSliceNanos);
+            games += s.games;
+        }
+
+        double ticksPerSecond = ticks / elapsed;
+        System.out.printf("%d sessions on %d threads, %s at %d Hz, %d ticks/slice%n",
+                sessions, threads, paced ? "paced" : "unpaced", simHz, sliceTicks);
+        System.out.printf("aggregate %.0f ticks/s (%.2fx real time per session)%n",
+                ticksPerSecond, ticksPerSecond / sessions / simHz);
+        System.out.printf("sessions over 1 s behind: %d, slice overruns: %d, longest slice: %d us, games finished: %d%n",
+                behind, overruns, maxSlice / 1000, games);
+        System.out.printf("heap per session: %d B when created, %d B after running%n",
+                (heapBuilt - heapBefore) / sessions, (heapRunning - heapBefore) / sessions);
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
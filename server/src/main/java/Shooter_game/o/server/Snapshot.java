@@ -0,0 +1,71 @@
+package Shooter_game.o.server;
+
+import java.util.Arrays;
+
+/**
+ * One client's view of its game at one tick, already quantized to what goes on the wire. Enemies are
+ * kept sorted by spawn serial so two snapshots can be diffed with a single merge pass.
+ */
+final class Snapshot {
+    int id = -1;
+    int tick;
+    byte state;
+    int score, kills, spawned, total;
+    short playerX, playerY;
+    byte playerAngle;
+
+    int bulletCount;
+    short[] bulletX = new short[64], bulletY = new short[64];
+
+    int enemyCount;
+    int[] serial = new int[128];
+    short[] enemyX = new short[128], enemyY = new short[128];
+    byte[] enemyRot = new byte[128];
+
+    void clearEntities() {
+        bulletCount = 0;
+        enemyCount = 0;
+    }
+
+    void addBullet(short x, short y) {
+        if (bulletCount == bulletX.length) {
+            bulletX = Arrays.copyOf(bulletX, bulletCount * 2);
+            bulletY = Arrays.copyOf(bulletY, bulletCount * 2);
+        }
+        bulletX[bulletCount] = x;
+        bulletY[bulletCount] = y;
+        bulletCount++;
+    }
+
+    /** Serials must come in ascending order. */
+    void addEnemy(int serial, short x, short y, byte rot) {
+        if (enemyCount == this.serial.length) {
+            int cap = enemyCount * 2;
+            this.serial = Arrays.copyOf(this.serial, cap);
+            enemyX = Arrays.copyOf(enemyX, cap);
+            enemyY = Arrays.copyOf(enemyY, cap);
+            enemyRot = Arrays.copyOf(enemyRot, cap);
+        }
+        this.serial[enemyCount] = serial;
+        enemyX[enemyCount] = x;
+        enemyY[enemyCount] = y;
+        enemyRot[enemyCount] = rot;
+        enemyCount++;
+    }
+
+    void copyFrom(Snapshot o) {
+        id = o.id;
+        tick = o.tick;
+        state = o.state;
+        score = o.score;
+        kills = o.kills;
+        spawned = o.spawned;
+        total = o.total;
+        playerX = o.playerX;
+        playerY = o.playerY;
+        playerAngle = o.playerAngle;
+        clearEntities();
+        for (int i = 0; i < o.bulletCount; i++) addBullet(o.bulletX[i], o.bulletY[i]);
+        for (int i = 0; i < o.enemyCount; i++) addEnemy(o.serial[i], o.enemyX[i], o.enemyY[i], o.enemyRot[i]);
+    }
+}
@@ -0,0 +1,257 @@
+package Shooter_game.o.server;
+
+import Shooter_game.o.Bullet;
+import Shooter_game.o.EnemySwarm;
+import Shooter_game.o.Simulation;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Builds, encodes and decodes {@link Snapshot}s. A snapshot message carries:
+ * <pre>
+ * int id, int baseline id (-1 for a full snapshot), int tick, byte game state,
+ * varint score, kills, spawned, total, short player x, y, byte player angle,
+ * varint bullet count, then per bullet short x, y,
+ * enemies.
+ * </pre>
+ * A full snapshot lists every enemy as varint serial gap, short x, y, byte rotation. A delta lists
+ * the serials that left the baseline (varint count, then gaps), then only the enemies that are new
+ * or changed (varint count, then per enemy varint serial gap, a kind byte, either a byte dx, dy
+ * against the baseline or absolute short x, y, and the rotation byte). Enemies that did not change
+ * are not sent at all. Serial gaps are taken against the previous serial in the same list.
+ * <p>
+ * Instances keep scratch arrays and are not thread-safe; use one per thread.
+ */
+final class SnapshotCodec {
+    static final int FULL = -1;
+    private static final byte ABSOLUTE = 0;
+    private static final byte SMALL = 1;
+    private static final int STATE_PLAYING = 0, STATE_WIN = 1, STATE_LOSE = 2;
+
+    /** Enemy and bullet counts past which a snapshot could overflow {@link Protocol#MAX_MESSAGE}. */
+    static final int MAX_ENEMIES = 4096;
+    static final int MAX_BULLETS = 512;
+
+    private long[] sortKeys = new long[256];
+    private int[] removed = new int[64];
+    private final Snapshot changed = new Snapshot();
+
+    /**
+     * Captures what the client should see: the player, every bullet, and the enemies inside the
+     * fixed camera view grown by {@code margin} pixels. Enemies further out are left for later.
+     */
+    void capture(Simulation sim, int id, int tick, float margin, Snapshot out) {
+        out.id = id;
+        out.tick = tick;
+        out.state = (byte) stateCode(sim.getGameState());
+        out.score = sim.getScore();
+        out.kills = sim.getKills();
+        out.spawned = sim.getEnemiesSpawned();
+        out.total = sim.getTotalEnemies();
+        out.playerX = Protocol.quantize(sim.player.x);
+        out.playerY = Protocol.quantize(sim.player.y);
+        out.playerAngle = Protocol.quantizeAngle(sim.player.angle);
+        out.clearEntities();
+
+        for (int i = 0; i < sim.bullets.size && i < MAX_BULLETS; i++) {
+            Bullet b = sim.bullets.get(i);
+            out.addBullet(Protocol.quantize(b.x), Protocol.quantize(b.y));
+        }
+
+        EnemySwarm enemies = sim.enemies;
+        if (sortKeys.length < enemies.size) sortKeys = new long[Math.max(enemies.size, sortKeys.length * 2)];
+        float minX = -margin, minY = -margin;
+        float maxX = Simulation.WIDTH + margin, maxY = Simulation.HEIGHT + margin;
+        int n = 0;
+        for (int i = 0; i < enemies.size; i++) {
+            float x = enemies.x[i], y = enemies.y[i];
+            if (x < minX || x > maxX || y < minY || y > maxY) continue;
+            sortKeys[n++] = (long) enemies.serial[i] << 32 | i;
+        }
+        Arrays.sort(sortKeys, 0, n);
+        n = Math.min(n, MAX_ENEMIES);
+        for (int k = 0; k < n; k++) {
+            int i = (int) sortKeys[k];
+            out.addEnemy(enemies.serial[i], Protocol.quantize(enemies.x[i]), Protocol.quantize(enemies.y[i]),
+                    Protocol.quantizeAngle(enemies.rotation[i]));
+        }
+    }
+
+    /** Writes one framed snapshot message; {@code base} null (or the client has nothing acked) means full. */
+    void encode(Snapshot cur, Snapshot base, ByteBuffer out) {
+        int start = Protocol.beginMessage(out, Protocol.SNAPSHOT);
+        out.putInt(cur.id);
+        out.putInt(base != null ? base.id : FULL);
+        out.putInt(cur.tick);
+        out.put(cur.state);
+        Protocol.putVarInt(out, cur.score);
+        Protocol.putVarInt(out, cur.kills);
+        Protocol.putVarInt(out, cur.spawned);
+        Protocol.putVarInt(out, cur.total);
+        out.putShort(cur.playerX);
+        out.putShort(cur.playerY);
+        out.put(cur.playerAngle);
+        Protocol.putVarInt(out, cur.bulletCount);
+        for (int i = 0; i < cur.bulletCount; i++) {
+            out.putShort(cur.bulletX[i]);
+            out.putShort(cur.bulletY[i]);
+        }
+        if (base == null) encodeFull(cur, out);
+        else encodeDelta(cur, base, out);
+        Protocol.endMessage(out, start);
+    }
+
+    private static void encodeFull(Snapshot cur, ByteBuffer out) {
+        Protocol.putVarInt(out, cur.enemyCount);
+        int prev = 0;
+        for (int i = 0; i < cur.enemyCount; i++) {
+            Protocol.putVarInt(out, cur.serial[i] - prev);
+            prev = cur.serial[i];
+            out.putShort(cur.enemyX[i]);
+            out.putShort(cur.enemyY[i]);
+            out.put(cur.enemyRot[i]);
+        }
+    }
+
+    private void encodeDelta(Snapshot cur, Snapshot base, ByteBuffer out) {
+        // baseline entries missing from the current snapshot
+        int removedCount = 0;
+        for (int i = 0, j = 0; j < base.enemyCount; j++) {
+            while (i < cur.enemyCount && cur.serial[i] < base.serial[j]) i++;
+            if (i < cur.enemyCount && cur.serial[i] == base.serial[j]) continue;
+            if (removedCount == removed.length) removed = Arrays.copyOf(removed, removedCount * 2);
+            removed[removedCount++] = base.serial[j];
+        }
+        Protocol.putVarInt(out, removedCount);
+        int prev = 0;
+        for (int k = 0; k < removedCount; k++) {
+            Protocol.putVarInt(out, removed[k] - prev);
+            prev = removed[k];
+        }
+
+        // new or changed entries: one pass to count them, since the count goes first, one to write them
+        int changedCount = 0;
+        for (int i = 0, j = 0; i < cur.enemyCount; i++) {
+            while (j < base.enemyCount && base.serial[j] < cur.serial[i]) j++;
+            boolean inBase = j < base.enemyCount && base.serial[j] == cur.serial[i];
+            if (inBase && base.enemyX[j] == cur.enemyX[i] && base.enemyY[j] == cur.enemyY[i]
+                    && base.enemyRot[j] == cur.enemyRot[i]) continue;
+            changedCount++;
+        }
+        Protocol.putVarInt(out, changedCount);
+        prev = 0;
+        for (int i = 0, j = 0; i < cur.enemyCount; i++) {
+            while (j < base.enemyCount && base.serial[j] < cur.serial[i]) j++;
+            boolean inBase = j < base.enemyCount && base.serial[j] == cur.serial[i];
+            int dx = inBase ? cur.enemyX[i] - base.enemyX[j] : Integer.MAX_VALUE;
+            int dy = inBase ? cur.enemyY[i] - base.enemyY[j] : Integer.MAX_VALUE;
+            if (dx == 0 && dy == 0 && base.enemyRot[j] == cur.enemyRot[i]) continue;
+            Protocol.putVarInt(out, cur.serial[i] - prev);
+            prev = cur.serial[i];
+            if (dx >= Byte.MIN_VALUE && dx <= Byte.MAX_VALUE && dy >= Byte.MIN_VALUE && dy <= Byte.MAX_VALUE) {
+                out.put(SMALL);
+                out.put((byte) dx);
+                out.put((byte) dy);
+            } else {
+                out.put(ABSOLUTE);
+                out.putShort(cur.enemyX[i]);
+                out.putShort(cur.enemyY[i]);
+            }
+            out.put(cur.enemyRot[i]);
+        }
+    }
+
+    /**
+     * Reads a snapshot message body (positioned after the type byte) into {@code out}. For a delta,
+     * {@code baseline} must be the snapshot whose id {@link #baselineId} returned; {@code out} may
+     * not be the baseline itself.
+     */
+    void decode(ByteBuffer in, Snapshot baseline, Snapshot out) {
+        out.id = in.getInt();
+        int baseId = in.getInt();
+        if (baseId != FULL && (baseline == null || baseline.id != baseId))
+            throw new IllegalStateException("Snapshot " + out.id + " needs baseline " + baseId);
+        out.tick = in.getInt();
+        out.state = in.get();
+        out.score = Protocol.getVarInt(in);
+        out.kills = Protocol.getVarInt(in);
+        out.spawned = Protocol.getVarInt(in);
+        out.total = Protocol.getVarInt(in);
+        out.playerX = in.getShort();
+        out.playerY = in.getShort();
+        out.playerAngle = in.get();
+        out.clearEntities();
+        int bullets = Protocol.getVarInt(in);
+        for (int i = 0; i < bullets; i++) out.addBullet(in.getShort(), in.getShort());
+
+        if (baseId == FULL) {
+            int n = Protocol.getVarInt(in);
+            int serial = 0;
+            for (int i = 0; i < n; i++) {
+                serial += Protocol.getVarInt(in);
+                out.addEnemy(serial, in.getShort(), in.getShort(), in.get());
+            }
+            return;
+        }
+
+        int removedCount = Protocol.getVarInt(in);
+        if (removed.length < removedCount) removed = new int[removedCount];
+        int serial = 0;
+        for (int k = 0; k < removedCount; k++) {
+            serial += Protocol.getVarInt(in);
+            removed[k] = serial;
+        }
+        changed.clearEntities();
+        int changedCount = Protocol.getVarInt(in);
+        serial = 0;
+        for (int k = 0, j = 0; k < changedCount; k++) {
+            serial += Protocol.getVarInt(in);
+            while (j < baseline.enemyCount && baseline.serial[j] < serial) j++;
+            short x, y;
+            if (in.get() == SMALL) {
+                x = (short) (baseline.enemyX[j] + in.get());
+                y = (short) (baseline.enemyY[j] + in.get());
+            } else {
+                x = in.getShort();
+                y = in.getShort();
+            }
+            changed.addEnemy(serial, x, y, in.get());
+        }
+
+        // merge: baseline minus removed, overridden or extended by changed; all three are sorted
+        int b = 0, r = 0, c = 0;
+        while (b < baseline.enemyCount || c < changed.enemyCount) {
+            int bs = b < baseline.enemyCount ? baseline.serial[b] : Integer.MAX_VALUE;
+            int cs = c < changed.enemyCount ? changed.serial[c] : Integer.MAX_VALUE;
+            if (cs <= bs) {
+                out.addEnemy(cs, changed.enemyX[c], changed.enemyY[c], changed.enemyRot[c]);
+                c++;
+                if (cs == bs) b++;
+                continue;
+            }
+            while (r < removedCount && removed[r] < bs) r++;
+            if (r < removedCount && removed[r] == bs) {
+                b++;
+                continue;
+            }
+            out.addEnemy(bs, baseline.enemyX[b], baseline.enemyY[b], baseline.enemyRot[b]);
+            b++;
+        }
+    }
+
+    /** Peeks the baseline id of a snapshot message body positioned after the type byte. */
+    static int baselineId(ByteBuffer in) {
+        return in.getInt(in.position() + 4);
+    }
+
+    static int stateCode(String state) {
+        if (state.equals(Simulation.WIN)) return STATE_WIN;
+        if (state.equals(Simulation.LOSE)) return STATE_LOSE;
+        return STATE_PLAYING;
+    }
+
+    static boolean isPlaying(Snapshot s) {
+        return s.state == STATE_PLAYING;
+    }
+}